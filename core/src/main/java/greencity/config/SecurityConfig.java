@@ -3,9 +3,13 @@ package greencity.config;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import greencity.security.cache.VerifiedTokenCache;
+import greencity.security.context.RequestPrincipalContext;
 import greencity.security.filters.AccessTokenAuthenticationFilter;
+import greencity.security.jwt.AccessTokenVerifier;
 import greencity.security.jwt.JwtTool;
 import greencity.security.providers.JwtAuthenticationProvider;
+import greencity.security.service.UserRevocationService;
 import greencity.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -44,6 +48,10 @@ public class SecurityConfig {
     private final UserService userService;
     private static final String USER_LINK = "/user";
     private final AuthenticationConfiguration authenticationConfiguration;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final UserRevocationService userRevocationService;
+    private final RequestPrincipalContext requestPrincipalContext;
 
     /**
      * Constructor.
@@ -51,10 +59,18 @@ public class SecurityConfig {
 
     @Autowired
     public SecurityConfig(JwtTool jwtTool, UserService userService,
-                          AuthenticationConfiguration authenticationConfiguration) {
+                          AuthenticationConfiguration authenticationConfiguration,
+                          VerifiedTokenCache verifiedTokenCache,
+                          AccessTokenVerifier accessTokenVerifier,
+                          UserRevocationService userRevocationService,
+                          RequestPrincipalContext requestPrincipalContext) {
         this.jwtTool = jwtTool;
         this.userService = userService;
         this.authenticationConfiguration = authenticationConfiguration;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.userRevocationService = userRevocationService;
+        this.requestPrincipalContext = requestPrincipalContext;
     }
 
     /**
@@ -89,7 +105,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
                 .addFilterBefore(
-                        new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService),
+                        new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService,
+                                verifiedTokenCache, userRevocationService, requestPrincipalContext),
                         UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint((req, resp, exc) -> resp.sendError(
@@ -112,6 +129,7 @@ public class SecurityConfig {
                                 "/swagger-ui/**")
                         .permitAll()
                         .requestMatchers(HttpMethod.GET,
+                                "/.well-known/jwks.json",
                                 "/ownSecurity/verifyEmail",
                                 "/ownSecurity/updateAccessToken",
                                 "/ownSecurity/restorePassword",
@@ -139,11 +157,14 @@ public class SecurityConfig {
                                 "/user/{userId}/profileStatistics/",
                                 "/user/userAndSixFriendsWithOnlineStatus",
                                 "/user/userAndAllFriendsWithOnlineStatus",
+                                "/user/onlineStatuses",
                                 "/user/findByIdForAchievement",
                                 "/user/findNotDeactivatedByEmail",
                                 "/user/findByEmail",
                                 "/user/findIdByEmail",
                                 "/user/findAllUsersCities",
+                                "/user/cities",
+                                "/user/suggest",
                                 "/user/findById",
                                 "/user/findUserByName/**",
                                 "/user/findByUuId",
@@ -194,10 +215,15 @@ public class SecurityConfig {
                         .hasAnyRole(USER, ADMIN, UBS_EMPLOYEE, MODERATOR, EMPLOYEE)
                         .requestMatchers(HttpMethod.GET,
                                 "/user/all",
+                                "/user/all/cursor",
                                 "/user/roles",
                                 "/user/findUserForManagement",
+                                "/user/findUserForManagement/cursor",
                                 "/user/searchBy",
-                                "/user/findAll")
+                                "/user/searchBy/cursor",
+                                "/user/findAll",
+                                "/user/export",
+                                "/user/statistics")
                         .hasAnyRole(ADMIN, MODERATOR, EMPLOYEE)
                         .requestMatchers(HttpMethod.POST,
                                 "/ownSecurity/sign-up-employee")
@@ -206,6 +232,9 @@ public class SecurityConfig {
                                 "/user/filter",
                                 "/ownSecurity/register")
                         .hasAnyRole(ADMIN)
+                        .requestMatchers(HttpMethod.GET,
+                                "/user/subscribers")
+                        .hasAnyRole(ADMIN)
                         .requestMatchers(HttpMethod.PATCH,
                                 "/user/status",
                                 "/user/role",
@@ -231,7 +260,7 @@ public class SecurityConfig {
      */
     @Autowired
     public void configureGlobal(AuthenticationManagerBuilder auth) {
-        auth.authenticationProvider(new JwtAuthenticationProvider(jwtTool));
+        auth.authenticationProvider(new JwtAuthenticationProvider(accessTokenVerifier));
     }
 
     /**
@@ -1,6 +1,7 @@
 package greencity.config;
 
 import greencity.converters.UserArgumentResolver;
+import greencity.security.context.RequestPrincipalContext;
 import greencity.service.UserService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +26,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
     private UserService userService;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private RequestPrincipalContext requestPrincipalContext;
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
@@ -94,6 +97,6 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
-        resolvers.add(new UserArgumentResolver(userService, modelMapper));
+        resolvers.add(new UserArgumentResolver(userService, modelMapper, requestPrincipalContext));
     }
 }
@@ -8,6 +8,7 @@ public final class HttpStatuses {
     public static final String SEE_OTHER = "See Other";
     public static final String UNAUTHORIZED = "Unauthorized";
     public static final String NOT_FOUND = "Not Found";
+    public static final String TOO_MANY_REQUESTS = "Too Many Requests";
 
     HttpStatuses() {
     }
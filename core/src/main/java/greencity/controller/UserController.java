@@ -5,6 +5,7 @@ import greencity.annotations.CurrentUser;
 import greencity.annotations.CurrentUserId;
 import greencity.annotations.ImageValidation;
 import greencity.constant.HttpStatuses;
+import greencity.dto.CursorPageableDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.filter.FilterUserDto;
@@ -12,10 +13,13 @@ import greencity.dto.shoppinglist.CustomShoppingListItemResponseDto;
 import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
 import greencity.enums.EmailNotification;
+import greencity.enums.PagingMode;
+import greencity.enums.UserExportFormat;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.service.EmailService;
+import greencity.service.UserExportService;
 import greencity.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -30,14 +34,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import springfox.documentation.annotations.ApiIgnore;
 
 import java.lang.reflect.Field;
@@ -55,6 +63,7 @@ import java.util.Map;
 public class UserController {
     private final UserService userService;
     private final EmailService emailService;
+    private final UserExportService userExportService;
 
     /**
      * The method which update user status. Parameter principal are ignored because
@@ -137,6 +146,33 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findByPage(pageable));
     }
 
+    /**
+     * The method which return list of users page by page with a cursor. Unlike
+     * {@link #getAllUsers(Pageable)} the users are not counted and deep pages are
+     * as fast as the first one. Only size and, for the first page, sort of the
+     * pageable are used.
+     *
+     * @param pageable - pageable configuration.
+     * @param cursor   - cursor returned with the previous page, absent for the
+     *                 first page.
+     * @return {@link CursorPageableDto}
+     */
+    @Operation(summary = "Get users page by page with a cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK,
+            content = @Content(schema = @Schema(implementation = CursorPageableDto.class))),
+        @ApiResponse(responseCode = "303", description = HttpStatuses.SEE_OTHER),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @ApiPageable
+    @GetMapping("all/cursor")
+    public ResponseEntity<CursorPageableDto<UserForListDto>> getAllUsersByCursor(@ApiIgnore Pageable pageable,
+        @RequestParam(required = false) String cursor) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.findByCursor(pageable, cursor));
+    }
+
     /**
      * The method which return array of existing roles.
      *
@@ -283,6 +319,23 @@ public class UserController {
             .body(userService.getActivatedUsersAmount());
     }
 
+    /**
+     * Returns amounts of users by status, role, language and month of registration.
+     *
+     * @return {@link UserStatisticsDto}.
+     */
+    @Operation(summary = "Get amounts of users by status, role, language and month of registration")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @GetMapping("/statistics")
+    public ResponseEntity<UserStatisticsDto> getUserStatistics() {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(userService.getUserStatistics());
+    }
+
     /**
      * Update user profile picture {@link UserVO}.
      *
@@ -390,6 +443,27 @@ public class UserController {
             .body(userService.checkIfTheUserIsOnline(userId));
     }
 
+    /**
+     * The method checks by ids which users are online, in one request.
+     *
+     * @param ids ids of the users.
+     * @return {@link List} of {@link UserWithOnlineStatusDto}.
+     */
+    @Operation(summary = "Check by ids which users are online")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @GetMapping("/onlineStatuses")
+    public ResponseEntity<List<UserWithOnlineStatusDto>> findOnlineStatuses(
+        @Parameter(description = "Ids of the users, separated by commas.") @RequestParam List<Long> ids) {
+        return ResponseEntity
+            .status(HttpStatus.OK)
+            .body(userService.findOnlineStatuses(ids));
+    }
+
     /**
      * Method returns user profile statistics.
      *
@@ -446,6 +520,8 @@ public class UserController {
     /**
      * Method that allow you to find {@link UserVO} for management.
      *
+     * @param mode - {@link PagingMode}, whether the users are counted exactly,
+     *             estimated or not counted.
      * @return {@link UserUpdateDto}.
      * @author Orest Mamchuk
      */
@@ -459,7 +535,8 @@ public class UserController {
     @GetMapping("/findUserForManagement")
     @ApiPageable
     public ResponseEntity<PageableAdvancedDto<UserManagementDto>> findUserForManagementByPage(
-        @ApiIgnore Pageable pageable) {
+        @ApiIgnore Pageable pageable,
+        @RequestParam(defaultValue = "EXACT") PagingMode mode) {
         Field[] fields = UserManagementDto.class.getDeclaredFields();
         List<String> fieldsNames = Arrays.stream(fields).map(Field::getName).toList();
         for(Sort.Order order : pageable.getSort()) {
@@ -469,12 +546,38 @@ public class UserController {
                 }
             }
         }
-        return ResponseEntity.status(HttpStatus.OK).body(userService.findUserForManagementByPage(pageable));
+        return ResponseEntity.status(HttpStatus.OK).body(userService.findUserForManagementByPage(pageable, mode));
+    }
+
+    /**
+     * Method that allow you to find {@link UserVO} for management page by page with
+     * a cursor, without counting them.
+     *
+     * @param pageable - pageable configuration.
+     * @param cursor   - cursor returned with the previous page, absent for the
+     *                 first page.
+     * @return {@link CursorPageableDto}.
+     */
+    @Operation(summary = "Get User for management page by page with a cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @GetMapping("/findUserForManagement/cursor")
+    @ApiPageable
+    public ResponseEntity<CursorPageableDto<UserManagementDto>> findUserForManagementByCursor(
+        @ApiIgnore Pageable pageable, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(userService.findUserForManagementByCursor(pageable, cursor));
     }
 
     /**
      * Method that allow you to find {@link UserVO} by Id.
      *
+     * @param mode - {@link PagingMode}, whether the users are counted exactly,
+     *             estimated or not counted.
      * @return {@link UserUpdateDto}.
      * @author Orest Mamchuk
      */
@@ -489,8 +592,35 @@ public class UserController {
     @ApiPageable
     public ResponseEntity<PageableAdvancedDto<UserManagementDto>> searchBy(
         @RequestParam(required = false, name = "query") String query,
-        @ApiIgnore Pageable pageable) {
-        return ResponseEntity.status(HttpStatus.OK).body(userService.searchBy(pageable, query));
+        @ApiIgnore Pageable pageable,
+        @RequestParam(defaultValue = "EXACT") PagingMode mode) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.searchBy(pageable, query, mode));
+    }
+
+    /**
+     * Method that allow you to search {@link UserVO} by query page by page with a
+     * cursor, without counting them.
+     *
+     * @param query    - query to search.
+     * @param pageable - pageable configuration.
+     * @param cursor   - cursor returned with the previous page, absent for the
+     *                 first page.
+     * @return {@link CursorPageableDto}.
+     */
+    @Operation(summary = "Search Users by query page by page with a cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @GetMapping("/searchBy/cursor")
+    @ApiPageable
+    public ResponseEntity<CursorPageableDto<UserManagementDto>> searchByCursor(
+        @RequestParam(required = false, name = "query") String query,
+        @ApiIgnore Pageable pageable,
+        @RequestParam(required = false) String cursor) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.searchByCursor(pageable, query, cursor));
     }
 
     /**
@@ -532,6 +662,31 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findAll());
     }
 
+    /**
+     * Method that streams all users, without loading them into memory.
+     *
+     * @param format {@link UserExportFormat} of the export.
+     * @return users as {@link StreamingResponseBody}.
+     */
+    @Operation(summary = "Export all users")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+        @RequestParam(defaultValue = "NDJSON") UserExportFormat format) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users." + format.getExtension())
+                .build()
+                .toString())
+            .body(outputStream -> userExportService.export(format, outputStream));
+    }
+
     /**
      * Method creates record in ubs table.
      *
@@ -628,7 +783,7 @@ public class UserController {
     })
     @GetMapping("/lang")
     public ResponseEntity<String> getUserLang(@ApiIgnore @CurrentUser UserVO userVO) {
-        return ResponseEntity.status(HttpStatus.OK).body(userVO.getLanguageVO().getCode());
+        return ResponseEntity.status(HttpStatus.OK).body(userService.findLanguageCodeById(userVO.getId()));
     }
 
     /**
@@ -737,6 +892,8 @@ public class UserController {
      *
      * @param pageable    {@link Pageable}
      * @param userViewDto {@link UserManagementViewDto} - stores values.
+     * @param mode        {@link PagingMode}, whether the users are counted exactly,
+     *                    estimated or not counted.
      */
     @Operation(summary = "Search Users")
     @ApiResponses(value = {
@@ -747,11 +904,34 @@ public class UserController {
     })
     @PostMapping("/search")
     public ResponseEntity<PageableAdvancedDto<UserManagementVO>> search(@ApiIgnore Pageable pageable,
-        @RequestBody UserManagementViewDto userViewDto) {
-        PageableAdvancedDto<UserManagementVO> found = userService.search(pageable, userViewDto);
+        @RequestBody UserManagementViewDto userViewDto,
+        @RequestParam(defaultValue = "EXACT") PagingMode mode) {
+        PageableAdvancedDto<UserManagementVO> found = userService.search(pageable, userViewDto, mode);
         return ResponseEntity.status(HttpStatus.OK).body(found);
     }
 
+    /**
+     * Method that allow to search users by several values page by page with a
+     * cursor, without counting them.
+     *
+     * @param pageable    {@link Pageable}
+     * @param userViewDto {@link UserManagementViewDto} - stores values.
+     * @param cursor      cursor returned with the previous page, absent for the
+     *                    first page.
+     */
+    @Operation(summary = "Search Users page by page with a cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN),
+    })
+    @PostMapping("/search/cursor")
+    public ResponseEntity<CursorPageableDto<UserManagementVO>> searchUsersByCursor(@ApiIgnore Pageable pageable,
+        @RequestBody UserManagementViewDto userViewDto, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.search(pageable, userViewDto, cursor));
+    }
+
     /**
      * Method that allow search users by their email notification.
      *
@@ -768,6 +948,29 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findAllByEmailNotification(emailNotification));
     }
 
+    /**
+     * Method that returns a chunk of subscribers by their email notification,
+     * ordered by id. Available to administrators only, as it pages out emails.
+     *
+     * @param emailNotification enum with notification summary.
+     * @param cursor            id of the last subscriber of the previous chunk.
+     * @param size              maximum amount of subscribers in the chunk.
+     * @return {@link SubscriberPageDto}
+     */
+    @Operation(summary = "Get a chunk of subscribers by email notification")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @GetMapping("/subscribers")
+    public ResponseEntity<SubscriberPageDto> findSubscribers(@RequestParam EmailNotification emailNotification,
+        @RequestParam(required = false) Long cursor, @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.status(HttpStatus.OK)
+            .body(userService.findSubscribers(emailNotification, cursor, size));
+    }
+
     /**
      * Delete from the database users that have status 'DEACTIVATED' and last
      * visited the site 2 years ago.
@@ -800,4 +1003,53 @@ public class UserController {
     public ResponseEntity<List<String>> findAllUsersCities() {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findAllUsersCities());
     }
+
+    /**
+     * Method that finds a page of the distinct users' cities starting with the
+     * prefix, with the amount of users in each. Parameter pageable ignored because
+     * swagger ui shows the wrong params, instead they are explained in the
+     * {@link ApiPageable}.
+     *
+     * @param prefix   start of the city, ignoring case and extra whitespace.
+     * @param pageable - pageable configuration.
+     * @return {@link PageableDto} of {@link CityDto}
+     */
+    @Operation(summary = "Find users cities by prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN),
+    })
+    @ApiPageable
+    @GetMapping("/cities")
+    public ResponseEntity<PageableDto<CityDto>> findCities(
+        @RequestParam(required = false, defaultValue = "") String prefix,
+        @ApiIgnore Pageable pageable) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.findCities(prefix, pageable));
+    }
+
+    /**
+     * Method that finds users whose name starts with the query. Admins also get
+     * users whose email starts with it, and the emails of the users.
+     *
+     * @param query          start of the name or email.
+     * @param limit          maximum amount of users.
+     * @param authentication {@link Authentication} of the current user.
+     * @return {@link List} of {@link UserSuggestionDto}
+     */
+    @Operation(summary = "Suggest users by start of name or email")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN),
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestionDto>> suggest(@RequestParam String query,
+        @RequestParam(defaultValue = "10") int limit, @ApiIgnore Authentication authentication) {
+        boolean withEmails = authentication != null && authentication.getAuthorities().stream()
+            .anyMatch(authority -> Role.ROLE_ADMIN.name().equals(authority.getAuthority()));
+        return ResponseEntity.status(HttpStatus.OK).body(userService.suggest(query, limit, withEmails));
+    }
 }
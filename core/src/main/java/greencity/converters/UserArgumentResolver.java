@@ -2,6 +2,7 @@ package greencity.converters;
 
 import greencity.annotations.CurrentUser;
 import greencity.dto.user.UserVO;
+import greencity.security.context.RequestPrincipalContext;
 import greencity.service.UserService;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -18,6 +19,7 @@ import java.security.Principal;
 public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     UserService userService;
     ModelMapper modelMapper;
+    RequestPrincipalContext requestPrincipalContext;
 
     /**
      * Method checks if parameter is {@link UserVO} and is annotated with
@@ -33,7 +35,9 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     }
 
     /**
-     * Method returns {@link UserVO} by principal.
+     * Method returns {@link UserVO} by principal. The user is built from the
+     * principal stored by the authentication filter, so no query is run; without
+     * one it is loaded at most once per request.
      *
      * @return {@link UserVO}
      */
@@ -41,6 +45,8 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
         NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
         Principal principal = webRequest.getUserPrincipal();
-        return principal != null ? userService.findByEmail(principal.getName()) : null;
+        return principal != null
+            ? requestPrincipalContext.getUser(principal.getName(), userService::findByEmail)
+            : null;
     }
 }
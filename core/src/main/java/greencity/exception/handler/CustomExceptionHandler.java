@@ -10,7 +10,9 @@ import greencity.exception.exceptions.BadVerifyEmailTokenException;
 import greencity.exception.exceptions.EmailNotVerified;
 import greencity.exception.exceptions.InvalidURLException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.exception.exceptions.PasswordHashingOverloadedException;
 import greencity.exception.exceptions.PasswordsDoNotMatchesException;
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
 import greencity.exception.exceptions.UserAlreadyHasPasswordException;
 import greencity.exception.exceptions.UserAlreadyRegisteredException;
 import greencity.exception.exceptions.WrongEmailException;
@@ -387,4 +389,42 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(exceptionResponse);
     }
+
+    /**
+     * Method interceptor exception {@link PasswordHashingOverloadedException}.
+     *
+     * @param ex      Exception witch should be intercepted.
+     * @param request contain detail about occur exception
+     * @return ResponseEntity witch contain 503 status, Retry-After header and body
+     *         with message of exception.
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public final ResponseEntity<Object> handlePasswordHashingOverloadedException(
+        PasswordHashingOverloadedException ex, WebRequest request) {
+        log.warn(ex.getMessage());
+        ExceptionResponse exceptionResponse = new ExceptionResponse(getErrorAttributes(request));
+        exceptionResponse.setMessage(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(exceptionResponse);
+    }
+
+    /**
+     * Method interceptor exception {@link TooManyLoginAttemptsException}.
+     *
+     * @param ex      Exception witch should be intercepted.
+     * @param request contain detail about occur exception
+     * @return ResponseEntity witch contain 429 status, Retry-After header and body
+     *         with message of exception.
+     */
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public final ResponseEntity<Object> handleTooManyLoginAttemptsException(
+        TooManyLoginAttemptsException ex, WebRequest request) {
+        log.info(ex.getMessage());
+        ExceptionResponse exceptionResponse = new ExceptionResponse(getErrorAttributes(request));
+        exceptionResponse.setMessage(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(exceptionResponse);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package greencity.security.controller;
+
+import greencity.constant.HttpStatuses;
+import greencity.security.dto.JwkSetDto;
+import greencity.security.service.SigningKeyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller that publishes public keys of the access tokens, so other services
+ * can verify the tokens locally.
+ */
+@RestController
+public class JwksController {
+    private final SigningKeyService signingKeyService;
+    private final CacheControl cacheControl;
+
+    /**
+     * Constructor.
+     *
+     * @param signingKeyService  {@link SigningKeyService}
+     * @param publishDelayMillis how long a new key is published before it is used
+     *                           for signing. Responses are cached for half of it,
+     *                           so consumers always see a key before tokens signed
+     *                           with it.
+     */
+    @Autowired
+    public JwksController(SigningKeyService signingKeyService,
+        @Value("${greencity.security.token.signing.publish.delay}") long publishDelayMillis) {
+        this.signingKeyService = signingKeyService;
+        this.cacheControl = CacheControl.maxAge(Duration.ofMillis(publishDelayMillis / 2)).cachePublic();
+    }
+
+    /**
+     * Method returns public keys access tokens are signed with.
+     *
+     * @return {@link JwkSetDto}
+     */
+    @Operation(summary = "Get public keys access tokens are signed with")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK,
+            content = @Content(schema = @Schema(implementation = JwkSetDto.class)))
+    })
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<JwkSetDto> getPublicKeys() {
+        return ResponseEntity.ok().cacheControl(cacheControl).body(signingKeyService.getPublicKeys());
+    }
+}
@@ -8,6 +8,7 @@ import greencity.dto.user.UserManagementDto;
 import greencity.security.dto.SuccessSignInDto;
 import greencity.security.dto.SuccessSignUpDto;
 import greencity.security.dto.ownsecurity.*;
+import greencity.security.ratelimit.LoginRateLimiter;
 import greencity.security.service.OwnSecurityService;
 import greencity.security.service.PasswordRecoveryService;
 import greencity.security.service.VerifyEmailService;
@@ -17,6 +18,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -47,6 +49,7 @@ public class OwnSecurityController {
     private final OwnSecurityService service;
     private final VerifyEmailService verifyEmailService;
     private final PasswordRecoveryService passwordRecoveryService;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * Constructor.
@@ -55,14 +58,18 @@ public class OwnSecurityController {
      *                           logic.
      * @param verifyEmailService {@link VerifyEmailService} - service for email
      *                           verification.
+     * @param loginRateLimiter   {@link LoginRateLimiter} - throttles sign-in
+     *                           attempts.
      */
     @Autowired
     public OwnSecurityController(OwnSecurityService service,
         VerifyEmailService verifyEmailService,
-        PasswordRecoveryService passwordRecoveryService) {
+        PasswordRecoveryService passwordRecoveryService,
+        LoginRateLimiter loginRateLimiter) {
         this.service = service;
         this.verifyEmailService = verifyEmailService;
         this.passwordRecoveryService = passwordRecoveryService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     /**
@@ -105,19 +112,25 @@ public class OwnSecurityController {
     }
 
     /**
-     * Method for sign-in by our security logic.
+     * Method for sign-in by our security logic. Attempts are throttled by email and
+     * by client address before the credentials are checked.
      *
-     * @param dto - {@link OwnSignInDto} that have sign-in information.
+     * @param dto     - {@link OwnSignInDto} that have sign-in information.
+     * @param request - {@link HttpServletRequest} the client address is taken from,
+     *                forwarded by the ingress.
      * @return {@link ResponseEntity}
      */
     @Operation(summary = "Sign-in by own security logic")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = HttpStatuses.OK,
             content = @Content(schema = @Schema(implementation = SuccessSignInDto.class))),
-        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST)
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "429", description = HttpStatuses.TOO_MANY_REQUESTS)
     })
     @PostMapping("/signIn")
-    public SuccessSignInDto singIn(@Valid @RequestBody OwnSignInDto dto) {
+    public SuccessSignInDto singIn(@Valid @RequestBody OwnSignInDto dto,
+        @Parameter(hidden = true) HttpServletRequest request) {
+        loginRateLimiter.acquire(dto.getEmail(), request.getRemoteAddr());
         return service.signIn(dto);
     }
 
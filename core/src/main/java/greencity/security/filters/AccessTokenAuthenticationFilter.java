@@ -1,7 +1,12 @@
 package greencity.security.filters;
 
-import greencity.dto.user.UserVO;
+import greencity.dto.user.UserPrincipalVO;
+import greencity.enums.UserStatus;
+import greencity.security.cache.VerifiedToken;
+import greencity.security.cache.VerifiedTokenCache;
+import greencity.security.context.RequestPrincipalContext;
 import greencity.security.jwt.JwtTool;
+import greencity.security.service.UserRevocationService;
 import greencity.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
@@ -10,6 +15,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
@@ -30,15 +36,22 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTool jwtTool;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserRevocationService userRevocationService;
+    private final RequestPrincipalContext requestPrincipalContext;
 
     /**
      * Constructor.
      */
     public AccessTokenAuthenticationFilter(JwtTool jwtTool, AuthenticationManager authenticationManager,
-        UserService userService) {
+        UserService userService, VerifiedTokenCache verifiedTokenCache,
+        UserRevocationService userRevocationService, RequestPrincipalContext requestPrincipalContext) {
         this.jwtTool = jwtTool;
         this.authenticationManager = authenticationManager;
         this.userService = userService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userRevocationService = userRevocationService;
+        this.requestPrincipalContext = requestPrincipalContext;
     }
 
     private String getTokenFromCookies(Cookie[] cookies) {
@@ -75,14 +88,31 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
         log.info("token {}", token);
 
         if (token != null) {
+            String digest = verifiedTokenCache.digest(token);
+            Optional<VerifiedToken> verified = verifiedTokenCache.get(digest);
+            if (verified.isPresent()) {
+                if (userRevocationService.isRevoked(verified.get().getUserId())) {
+                    log.info("Access denied for revoked user: " + verified.get().getPrincipal().getEmail());
+                } else {
+                    SecurityContextHolder.getContext().setAuthentication(verified.get().toAuthentication());
+                    requestPrincipalContext.setPrincipal(verified.get().getPrincipal());
+                }
+                chain.doFilter(request, response);
+                return;
+            }
+            long epoch = verifiedTokenCache.currentEpoch();
             try {
                 Authentication authentication = authenticationManager
                     .authenticate(new UsernamePasswordAuthenticationToken(token, ""));
-                Optional<UserVO> user = userService.findNotDeactivatedByEmail((String) authentication.getPrincipal());
+                Optional<UserPrincipalVO> user =
+                    userService.findNotDeactivatedPrincipalByEmail((String) authentication.getPrincipal())
+                        .filter(principal -> principal.getUserStatus() != UserStatus.BLOCKED);
                 log.info("user {}", user);
                 if (user.isPresent()) {
                     log.debug("User successfully authenticate - {}", authentication.getPrincipal());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    requestPrincipalContext.setPrincipal(user.get());
+                    cacheVerifiedToken(digest, user.get(), authentication, epoch);
                 }
             } catch (ExpiredJwtException e) {
                 log.info("Token has expired: " + token);
@@ -92,4 +122,11 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void cacheVerifiedToken(String digest, UserPrincipalVO user, Authentication authentication,
+        long epoch) {
+        if (authentication.getDetails() instanceof Instant expiresAt) {
+            verifiedTokenCache.put(digest, new VerifiedToken(user, authentication.getAuthorities(), expiresAt), epoch);
+        }
+    }
+}
@@ -5,7 +5,12 @@ import greencity.ModelUtils;
 import greencity.config.SecurityConfig;
 import greencity.message.EventEmailMessage;
 import greencity.message.SendHabitNotification;
+import greencity.security.cache.VerifiedTokenCache;
+import greencity.security.context.RequestPrincipalContext;
+import greencity.security.jwt.AccessTokenVerifier;
 import greencity.security.jwt.JwtTool;
+import greencity.security.jwt.SigningKeyStore;
+import greencity.security.service.UserRevocationService;
 import greencity.service.EmailService;
 import greencity.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,7 +45,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ContextConfiguration(classes = {SecurityConfig.class, EmailController.class})
 @WebAppConfiguration
 @EnableWebMvc
-@Import({JwtTool.class})
+@Import({JwtTool.class, AccessTokenVerifier.class, SigningKeyStore.class})
 @TestPropertySource(properties = {
         "accessTokenValidTimeInMinutes=60",
         "refreshTokenValidTimeInMinutes=1440",
@@ -57,6 +62,15 @@ class EmailControllerWithSecurityConfigTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private UserRevocationService userRevocationService;
+
+    @MockBean
+    private RequestPrincipalContext requestPrincipalContext;
+
     @Autowired
     private WebApplicationContext context;
 
@@ -13,19 +13,32 @@ import greencity.dto.PageableAdvancedDto;
 import greencity.dto.filter.FilterUserDto;
 import greencity.dto.language.LanguageVO;
 import greencity.dto.ubs.UbsTableCreationDto;
+import greencity.dto.user.SubscriberDto;
+import greencity.dto.user.SubscriberPageDto;
+import greencity.dto.user.UserManagementDto;
 import greencity.dto.user.UserManagementUpdateDto;
 import greencity.dto.user.UserManagementVO;
 import greencity.dto.user.UserManagementViewDto;
+import greencity.dto.user.UserPrincipalVO;
 import greencity.dto.user.UserProfileDtoRequest;
 import greencity.dto.user.UserStatusDto;
+import greencity.dto.user.UserSuggestionDto;
 import greencity.dto.user.UserUpdateDto;
 import greencity.dto.user.UserVO;
+import greencity.dto.user.UserWithOnlineStatusDto;
 import greencity.enums.EmailNotification;
+import greencity.enums.PagingMode;
 import greencity.enums.Role;
+import greencity.enums.UserExportFormat;
 import greencity.exception.exceptions.WrongIdException;
 import greencity.exception.handler.CustomExceptionHandler;
 import greencity.repository.UserRepo;
+import greencity.security.context.RequestPrincipalContext;
+import greencity.service.UserExportService;
 import greencity.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -52,20 +65,27 @@ import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.filter.RequestContextFilter;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -79,6 +99,8 @@ class UserControllerTest {
     private UserService userService;
     @Mock
     private UserRepo userRepo;
+    @Mock
+    private UserExportService userExportService;
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -86,7 +108,8 @@ class UserControllerTest {
         this.mockMvc = MockMvcBuilders
             .standaloneSetup(userController)
             .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver(),
-                new UserArgumentResolver(userService, new ModelMapper()))
+                new UserArgumentResolver(userService, new ModelMapper(),
+                    new RequestPrincipalContext(new SimpleMeterRegistry())))
                 .setControllerAdvice(new CustomExceptionHandler(new DefaultErrorAttributes()))
             .build();
         objectMapper = new ObjectMapper();
@@ -176,6 +199,16 @@ class UserControllerTest {
         verify(userService).findByPage(pageable);
     }
 
+    @Test
+    void getAllUsersByCursorTest() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+
+        mockMvc.perform(get(userLink + "/all/cursor?cursor=MQ"))
+            .andExpect(status().isOk());
+
+        verify(userService).findByCursor(pageable, "MQ");
+    }
+
     @Test
     void getRolesTest() throws Exception {
         mockMvc.perform(get(userLink + "/roles"))
@@ -269,6 +302,14 @@ class UserControllerTest {
         verify(userService).getActivatedUsersAmount();
     }
 
+    @Test
+    void getUserStatisticsTest() throws Exception {
+        mockMvc.perform(get(userLink + "/statistics"))
+            .andExpect(status().isOk());
+
+        verify(userService).getUserStatistics();
+    }
+
     @Test
     void updateUserProfilePictureTest() throws Exception {
         Principal principal = mock(Principal.class);
@@ -333,6 +374,17 @@ class UserControllerTest {
         mockMvc.perform(get(userLink + "/isOnline/{userId}/", userId))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void findOnlineStatusesTest() throws Exception {
+        when(userService.findOnlineStatuses(List.of(1L, 2L)))
+            .thenReturn(List.of(new UserWithOnlineStatusDto(1L, true, null)));
+
+        mockMvc.perform(get(userLink + "/onlineStatuses").param("ids", "1,2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].onlineStatus").value(true));
+    }
   
     @Test
     void checkIfTheUserIsOnlineTest_IsBadRequest() throws Exception {
@@ -400,12 +452,12 @@ class UserControllerTest {
         PageableAdvancedDto<UserManagementVO> userAdvancedDto =
             new PageableAdvancedDto<>(userManagementVOS, 20, 0, 0, 0,
                 true, true, true, true);
-        when(userService.search(pageable, userViewDto)).thenReturn(userAdvancedDto);
+        when(userService.search(pageable, userViewDto, PagingMode.EXACT)).thenReturn(userAdvancedDto);
         mockMvc.perform(post(userLink + "/search")
             .content(content)
             .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk());
-        verify(userService).search(pageable, userViewDto);
+        verify(userService).search(pageable, userViewDto, PagingMode.EXACT);
     }
 
     @Test
@@ -436,7 +488,8 @@ class UserControllerTest {
     @Test
     void findUserForManagementTest() throws Exception {
         Pageable pageable = PageRequest.of(0, 20);
-        when(userService.findUserForManagementByPage(pageable)).thenReturn(ModelUtils.getPageableAdvancedDto());
+        when(userService.findUserForManagementByPage(pageable, PagingMode.EXACT))
+            .thenReturn(ModelUtils.getPageableAdvancedDto());
         mockMvc.perform(get(userLink + "/findUserForManagement"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.page.length()").value(1))
@@ -444,6 +497,18 @@ class UserControllerTest {
             .andExpect(jsonPath("$.totalPages").value(1));
     }
 
+    @Test
+    void findUserForManagementSliceTest() throws Exception {
+        Pageable pageable = PageRequest.of(2, 20);
+        PageableAdvancedDto<UserManagementDto> slice = new PageableAdvancedDto<>(List.of(new UserManagementDto()),
+            PageableAdvancedDto.NOT_COUNTED, 2, PageableAdvancedDto.NOT_COUNTED, 2, true, true, false, false);
+        when(userService.findUserForManagementByPage(pageable, PagingMode.SLICE)).thenReturn(slice);
+        mockMvc.perform(get(userLink + "/findUserForManagement?page=2&mode=SLICE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(-1))
+            .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
     @Test
     void findUserForManagementByPage_isBadRequest() throws Exception {
         mockMvc.perform(get(userLink + "/findUserForManagement?sort=notExist,asc"))
@@ -455,7 +520,7 @@ class UserControllerTest {
     void searchByTest() throws Exception {
         Pageable pageable = PageRequest.of(0, 20);
         String query = "testQuery";
-        when(userService.searchBy(pageable, query)).thenReturn(ModelUtils.getPageableAdvancedDto());
+        when(userService.searchBy(pageable, query, PagingMode.EXACT)).thenReturn(ModelUtils.getPageableAdvancedDto());
         mockMvc.perform(get(userLink + "/searchBy")
             .param("query", query))
             .andExpect(status().isOk())
@@ -556,6 +621,7 @@ class UserControllerTest {
 
         when(principal.getName()).thenReturn(TestConst.EMAIL);
         when(userService.findByEmail(principal.getName())).thenReturn(userVO);
+        when(userService.findLanguageCodeById(userVO.getId())).thenReturn(languageCode);
 
         this.mockMvc.perform(get(userLink + "/lang" + "?id=1")
             .principal(principal))
@@ -563,6 +629,35 @@ class UserControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    void getUserLangUsesPrincipalOfFilterTest() throws Exception {
+        RequestPrincipalContext requestPrincipalContext = new RequestPrincipalContext(new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(userController)
+            .setCustomArgumentResolvers(
+                new UserArgumentResolver(userService, new ModelMapper(), requestPrincipalContext))
+            .addFilters(new RequestContextFilter(), (request, response, chain) -> {
+                requestPrincipalContext.setPrincipal(UserPrincipalVO.builder()
+                    .id(1L)
+                    .email(TestConst.EMAIL)
+                    .role(Role.ROLE_USER)
+                    .build());
+                chain.doFilter(request, response);
+            })
+            .build();
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn(TestConst.EMAIL);
+        when(userService.findLanguageCodeById(1L)).thenReturn(AppConstant.DEFAULT_LANGUAGE_CODE);
+
+        mockMvc.perform(get(userLink + "/lang")
+            .principal(principal))
+            .andExpect(status().isOk())
+            .andExpect(content().string(AppConstant.DEFAULT_LANGUAGE_CODE));
+
+        verify(userService).findLanguageCodeById(1L);
+        verifyNoMoreInteractions(userService);
+    }
+
     @Test
     void getReasonsOfDeactivation() throws Exception {
         List<String> test = List.of("test", "test");
@@ -610,6 +705,20 @@ class UserControllerTest {
 
     }
 
+    @Test
+    void findSubscribersTest() throws Exception {
+        when(userService.findSubscribers(EmailNotification.WEEKLY, 10L, 2))
+            .thenReturn(new SubscriberPageDto(
+                List.of(new SubscriberDto(11L, "Taras", "taras@gmail.com", "ua")), 11L));
+        mockMvc.perform(get(userLink + "/subscribers")
+            .param("emailNotification", "WEEKLY")
+            .param("cursor", "10")
+            .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.subscribers[0].languageCode").value("ua"))
+            .andExpect(jsonPath("$.nextCursor").value(11));
+    }
+
     @Test
     void scheduleDeleteDeactivateUserTest() throws Exception {
         when(userService.scheduleDeleteDeactivatedUsers()).thenReturn(1);
@@ -628,4 +737,54 @@ class UserControllerTest {
             .andExpect(jsonPath("$.length()").value(3))
             .andExpect(jsonPath("$", Matchers.containsInAnyOrder("Lviv", "Kyiv", "Kharkiv")));
     }
+
+    @Test
+    void findCitiesTest() throws Exception {
+        Pageable pageable = PageRequest.of(0, 5);
+        mockMvc.perform(get(userLink + "/cities?prefix=Lv&page=0&size=5"))
+            .andExpect(status().isOk());
+
+        verify(userService).findCities("Lv", pageable);
+    }
+
+    @Test
+    void exportUsersTest() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userExportService).export(eq(UserExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get(userLink + "/export")
+            .param("format", "CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\""))
+            .andExpect(content().string("id\r\n1\r\n"));
+    }
+
+    @Test
+    void suggestTest() throws Exception {
+        when(userService.suggest("tar", 5, false)).thenReturn(List.of(new UserSuggestionDto(1L, "Taras", null)));
+        mockMvc.perform(get(userLink + "/suggest")
+            .param("query", "tar")
+            .param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1))
+            .andExpect(jsonPath("$[0].name").value("Taras"));
+    }
+
+    @Test
+    void suggestWithEmailsForAdminTest() throws Exception {
+        when(userService.suggest("tar", 5, true))
+            .thenReturn(List.of(new UserSuggestionDto(1L, "Taras", "taras@gmail.com")));
+        mockMvc.perform(get(userLink + "/suggest")
+            .param("query", "tar")
+            .param("limit", "5")
+            .principal(new UsernamePasswordAuthenticationToken("admin@gmail.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].email").value("taras@gmail.com"));
+    }
 }
@@ -5,9 +5,16 @@ import greencity.ModelUtils;
 import greencity.config.PageableConfig;
 import greencity.config.SecurityConfig;
 import greencity.dto.user.UserStatusDto;
+import greencity.enums.EmailNotification;
 import greencity.repository.UserRepo;
+import greencity.security.cache.VerifiedTokenCache;
+import greencity.security.context.RequestPrincipalContext;
+import greencity.security.jwt.AccessTokenVerifier;
 import greencity.security.jwt.JwtTool;
+import greencity.security.jwt.SigningKeyStore;
+import greencity.security.service.UserRevocationService;
 import greencity.service.EmailService;
+import greencity.service.UserExportService;
 import greencity.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +40,7 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import static greencity.enums.UserStatus.DEACTIVATED;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -46,7 +54,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ContextConfiguration(classes = {SecurityConfig.class, UserController.class, PageableConfig.class})
 @WebAppConfiguration
 @EnableWebMvc
-@Import({JwtTool.class})
+@Import({JwtTool.class, AccessTokenVerifier.class, SigningKeyStore.class})
 @TestPropertySource(properties = {
         "accessTokenValidTimeInMinutes=60",
         "refreshTokenValidTimeInMinutes=1440",
@@ -64,9 +72,24 @@ public class UserControllerWithSecurityConfigTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private UserExportService userExportService;
+
     @MockBean
     private UserRepo userRepo;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private UserRevocationService userRevocationService;
+
+    @MockBean
+    private RequestPrincipalContext requestPrincipalContext;
+
     @Autowired
     private WebApplicationContext context;
 
@@ -254,4 +277,157 @@ public class UserControllerWithSecurityConfigTest {
                         .param("page", "0"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = "ADMIN")
+    void getAllUsersByCursor_isOk() throws Exception {
+        mockMvc.perform(get(userLink + "/all/cursor"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "User", roles = "USER")
+    void getAllUsersByCursor_isForbidden() throws Exception {
+        mockMvc.perform(get(userLink + "/all/cursor"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(username = "Moderator", roles = "MODERATOR")
+    void findUserForManagementByCursor_isOk() throws Exception {
+        mockMvc.perform(get(userLink + "/findUserForManagement/cursor"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "User", roles = "USER")
+    void findUserForManagementByCursor_isForbidden() throws Exception {
+        mockMvc.perform(get(userLink + "/findUserForManagement/cursor"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(username = "Employee", roles = "EMPLOYEE")
+    void searchByCursor_isOk() throws Exception {
+        mockMvc.perform(get(userLink + "/searchBy/cursor")
+                        .param("query", "test"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void searchByCursor_isUnauthorized() throws Exception {
+        mockMvc.perform(get(userLink + "/searchBy/cursor")
+                        .with(anonymous()))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = "ADMIN")
+    void exportUsers_isOk() throws Exception {
+        mockMvc.perform(get(userLink + "/export"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "User", roles = "USER")
+    void exportUsers_isForbidden() throws Exception {
+        mockMvc.perform(get(userLink + "/export"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(userExportService);
+    }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = "ADMIN")
+    void getUserStatistics_isOk() throws Exception {
+        mockMvc.perform(get(userLink + "/statistics"))
+                .andExpect(status().isOk());
+        verify(userService).getUserStatistics();
+    }
+
+    @Test
+    @WithMockUser(username = "User", roles = "USER")
+    void getUserStatistics_isForbidden() throws Exception {
+        mockMvc.perform(get(userLink + "/statistics"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(username = "User", roles = "USER")
+    void findOnlineStatuses_isOk() throws Exception {
+        mockMvc.perform(get(userLink + "/onlineStatuses")
+                        .param("ids", "1,2"))
+                .andExpect(status().isOk());
+        verify(userService).findOnlineStatuses(List.of(1L, 2L));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void findOnlineStatuses_isUnauthorized() throws Exception {
+        mockMvc.perform(get(userLink + "/onlineStatuses")
+                        .with(anonymous())
+                        .param("ids", "1,2"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(username = "User", roles = "USER")
+    void suggest_isOkWithoutEmailsForUser() throws Exception {
+        mockMvc.perform(get(userLink + "/suggest")
+                        .param("query", "te"))
+                .andExpect(status().isOk());
+        verify(userService).suggest("te", 10, false);
+    }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = "ADMIN")
+    void suggest_isOkWithEmailsForAdmin() throws Exception {
+        mockMvc.perform(get(userLink + "/suggest")
+                        .param("query", "te"))
+                .andExpect(status().isOk());
+        verify(userService).suggest("te", 10, true);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void suggest_isUnauthorized() throws Exception {
+        mockMvc.perform(get(userLink + "/suggest")
+                        .with(anonymous())
+                        .param("query", "te"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = "ADMIN")
+    void findSubscribers_isOk() throws Exception {
+        mockMvc.perform(get(userLink + "/subscribers")
+                        .param("emailNotification", "DAILY"))
+                .andExpect(status().isOk());
+        verify(userService).findSubscribers(EmailNotification.DAILY, null, 500);
+    }
+
+    @Test
+    @WithMockUser(username = "User", roles = "USER")
+    void findSubscribers_isForbidden() throws Exception {
+        mockMvc.perform(get(userLink + "/subscribers")
+                        .param("emailNotification", "DAILY"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void findSubscribers_isUnauthorized() throws Exception {
+        mockMvc.perform(get(userLink + "/subscribers")
+                        .with(anonymous())
+                        .param("emailNotification", "DAILY"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(userService);
+    }
 }
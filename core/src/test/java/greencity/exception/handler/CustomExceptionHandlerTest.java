@@ -7,6 +7,8 @@ import greencity.exception.exceptions.BadUserStatusException;
 import greencity.exception.exceptions.EmailNotVerified;
 import greencity.exception.exceptions.InvalidURLException;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.exception.exceptions.PasswordHashingOverloadedException;
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
 import greencity.exception.exceptions.UserAlreadyRegisteredException;
 import greencity.exception.exceptions.WrongEmailException;
 import greencity.exception.exceptions.WrongIdException;
@@ -228,4 +230,30 @@ class CustomExceptionHandlerTest {
         ResponseEntity<Object> body = status.body(multipartException.getMessage());
         assertEquals(customExceptionHandler.handleBadRequestWhenProfilePictureExceeded(multipartException), body);
     }
+
+    @Test
+    void handlePasswordHashingOverloadedException() {
+        PasswordHashingOverloadedException exception = new PasswordHashingOverloadedException("overloaded", 2);
+        ExceptionResponse exceptionResponse = new ExceptionResponse(objectMap);
+        exceptionResponse.setMessage("overloaded");
+        when(errorAttributes.getErrorAttributes(eq(webRequest),
+            any(ErrorAttributeOptions.class))).thenReturn(objectMap);
+        assertEquals(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "2")
+            .body(exceptionResponse),
+            customExceptionHandler.handlePasswordHashingOverloadedException(exception, webRequest));
+    }
+
+    @Test
+    void handleTooManyLoginAttemptsException() {
+        TooManyLoginAttemptsException exception = new TooManyLoginAttemptsException("too many", 30);
+        ExceptionResponse exceptionResponse = new ExceptionResponse(objectMap);
+        exceptionResponse.setMessage("too many");
+        when(errorAttributes.getErrorAttributes(eq(webRequest),
+            any(ErrorAttributeOptions.class))).thenReturn(objectMap);
+        assertEquals(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "30")
+            .body(exceptionResponse),
+            customExceptionHandler.handleTooManyLoginAttemptsException(exception, webRequest));
+    }
 }
\ No newline at end of file
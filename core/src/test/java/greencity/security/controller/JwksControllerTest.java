@@ -0,0 +1,51 @@
+package greencity.security.controller;
+
+import greencity.security.dto.JwkDto;
+import greencity.security.dto.JwkSetDto;
+import greencity.security.service.SigningKeyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class JwksControllerTest {
+    private MockMvc mockMvc;
+
+    @Mock
+    private SigningKeyService signingKeyService;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders
+            .standaloneSetup(new JwksController(signingKeyService, 3600000))
+            .build();
+    }
+
+    @Test
+    void getPublicKeysTest() throws Exception {
+        JwkDto jwk = JwkDto.builder().kty("EC").crv("P-256").kid("kid").use("sig").alg("ES256")
+            .pointX("x").pointY("y").build();
+        when(signingKeyService.getPublicKeys()).thenReturn(new JwkSetDto(List.of(jwk)));
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "max-age=1800, public"))
+            .andExpect(jsonPath("$.keys[0].kid").value("kid"))
+            .andExpect(jsonPath("$.keys[0].alg").value("ES256"))
+            .andExpect(jsonPath("$.keys[0].x").value("x"))
+            .andExpect(jsonPath("$.keys[0].y").value("y"))
+            .andExpect(jsonPath("$.keys[0].pointX").doesNotExist());
+    }
+}
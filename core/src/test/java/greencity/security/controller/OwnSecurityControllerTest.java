@@ -1,23 +1,32 @@
 package greencity.security.controller;
 
 import greencity.ModelUtils;
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
 import greencity.security.dto.ownsecurity.EmployeeSignUpDto;
 import greencity.security.dto.ownsecurity.OwnRestoreDto;
 import greencity.security.dto.ownsecurity.OwnSignInDto;
 import greencity.security.dto.ownsecurity.OwnSignUpDto;
+import greencity.security.ratelimit.LoginRateLimiter;
 import greencity.security.service.OwnSecurityService;
 import greencity.security.service.PasswordRecoveryService;
 import greencity.security.service.VerifyEmailService;
+import jakarta.servlet.ServletException;
+import org.apache.catalina.filters.RemoteIpFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -40,6 +49,9 @@ class OwnSecurityControllerTest {
     @Mock
     private PasswordRecoveryService passwordRecoveryService;
 
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @BeforeEach
     void setUp() {
         this.mockMvc = MockMvcBuilders
@@ -102,9 +114,66 @@ class OwnSecurityControllerTest {
             .andExpect(status().isOk());
 
         OwnSignInDto dto = ModelUtils.getObjectMapper().readValue(content, OwnSignInDto.class);
+        verify(loginRateLimiter).acquire("test@mail.com", "127.0.0.1");
         verify(ownSecurityService).signIn(dto);
     }
 
+    @Test
+    void signInThrottledTest() throws Exception {
+        String content = """
+            {
+              "email": "test@mail.com",
+              "password": "String-123"
+            }\
+            """;
+        doThrow(new TooManyLoginAttemptsException("too many", 30))
+            .when(loginRateLimiter).acquire("test@mail.com", "127.0.0.1");
+
+        assertThrows(ServletException.class, () -> mockMvc.perform(post(LINK + "/signIn")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content)));
+
+        verify(ownSecurityService, never()).signIn(any());
+    }
+
+    @Test
+    void signInThrottlesForwardedClientAddressTest() throws Exception {
+        RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.setInternalProxies(new ServerProperties().getTomcat().getRemoteip().getInternalProxies());
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(ownSecurityController)
+            .addFilters(remoteIpFilter)
+            .build();
+        String content = """
+            {
+              "email": "test@mail.com",
+              "password": "String-123"
+            }\
+            """;
+
+        mockMvc.perform(post(LINK + "/signIn")
+            .with(request -> {
+                request.setRemoteAddr("10.42.0.7");
+                return request;
+            })
+            .header("X-Forwarded-For", "203.0.113.5")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content))
+            .andExpect(status().isOk());
+        mockMvc.perform(post(LINK + "/signIn")
+            .with(request -> {
+                request.setRemoteAddr("198.51.100.9");
+                return request;
+            })
+            .header("X-Forwarded-For", "203.0.113.6")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content))
+            .andExpect(status().isOk());
+
+        verify(loginRateLimiter).acquire("test@mail.com", "203.0.113.5");
+        verify(loginRateLimiter).acquire("test@mail.com", "198.51.100.9");
+    }
+
     @Test
     void verifyEmailTest() throws Exception {
         mockMvc.perform(get(LINK + "/verifyEmail")
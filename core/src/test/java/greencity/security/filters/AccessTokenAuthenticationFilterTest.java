@@ -1,7 +1,13 @@
 package greencity.security.filters;
 
-import greencity.dto.user.UserVO;
+import greencity.dto.user.UserPrincipalVO;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.security.cache.VerifiedToken;
+import greencity.security.cache.VerifiedTokenCache;
+import greencity.security.context.RequestPrincipalContext;
 import greencity.security.jwt.JwtTool;
+import greencity.security.service.UserRevocationService;
 import greencity.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
@@ -19,12 +25,18 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -47,6 +59,19 @@ class AccessTokenAuthenticationFilterTest {
     AuthenticationManager authenticationManager;
     @Mock
     UserService userService;
+    @Mock
+    VerifiedTokenCache verifiedTokenCache;
+    @Mock
+    UserRevocationService userRevocationService;
+    @Mock
+    RequestPrincipalContext requestPrincipalContext;
+
+    private final UserPrincipalVO principal = UserPrincipalVO.builder()
+        .id(1L)
+        .email("test@mail.com")
+        .role(Role.ROLE_USER)
+        .userStatus(UserStatus.ACTIVATED)
+        .build();
 
     @InjectMocks
     private AccessTokenAuthenticationFilter authenticationFilter;
@@ -61,6 +86,7 @@ class AccessTokenAuthenticationFilterTest {
     @AfterEach
     void restoreSystemOutStream() {
         System.setOut(systemOut);
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -68,8 +94,8 @@ class AccessTokenAuthenticationFilterTest {
         when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
         when(authenticationManager.authenticate(any()))
             .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
-        when(userService.findNotDeactivatedByEmail("test@mail.com"))
-            .thenReturn(Optional.of(UserVO.builder().id(1L).build()));
+        when(userService.findNotDeactivatedPrincipalByEmail("test@mail.com"))
+            .thenReturn(Optional.of(UserPrincipalVO.builder().id(1L).build()));
         doNothing().when(chain).doFilter(request, response);
 
         authenticationFilter.doFilterInternal(request, response, chain);
@@ -77,6 +103,76 @@ class AccessTokenAuthenticationFilterTest {
         verify(chain).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternalCachesVerifiedTokenTest() throws IOException, ServletException {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            "test@mail.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication.setDetails(expiresAt);
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(verifiedTokenCache.digest("SuperSecretAccessToken")).thenReturn("digest");
+        when(verifiedTokenCache.get("digest")).thenReturn(Optional.empty());
+        when(verifiedTokenCache.currentEpoch()).thenReturn(7L);
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(userService.findNotDeactivatedPrincipalByEmail("test@mail.com")).thenReturn(Optional.of(principal));
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        verify(verifiedTokenCache).put("digest",
+            new VerifiedToken(principal, authentication.getAuthorities(), expiresAt), 7L);
+        verify(requestPrincipalContext).setPrincipal(principal);
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternalWithCachedTokenTest() throws IOException, ServletException {
+        VerifiedToken verifiedToken = new VerifiedToken(principal,
+            List.of(new SimpleGrantedAuthority("ROLE_USER")), Instant.now().plusSeconds(60));
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(verifiedTokenCache.digest("SuperSecretAccessToken")).thenReturn("digest");
+        when(verifiedTokenCache.get("digest")).thenReturn(Optional.of(verifiedToken));
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        assertEquals("test@mail.com", SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(authenticationManager, never()).authenticate(any());
+        verify(userService, never()).findNotDeactivatedPrincipalByEmail(any());
+        verify(requestPrincipalContext).setPrincipal(principal);
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternalWithCachedTokenOfRevokedUserTest() throws IOException, ServletException {
+        VerifiedToken verifiedToken = new VerifiedToken(principal,
+            List.of(new SimpleGrantedAuthority("ROLE_USER")), Instant.now().plusSeconds(60));
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(verifiedTokenCache.digest("SuperSecretAccessToken")).thenReturn("digest");
+        when(verifiedTokenCache.get("digest")).thenReturn(Optional.of(verifiedToken));
+        when(userRevocationService.isRevoked(1L)).thenReturn(true);
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(authenticationManager, never()).authenticate(any());
+        verify(userService, never()).findNotDeactivatedPrincipalByEmail(any());
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternalWithBlockedUserTest() throws IOException, ServletException {
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(authenticationManager.authenticate(any()))
+            .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
+        when(userService.findNotDeactivatedPrincipalByEmail("test@mail.com"))
+            .thenReturn(Optional.of(UserPrincipalVO.builder().id(1L).userStatus(UserStatus.BLOCKED).build()));
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(verifiedTokenCache, never()).put(any(), any(), anyLong());
+        verify(chain).doFilter(request, response);
+    }
+
 //    @Test
 //    void doFilterInternalTokenHasExpiredTest() throws IOException, ServletException {
 //        String token = "SuperSecretAccessToken";
@@ -94,7 +190,7 @@ class AccessTokenAuthenticationFilterTest {
         when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn(token);
         when(authenticationManager.authenticate(any()))
             .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
-        when(userService.findNotDeactivatedByEmail("test@mail.com")).thenThrow(RuntimeException.class);
+        when(userService.findNotDeactivatedPrincipalByEmail("test@mail.com")).thenThrow(RuntimeException.class);
         authenticationFilter.doFilterInternal(request, response, chain);
         assertTrue(systemOutContent.toString().contains("Access denied with token: "));
     }
@@ -1,18 +1,16 @@
 package greencity.security.providers;
 
 import greencity.enums.Role;
-import greencity.security.jwt.JwtTool;
+import greencity.security.jwt.AccessTokenVerifier;
+import greencity.security.jwt.SigningKeyStore;
 import io.jsonwebtoken.ExpiredJwtException;
+import java.time.Instant;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import static org.mockito.Mockito.when;
-import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -21,18 +19,11 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
  * @author Yurii Koval
  */
 class JwtAuthenticationProviderTest {
+    private static final String ACCESS_TOKEN_KEY = "12312312312312312312312312312312312";
     private final Role expectedRole = Role.ROLE_ADMIN;
 
-    @Mock
-    JwtTool jwtTool;
-
-    private JwtAuthenticationProvider jwtAuthenticationProvider;
-
-    @BeforeEach
-    public void setUp() {
-        MockitoAnnotations.initMocks(this);
-        jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtTool);
-    }
+    private final JwtAuthenticationProvider jwtAuthenticationProvider =
+        new JwtAuthenticationProvider(new AccessTokenVerifier(ACCESS_TOKEN_KEY, new SigningKeyStore()));
 
     @Test
     void authenticateWithValidAccessToken() {
@@ -41,7 +32,6 @@ class JwtAuthenticationProviderTest {
             TUlOIl0sImlhdCI6MTY1NDYzNjc2OSwiZXhwIjo2MTY1NDYzNjcwOX0.ajLrWu7MNoXWlPRWi\
             LD9d7vDzScqx8-9eBl3ZlYlspQ\
             """;
-        when(jwtTool.getAccessTokenKey()).thenReturn("12312312312312312312312312312312312");
 
         Authentication authentication = new UsernamePasswordAuthenticationToken(
             accessToken,
@@ -56,11 +46,11 @@ class JwtAuthenticationProviderTest {
                 .collect(Collectors.toList()),
             actual.getAuthorities());
         assertEquals("", actual.getCredentials());
+        assertEquals(Instant.ofEpochSecond(61654636709L), actual.getDetails());
     }
 
     @Test
     void authenticateWithExpiredAccessToken() {
-        when(jwtTool.getAccessTokenKey()).thenReturn("12312312312312312312312312312312312");
         Authentication authentication = new UsernamePasswordAuthenticationToken(
             """
                 eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJxcXFAZW1haWwuY29tIiwicm9sZSI6WyJST0xF\
@@ -75,7 +65,8 @@ class JwtAuthenticationProviderTest {
 
     @Test
     void authenticateWithMalformedAccessToken() {
-        when(jwtTool.getAccessTokenKey()).thenReturn("123123123");
+        JwtAuthenticationProvider providerWithWeakKey =
+            new JwtAuthenticationProvider(new AccessTokenVerifier("123123123", new SigningKeyStore()));
         Authentication authentication = new UsernamePasswordAuthenticationToken(
             """
                 Malformed\
@@ -86,7 +77,7 @@ class JwtAuthenticationProviderTest {
             null);
         Assertions
             .assertThrows(Exception.class,
-                () -> jwtAuthenticationProvider.authenticate(authentication));
+                () -> providerWithWeakKey.authenticate(authentication));
     }
 
     @Test
@@ -4,6 +4,8 @@ public final class RepoConstants {
     public static final String REGISTRATION_DATE = "dateOfRegistration";
     public static final String EMAIL = "email";
     public static final String NAME = "name";
+    public static final String ROLE = "role";
+    public static final String USER_STATUS = "userStatus";
 
     RepoConstants() {
     }
@@ -1,14 +1,32 @@
 package greencity.dto.filter;
 
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.Set;
 
 @Data
+@Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class FilterUserDto {
     @Valid
     private String searchReg;
+
+    private LocalDate registeredFrom;
+
+    private LocalDate registeredTo;
+
+    private Set<UserStatus> statuses;
+
+    private Set<Role> roles;
+
+    private String email;
+
+    private String namePrefix;
 }
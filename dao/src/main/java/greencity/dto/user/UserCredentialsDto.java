@@ -0,0 +1,23 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString(exclude = {"refreshTokenKey", "password"})
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserCredentialsDto {
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final Role role;
+    private final UserStatus userStatus;
+    private final String refreshTokenKey;
+    private final String password;
+    private final Boolean emailVerificationPending;
+}
@@ -0,0 +1,15 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserGroupCountDto {
+    private final Object group;
+    private final Long amount;
+}
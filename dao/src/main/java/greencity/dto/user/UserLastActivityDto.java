@@ -0,0 +1,16 @@
+package greencity.dto.user;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserLastActivityDto {
+    private final Long id;
+    private final LocalDateTime lastActivityTime;
+}
@@ -0,0 +1,19 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserPrincipalDto {
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final UserStatus userStatus;
+}
@@ -0,0 +1,18 @@
+package greencity.dto.user;
+
+import greencity.enums.UserStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserStatusChangeDto {
+    private final Long id;
+    private final UserStatus userStatus;
+    private final LocalDateTime statusUpdatedAt;
+}
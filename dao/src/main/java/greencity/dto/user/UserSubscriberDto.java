@@ -0,0 +1,17 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserSubscriberDto {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String languageCode;
+}
@@ -27,6 +27,21 @@ import java.util.List;
         + "WHERE EXTRACT(YEAR from date_of_registration) = EXTRACT(YEAR FROM CURRENT_DATE) "
         + "GROUP BY month",
     resultSetMapping = "monthsStatisticsMapping")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = User.DETAILS_GRAPH,
+        attributeNodes = {
+            @NamedAttributeNode("ownSecurity"),
+            @NamedAttributeNode("verifyEmail"),
+            @NamedAttributeNode("restorePasswordEmail"),
+            @NamedAttributeNode("language")
+        }),
+    @NamedEntityGraph(name = User.LIST_GRAPH,
+        attributeNodes = {
+            @NamedAttributeNode("ownSecurity"),
+            @NamedAttributeNode("verifyEmail"),
+            @NamedAttributeNode("restorePasswordEmail")
+        })
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -37,6 +52,21 @@ import java.util.List;
     exclude = {"verifyEmail", "ownSecurity",
         "refreshTokenKey", "restorePasswordEmail"})
 public class User {
+    /**
+     * Fetch plan of queries whose users are mapped with their associations, like
+     * {@code UserVO}: joins the one-to-one links and the language into the select
+     * that loads the users.
+     */
+    public static final String DETAILS_GRAPH = "User.details";
+
+    /**
+     * Fetch plan of listings and searches, which map only the columns of the users.
+     * The one-to-one links are mapped by the other side and cannot be proxied, so
+     * Hibernate loads them with every user anyway; joining them spares a select per
+     * link and user. The language is left lazy.
+     */
+    public static final String LIST_GRAPH = "User.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -55,6 +85,9 @@ public class User {
     @JdbcType(IntegerJdbcType.class)
     private UserStatus userStatus;
 
+    @Column(name = "status_updated_at")
+    private LocalDateTime statusUpdatedAt;
+
     @Column(nullable = false)
     private LocalDateTime dateOfRegistration;
 
@@ -0,0 +1,28 @@
+package greencity.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Amount of users with one value of a
+ * {@link greencity.enums.UserStatisticDimension}.
+ */
+@Entity
+@Table(name = "user_statistics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStatistic {
+    @EmbeddedId
+    private UserStatisticId id;
+
+    @Column(name = "amount", nullable = false)
+    private long amount;
+}
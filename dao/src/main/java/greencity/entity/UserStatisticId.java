@@ -0,0 +1,24 @@
+package greencity.entity;
+
+import greencity.enums.UserStatisticDimension;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatisticId implements Serializable {
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 20)
+    private UserStatisticDimension dimension;
+
+    @Column(name = "dimension_key", length = 35)
+    private String dimensionKey;
+}
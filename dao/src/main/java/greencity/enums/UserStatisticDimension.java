@@ -0,0 +1,23 @@
+package greencity.enums;
+
+/**
+ * What users are counted by in the user statistics.
+ */
+public enum UserStatisticDimension {
+    /**
+     * By {@link UserStatus} name.
+     */
+    STATUS,
+    /**
+     * By {@link Role} name.
+     */
+    ROLE,
+    /**
+     * By id of the language.
+     */
+    LANGUAGE,
+    /**
+     * By month of registration, formatted as {@code yyyy-MM}.
+     */
+    REGISTRATION_MONTH
+}
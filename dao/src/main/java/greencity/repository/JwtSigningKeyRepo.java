@@ -0,0 +1,34 @@
+package greencity.repository;
+
+import greencity.entity.JwtSigningKey;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface JwtSigningKeyRepo extends JpaRepository<JwtSigningKey, String> {
+    /**
+     * Method returns signing keys that are still valid for verification, newest
+     * first.
+     *
+     * @param now current time.
+     * @return list of {@link JwtSigningKey}.
+     */
+    List<JwtSigningKey> findAllByExpiresAtAfterOrderByCreatedAtDesc(LocalDateTime now);
+
+    /**
+     * Method deletes signing keys that are not valid for verification anymore.
+     *
+     * @param now current time.
+     * @return amount of deleted keys.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JwtSigningKey k WHERE k.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
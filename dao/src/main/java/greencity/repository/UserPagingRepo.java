@@ -0,0 +1,36 @@
+package greencity.repository;
+
+import greencity.entity.User;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Loads {@link User}'s page by page without counting them.
+ */
+public interface UserPagingRepo {
+    /**
+     * Find the first {@link User}'s matching the specification in the given order.
+     * Unlike a paged query, no count query is run and no rows are skipped, so the
+     * specification is expected to select the rows after the previous page.
+     *
+     * @param spec  {@link Specification} to match.
+     * @param sort  order of the users.
+     * @param limit maximum amount of users to return.
+     * @return list of {@link User}'s
+     */
+    List<User> findAllLimited(Specification<User> spec, Sort sort, int limit);
+
+    /**
+     * Find {@link User}'s matching the specification by page without counting them.
+     * One user more than the page size is loaded to find out whether there is a
+     * next page.
+     *
+     * @param spec     {@link Specification} to match.
+     * @param pageable pageable configuration.
+     * @return {@link Slice} of {@link User}'s
+     */
+    Slice<User> findSlice(Specification<User> spec, Pageable pageable);
+}
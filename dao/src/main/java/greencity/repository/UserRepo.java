@@ -1,21 +1,34 @@
 package greencity.repository;
 
 import greencity.dto.user.RegistrationStatisticsDtoResponse;
+import greencity.dto.user.UserCredentialsDto;
+import greencity.dto.user.UserGroupCountDto;
+import greencity.dto.user.UserLastActivityDto;
+import greencity.dto.user.UserPrincipalDto;
+import greencity.dto.user.UserRefreshTokenDto;
+import greencity.dto.user.UserStatusChangeDto;
+import greencity.dto.user.UserSubscriberDto;
+import greencity.dto.user.UserNameEmailDto;
 import greencity.entity.User;
 import greencity.enums.EmailNotification;
 import greencity.enums.UserStatus;
 import java.time.LocalDateTime;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.NamedNativeQuery;
-import java.sql.Timestamp;
-import java.util.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,7 +38,23 @@ import java.util.stream.Collectors;
  * Provides an interface to manage {@link User} entity.
  */
 @Repository
-public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserPagingRepo {
+    /**
+     * Condition of the similarity search: the user with the id, and the users whose
+     * name, email or credo matches the pattern.
+     */
+    String SIMILARITY_SEARCH_CONDITION = "u.id = :id OR LOWER(u.name) LIKE :pattern "
+        + "OR LOWER(u.email) LIKE :pattern OR LOWER(u.user_credo) LIKE :pattern";
+
+    /**
+     * Similarity search of user ids, the user with the id first, then the most
+     * similar.
+     */
+    String SIMILARITY_SEARCH_QUERY = "SELECT u.id FROM users u WHERE " + SIMILARITY_SEARCH_CONDITION
+        + " ORDER BY CASE WHEN u.id = :id THEN 0 ELSE 1 END, "
+        + "GREATEST(SIMILARITY(LOWER(u.name), :query), SIMILARITY(LOWER(u.email), :query), "
+        + "SIMILARITY(COALESCE(LOWER(u.user_credo), ''), :query)) DESC, u.id";
+
     /**
      * Find {@link User} by email.
      *
@@ -34,6 +63,15 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Find all {@link User}'s.
+     *
+     * @return list of {@link User}'s
+     */
+    @Override
+    @EntityGraph(User.DETAILS_GRAPH)
+    List<User> findAll();
+
     /**
      * Find {@link User} by page.
      *
@@ -41,8 +79,21 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      * @return {@link Page}
      * @author Rostyslav Khasanov
      */
+    @Override
+    @EntityGraph(User.LIST_GRAPH)
     Page<User> findAll(Pageable pageable);
 
+    /**
+     * Find {@link User}'s matching the specification by page.
+     *
+     * @param spec     {@link Specification} to match.
+     * @param pageable pageable configuration.
+     * @return {@link Page}
+     */
+    @Override
+    @EntityGraph(User.LIST_GRAPH)
+    Page<User> findAll(Specification<User> spec, Pageable pageable);
+
     /**
      * Find id by email.
      *
@@ -72,14 +123,43 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Query("FROM User WHERE email=:email AND userStatus <> 1")
     Optional<User> findNotDeactivatedByEmail(String email);
 
+    /**
+     * Find id, email, role and status of not 'DEACTIVATED' {@link User} by email
+     * without loading the entity and its associations.
+     *
+     * @param email - {@link User}'s email
+     * @return found {@link UserPrincipalDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserPrincipalDto(u.id, u.email, u.role, u.userStatus) "
+        + "FROM User u WHERE u.email = :email AND u.userStatus <> 1")
+    Optional<UserPrincipalDto> findNotDeactivatedPrincipalByEmail(String email);
+
     /**
      * Find all {@link User}'s with {@link EmailNotification} type.
      *
      * @param emailNotification - type of {@link EmailNotification}
      * @return list of {@link User}'s
      */
+    @EntityGraph(User.DETAILS_GRAPH)
     List<User> findAllByEmailNotification(EmailNotification emailNotification);
 
+    /**
+     * Find subscribers with {@link EmailNotification} type whose id is greater than
+     * the given one, ordered by id. Users with disabled notifications are never
+     * returned, so the query is answered by the partial index on subscribers.
+     *
+     * @param emailNotification - type of {@link EmailNotification}
+     * @param afterId           - id to start after, exclusive
+     * @param limit             - maximum amount of subscribers
+     * @return list of {@link UserSubscriberDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserSubscriberDto(u.id, u.name, u.email, l.code) "
+        + "FROM User u LEFT JOIN u.language l "
+        + "WHERE u.emailNotification <> greencity.enums.EmailNotification.DISABLED "
+        + "AND u.emailNotification = :emailNotification AND u.id > :afterId "
+        + "ORDER BY u.id")
+    List<UserSubscriberDto> findSubscribers(EmailNotification emailNotification, Long afterId, Limit limit);
+
     /**
      * Updates refresh token for a given user.
      *
@@ -92,6 +172,44 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Query(value = "UPDATE User SET refreshTokenKey=:refreshTokenKey WHERE id=:id")
     int updateUserRefreshToken(String refreshTokenKey, Long id);
 
+    /**
+     * Find fields of {@link User} needed to sign in with own security, with its
+     * password hash and whether its email is still waiting for verification, in a
+     * single query.
+     *
+     * @param email - user's email
+     * @return {@link Optional} of {@link UserCredentialsDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserCredentialsDto(u.id, u.email, u.name, u.role, u.userStatus, "
+        + "u.refreshTokenKey, os.password, CASE WHEN ve.id IS NULL THEN false ELSE true END) "
+        + "FROM User u LEFT JOIN u.ownSecurity os LEFT JOIN u.verifyEmail ve WHERE u.email = :email")
+    Optional<UserCredentialsDto> findCredentialsByEmail(String email);
+
+    /**
+     * Find fields of {@link User} needed to rotate its refresh token.
+     *
+     * @param email - user's email
+     * @return {@link Optional} of {@link UserRefreshTokenDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserRefreshTokenDto(u.id, u.email, u.role, u.userStatus, u.refreshTokenKey) "
+        + "FROM User u WHERE u.email = :email")
+    Optional<UserRefreshTokenDto> findRefreshTokenOwnerByEmail(String email);
+
+    /**
+     * Replaces refresh token key of a given user only if it still equals the
+     * expected one, so that of concurrent rotations of the same key only one
+     * succeeds.
+     *
+     * @param id     - user's id
+     * @param oldKey - refresh token key the rotated token was signed with
+     * @param newKey - new refresh token key
+     * @return number of updated rows, 0 if the key has already been rotated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User SET refreshTokenKey = :newKey WHERE id = :id AND refreshTokenKey = :oldKey")
+    int rotateRefreshTokenKey(Long id, String oldKey, String newKey);
+
     /**
      * Counts all users by user {@link UserStatus}.
      *
@@ -99,6 +217,44 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      */
     long countAllByUserStatus(UserStatus userStatus);
 
+    /**
+     * Counts all users grouped by {@link UserStatus}.
+     *
+     * @return list of {@link UserGroupCountDto} with {@link UserStatus} groups.
+     */
+    @Query("SELECT new greencity.dto.user.UserGroupCountDto(u.userStatus, COUNT(u)) "
+        + "FROM User u WHERE u.userStatus IS NOT NULL GROUP BY u.userStatus")
+    List<UserGroupCountDto> countGroupedByUserStatus();
+
+    /**
+     * Counts all users grouped by {@link greencity.enums.Role}.
+     *
+     * @return list of {@link UserGroupCountDto} with {@link greencity.enums.Role}
+     *         groups.
+     */
+    @Query("SELECT new greencity.dto.user.UserGroupCountDto(u.role, COUNT(u)) FROM User u GROUP BY u.role")
+    List<UserGroupCountDto> countGroupedByRole();
+
+    /**
+     * Counts all users grouped by id of their language.
+     *
+     * @return list of {@link UserGroupCountDto} with language id groups.
+     */
+    @Query("SELECT new greencity.dto.user.UserGroupCountDto(u.language.id, COUNT(u)) "
+        + "FROM User u WHERE u.language IS NOT NULL GROUP BY u.language.id")
+    List<UserGroupCountDto> countGroupedByLanguage();
+
+    /**
+     * Counts all users grouped by month of registration.
+     *
+     * @return list of {@link UserGroupCountDto} with groups of year times 100 plus
+     *         month, e.g. 202403.
+     */
+    @Query("SELECT new greencity.dto.user.UserGroupCountDto("
+        + "YEAR(u.dateOfRegistration) * 100 + MONTH(u.dateOfRegistration), COUNT(u)) "
+        + "FROM User u GROUP BY YEAR(u.dateOfRegistration) * 100 + MONTH(u.dateOfRegistration)")
+    List<UserGroupCountDto> countGroupedByRegistrationMonth();
+
     /**
      * Get profile picture path {@link String}.
      *
@@ -107,6 +263,17 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Query("SELECT profilePicturePath FROM User WHERE id=:id")
     Optional<String> getProfilePicturePathByUserId(Long id);
 
+    /**
+     * Finds the code of the language of {@link User} by id without loading the
+     * entity.
+     *
+     * @param id - {@link User}'s id
+     * @return code of the language, empty if there is no such user or it has no
+     *         language.
+     */
+    @Query("SELECT l.code FROM User u JOIN u.language l WHERE u.id = :id")
+    Optional<String> findLanguageCodeById(Long id);
+
     /**
      * Updates last activity time for a given user.
      *
@@ -120,15 +287,27 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     void updateUserLastActivityTime(Long userId, LocalDateTime userLastActivityTime);
 
     /**
-     * Find the last activity time by {@link User}'s id.
+     * Find the last activity time by {@link User}'s id, without loading the entity.
+     * The result is empty if there is no such user, its time is null if the user
+     * has never been active.
      *
      * @param userId - {@link User}'s id
-     * @return {@link Date}
-     * @author Yurii Zhurakovskyi
+     * @return {@link Optional} of {@link UserLastActivityDto}
      */
-    @Query(nativeQuery = true,
-        value = "SELECT last_activity_time FROM users WHERE id=:userId")
-    Optional<Timestamp> findLastActivityTimeById(Long userId);
+    @Query("SELECT new greencity.dto.user.UserLastActivityDto(u.id, u.lastActivityTime) FROM User u "
+        + "WHERE u.id = :userId")
+    Optional<UserLastActivityDto> findLastActivityById(Long userId);
+
+    /**
+     * Find the last activity times by {@link User}s' ids, without loading the
+     * entities. Ids without a user are skipped.
+     *
+     * @param userIds - {@link User}s' ids
+     * @return list of {@link UserLastActivityDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserLastActivityDto(u.id, u.lastActivityTime) FROM User u "
+        + "WHERE u.id IN :userIds")
+    List<UserLastActivityDto> findLastActivityByIds(Collection<Long> userIds);
 
     /**
      * Delete from the database users that have status_user 'DEACTIVATED' and last
@@ -142,6 +321,18 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
         + "AND last_activity_time + interval '2 year' <= CURRENT_TIMESTAMP")
     int scheduleDeleteDeactivatedUsers();
 
+    /**
+     * Find the statuses of {@link User}s by their ids, locking the users until the
+     * end of the current transaction so a following bulk update changes the
+     * statuses found.
+     *
+     * @param ids - {@link User}s' ids
+     * @return {@link List} of {@link UserStatus}, one per found user.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.userStatus FROM User u WHERE u.id IN (:ids)")
+    List<UserStatus> findUserStatusesByIdsForUpdate(List<Long> ids);
+
     /**
      * Set {@link User}s' statuses to 'DEACTIVATED'.
      *
@@ -149,9 +340,44 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      * @author Vasyl Zhovnir
      **/
     @Modifying
-    @Query(value = "UPDATE User SET userStatus = 1 where id IN(:ids)")
+    @Query(value = "UPDATE User SET userStatus = 1, statusUpdatedAt = LOCAL DATETIME where id IN(:ids)")
     void deactivateSelectedUsers(List<Long> ids);
 
+    /**
+     * Find ids of all {@link User}s with one of the given statuses.
+     *
+     * @param statuses - {@link UserStatus}es to look for
+     * @return {@link List} of ids
+     */
+    @Query("SELECT id FROM User WHERE userStatus IN (:statuses)")
+    List<Long> findAllIdsByUserStatusIn(Collection<UserStatus> statuses);
+
+    /**
+     * Find the latest moment a status of any {@link User} was changed.
+     *
+     * @return {@link Optional} of the latest status change time
+     */
+    @Query("SELECT MAX(statusUpdatedAt) FROM User")
+    Optional<LocalDateTime> findLastStatusUpdateTime();
+
+    /**
+     * Find status changes of {@link User}s made since the given moment.
+     *
+     * @param since - moment to look for changes from, inclusive
+     * @return {@link List} of {@link UserStatusChangeDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserStatusChangeDto(u.id, u.userStatus, u.statusUpdatedAt) "
+        + "FROM User u WHERE u.statusUpdatedAt >= :since")
+    List<UserStatusChangeDto> findAllStatusChangesSince(LocalDateTime since);
+
+    /**
+     * Find id, name and email of all {@link User}s.
+     *
+     * @return list of {@link UserNameEmailDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserNameEmailDto(u.id, u.name, u.email) FROM User u")
+    List<UserNameEmailDto> findAllNamesAndEmails();
+
     /**
      * Method returns {@link User} by search query and page.
      *
@@ -163,8 +389,47 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
         + "OR LOWER(u.name) LIKE LOWER(CONCAT('%', :query, '%'))"
         + "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')) "
         + "OR LOWER(u.userCredo) LIKE LOWER(CONCAT('%', :query, '%'))")
+    @EntityGraph(User.LIST_GRAPH)
     Page<User> searchBy(Pageable paging, String query);
 
+    /**
+     * Find ids of {@link User}'s whose name, email or credo contains the query,
+     * most similar first. The user whose id is the query, if any, comes before
+     * them. Served by the {@code pg_trgm} GIN indexes and the primary key, so it
+     * runs on PostgreSQL only. The pageable must not be sorted.
+     *
+     * @param id      id to find the user by, 0 if the query is not an id.
+     * @param query   lower-cased query to rank the users by.
+     * @param pattern lower-cased {@code LIKE} pattern to match.
+     * @param paging  {@link Pageable}.
+     * @return page of user ids.
+     */
+    @Query(nativeQuery = true, value = SIMILARITY_SEARCH_QUERY,
+        countQuery = "SELECT COUNT(*) FROM users u WHERE " + SIMILARITY_SEARCH_CONDITION)
+    Page<Long> searchIdsBySimilarity(long id, String query, String pattern, Pageable paging);
+
+    /**
+     * Same as {@link #searchIdsBySimilarity}, without counting the users: one id
+     * more than the page size is loaded to find out whether there is a next page.
+     *
+     * @param id      id to find the user by, 0 if the query is not an id.
+     * @param query   lower-cased query to rank the users by.
+     * @param pattern lower-cased {@code LIKE} pattern to match.
+     * @param paging  {@link Pageable}.
+     * @return slice of user ids.
+     */
+    @Query(nativeQuery = true, value = SIMILARITY_SEARCH_QUERY)
+    Slice<Long> searchIdSliceBySimilarity(long id, String query, String pattern, Pageable paging);
+
+    /**
+     * Find {@link User}'s by ids.
+     *
+     * @param ids ids of the users.
+     * @return list of {@link User}'s in no particular order.
+     */
+    @EntityGraph(User.LIST_GRAPH)
+    List<User> findAllByIdIn(Collection<Long> ids);
+
     /**
      * Delete from the database users that have status 'CREATED' and have not
      * activated the account within 24 hours.
@@ -178,12 +443,14 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     int scheduleDeleteCreatedUsers();
 
     /**
-     * Find and return all cities for all users.
+     * Counts users by the city as they have written it, ignoring users without a
+     * city.
      *
-     * @return {@link List} of {@link String} of cities
+     * @return list of {@link UserGroupCountDto} with city groups.
      **/
-    @Query("SELECT city FROM User")
-    List<String> findAllUsersCities();
+    @Query("SELECT new greencity.dto.user.UserGroupCountDto(u.city, COUNT(u)) "
+        + "FROM User u WHERE u.city IS NOT NULL AND TRIM(u.city) <> '' GROUP BY u.city")
+    List<UserGroupCountDto> countGroupedByCity();
 
     /**
      * Find and return all registration months. Runs an SQL Query which is described
@@ -0,0 +1,44 @@
+package greencity.repository;
+
+import greencity.entity.UserStatistic;
+import greencity.entity.UserStatisticId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStatisticRepo extends JpaRepository<UserStatistic, UserStatisticId> {
+    /**
+     * Adds a delta to the amount of a statistic, creating the statistic if it does
+     * not exist yet. Parameters are the dimension, the key and the delta.
+     */
+    String INCREMENT_QUERY = "INSERT INTO user_statistics (dimension, dimension_key, amount) VALUES (?1, ?2, ?3) "
+        + "ON CONFLICT (dimension, dimension_key) DO UPDATE SET amount = user_statistics.amount + EXCLUDED.amount";
+
+    /**
+     * Key of the transaction level advisory lock held while the statistics are
+     * reconciled.
+     */
+    long RECONCILIATION_LOCK = 4_817_302_115L;
+
+    /**
+     * Method adds a delta to the amount of a statistic.
+     *
+     * @param dimension - name of {@link greencity.enums.UserStatisticDimension}
+     * @param key       - key of the statistic within the dimension
+     * @param delta     - amount to add, negative to subtract
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = INCREMENT_QUERY)
+    void increment(String dimension, String key, long delta);
+
+    /**
+     * Method takes the reconciliation lock until the end of the current
+     * transaction, without waiting for it.
+     *
+     * @return true if the lock is taken, false if another transaction holds it.
+     */
+    @Query(nativeQuery = true, value = "SELECT pg_try_advisory_xact_lock(" + RECONCILIATION_LOCK + ")")
+    boolean tryLockReconciliation();
+}
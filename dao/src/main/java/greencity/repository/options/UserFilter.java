@@ -6,20 +6,30 @@ import greencity.entity.User;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
 
 /**
  * The class implements {@link Specification}. Constructor takes a {@code DTO}
  * class the type of which determines the further creation of a new
- * {@link Predicate} object.
+ * {@link Predicate} object. Every filter compares a column as it is stored, or
+ * the lower-cased text the indexes are built on, so each of them can be
+ * answered from an index.
  *
  * @author Rostyslav Khasanov
  */
 public class UserFilter implements Specification<User> {
+    private static final char ESCAPE = '\\';
+
     private final transient FilterUserDto filterUserDto;
 
     /**
@@ -39,41 +49,93 @@ public class UserFilter implements Specification<User> {
     public Predicate toPredicate(Root<User> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
         List<Predicate> predicates = new ArrayList<>();
 
-        predicates.add(hasFieldsLike(root, criteriaBuilder, filterUserDto.getSearchReg()));
+        if (hasText(filterUserDto.getSearchReg())) {
+            predicates.add(hasFieldsLike(root, criteriaBuilder, filterUserDto.getSearchReg().trim()));
+        }
+        if (filterUserDto.getRegisteredFrom() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get(RepoConstants.REGISTRATION_DATE),
+                filterUserDto.getRegisteredFrom().atStartOfDay()));
+        }
+        if (filterUserDto.getRegisteredTo() != null) {
+            predicates.add(criteriaBuilder.lessThan(root.get(RepoConstants.REGISTRATION_DATE),
+                filterUserDto.getRegisteredTo().plusDays(1).atStartOfDay()));
+        }
+        if (isNotEmpty(filterUserDto.getStatuses())) {
+            predicates.add(root.get(RepoConstants.USER_STATUS).in(filterUserDto.getStatuses()));
+        }
+        if (isNotEmpty(filterUserDto.getRoles())) {
+            predicates.add(root.get(RepoConstants.ROLE).in(filterUserDto.getRoles()));
+        }
+        if (hasText(filterUserDto.getEmail())) {
+            predicates.add(criteriaBuilder.equal(root.get(RepoConstants.EMAIL), filterUserDto.getEmail().trim()));
+        }
+        if (hasText(filterUserDto.getNamePrefix())) {
+            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(RepoConstants.NAME)),
+                escape(filterUserDto.getNamePrefix().trim()) + "%", ESCAPE));
+        }
 
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
     /**
      * Returns a predicate where {@link User} has some values defined in the
-     * incoming {@link FilterUserDto} object.
+     * incoming {@link FilterUserDto} object. A date, or a month, matches users
+     * registered on it, any other text matches names and emails containing it.
      *
      * @param r  must not be {@literal null}.
      * @param cb must not be {@literal null}.
      * @return a {@link Predicate}, may be {@literal null}.
      */
     private Predicate hasFieldsLike(Root<User> r, CriteriaBuilder cb, String reg) {
-        reg = replaceCriteria(reg);
+        Predicate registeredOn = registeredOn(r, cb, reg);
+        if (registeredOn != null) {
+            return registeredOn;
+        }
+        String pattern = "%" + escape(reg) + "%";
         return cb.or(
-            cb.like(r.get(RepoConstants.NAME), reg),
-            cb.like(r.get(RepoConstants.EMAIL), reg),
-            cb.like(r.get(RepoConstants.REGISTRATION_DATE).as(String.class), reg));
+            cb.like(cb.lower(r.get(RepoConstants.NAME)), pattern, ESCAPE),
+            cb.like(cb.lower(r.get(RepoConstants.EMAIL)), pattern, ESCAPE));
+    }
+
+    private static Predicate registeredOn(Root<User> r, CriteriaBuilder cb, String reg) {
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            LocalDate date = LocalDate.parse(reg);
+            from = date.atStartOfDay();
+            to = date.plusDays(1).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            try {
+                YearMonth month = YearMonth.parse(reg);
+                from = month.atDay(1).atStartOfDay();
+                to = month.plusMonths(1).atDay(1).atStartOfDay();
+            } catch (DateTimeParseException notMonth) {
+                return null;
+            }
+        }
+        Expression<LocalDateTime> registrationDate = r.get(RepoConstants.REGISTRATION_DATE);
+        return cb.and(cb.greaterThanOrEqualTo(registrationDate, from), cb.lessThan(registrationDate, to));
     }
 
     /**
-     * Returns a String criteria for search.
+     * Returns lower-cased text with the wildcards escaped, to be used in a
+     * {@code LIKE} pattern.
      *
      * @param criteria String for search.
-     * @return String creteria not be {@literal null}.
+     * @return String criteria not be {@literal null}.
      */
-    private String replaceCriteria(String criteria) {
-        criteria = Optional.ofNullable(criteria).orElseGet(() -> "");
-        criteria = criteria.trim();
-        criteria = criteria.replace("_", "\\_");
-        criteria = criteria.replace("%", "\\%");
-        criteria = criteria.replace("\\", "\\\\");
-        criteria = criteria.replace("'", "\\'");
-        criteria = "%" + criteria + "%";
-        return criteria;
+    private static String escape(String criteria) {
+        return criteria.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static boolean isNotEmpty(Collection<?> values) {
+        return values != null && !values.isEmpty();
     }
 }
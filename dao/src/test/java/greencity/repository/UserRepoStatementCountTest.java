@@ -0,0 +1,172 @@
+package greencity.repository;
+
+import greencity.entity.Language;
+import greencity.entity.OwnSecurity;
+import greencity.entity.RestorePasswordEmail;
+import greencity.entity.User;
+import greencity.entity.VerifyEmail;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts how many statements loading users takes, so that associations fetched
+ * with a select per user fail the build.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.liquibase.enabled=false"
+})
+class UserRepoStatementCountTest {
+    private static final int USERS = 5;
+    private static final Pageable PAGE = PageRequest.of(0, 3);
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        Language language = entityManager.persist(Language.builder().code("ua").build());
+        for (int i = 0; i < USERS; i++) {
+            User user = entityManager.persist(User.builder()
+                .name("test" + i)
+                .email("test" + i + "@gmail.com")
+                .role(Role.ROLE_USER)
+                .userStatus(UserStatus.ACTIVATED)
+                .dateOfRegistration(LocalDateTime.now())
+                .emailNotification(EmailNotification.DISABLED)
+                .refreshTokenKey("refreshTokenKey" + i)
+                .language(language)
+                .build());
+            entityManager.persist(OwnSecurity.builder().password("password").user(user).build());
+            entityManager.persist(VerifyEmail.builder().token("token" + i).user(user)
+                .expiryDate(LocalDateTime.now().plusDays(1)).build());
+            entityManager.persist(RestorePasswordEmail.builder().token("token" + i).user(user)
+                .expiryDate(LocalDateTime.now().plusDays(1)).build());
+            userId = user.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllByPageStatementCountTest() {
+        Page<User> users = userRepo.findAll(PAGE);
+        touch(users.getContent());
+
+        assertEquals(3, users.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllBySpecificationStatementCountTest() {
+        Specification<User> spec = (root, query, cb) -> cb.equal(root.get("role"), Role.ROLE_USER);
+
+        Page<User> users = userRepo.findAll(spec, PAGE);
+        touch(users.getContent());
+
+        assertEquals(3, users.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchByStatementCountTest() {
+        Page<User> users = userRepo.searchBy(PAGE, "gmail");
+        touch(users.getContent());
+
+        assertEquals(3, users.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllLimitedStatementCountTest() {
+        Specification<User> spec = (root, query, cb) -> cb.greaterThan(root.get("id"), 0L);
+
+        List<User> users = userRepo.findAllLimited(spec, Sort.by("name").and(Sort.by("id")), 3);
+        touch(users);
+
+        assertEquals(3, users.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSliceStatementCountTest() {
+        Slice<User> users = userRepo.findSlice(Specification.where(null), PageRequest.of(1, 2, Sort.by("id")));
+        touch(users.getContent());
+
+        assertEquals(2, users.getNumberOfElements());
+        assertTrue(users.hasNext());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllByEmailNotificationStatementCountTest() {
+        List<User> users = userRepo.findAllByEmailNotification(EmailNotification.DISABLED);
+        touch(users);
+        users.forEach(user -> assertNotNull(user.getLanguage().getCode()));
+
+        assertEquals(USERS, users.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllByIdInStatementCountTest() {
+        List<User> users = userRepo.findAllByIdIn(List.of(userId, userId - 1));
+        touch(users);
+
+        assertEquals(2, users.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllDetailsStatementCountTest() {
+        List<User> users = userRepo.findAll();
+        touch(users);
+        users.forEach(user -> assertNotNull(user.getLanguage().getCode()));
+
+        assertEquals(USERS, users.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private static void touch(List<User> users) {
+        users.forEach(user -> {
+            assertNotNull(user.getName());
+            assertNotNull(user.getOwnSecurity().getPassword());
+            assertNotNull(user.getVerifyEmail().getToken());
+            assertNotNull(user.getRestorePasswordEmail().getToken());
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package greencity.repository.options;
+
+import greencity.dto.filter.FilterUserDto;
+import greencity.entity.User;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.liquibase.enabled=false")
+class UserFilterTest {
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        persist("Taras", "taras@gmail.com", Role.ROLE_USER, UserStatus.ACTIVATED,
+            LocalDateTime.of(2024, 1, 10, 12, 0));
+        persist("Tamara_1", "tamara@gmail.com", Role.ROLE_ADMIN, UserStatus.BLOCKED,
+            LocalDateTime.of(2024, 1, 31, 23, 59));
+        persist("Olena", "olena@ukr.net", Role.ROLE_USER, UserStatus.DEACTIVATED,
+            LocalDateTime.of(2024, 2, 1, 0, 0));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void filterByRegistrationDatesTest() {
+        assertEquals(List.of("Tamara_1", "Taras"), find(FilterUserDto.builder()
+            .registeredFrom(LocalDate.of(2024, 1, 10))
+            .registeredTo(LocalDate.of(2024, 1, 31))
+            .build()));
+    }
+
+    @Test
+    void filterByStatusesAndRolesTest() {
+        assertEquals(List.of("Olena"), find(FilterUserDto.builder()
+            .statuses(Set.of(UserStatus.ACTIVATED, UserStatus.DEACTIVATED))
+            .roles(Set.of(Role.ROLE_USER))
+            .registeredFrom(LocalDate.of(2024, 2, 1))
+            .build()));
+    }
+
+    @Test
+    void filterByEmailTest() {
+        assertEquals(List.of("Olena"), find(FilterUserDto.builder().email(" olena@ukr.net ").build()));
+    }
+
+    @Test
+    void filterByNamePrefixTest() {
+        assertEquals(List.of("Tamara_1", "Taras"), find(FilterUserDto.builder().namePrefix("TA").build()));
+        assertEquals(List.of("Tamara_1"), find(FilterUserDto.builder().namePrefix("tamara_").build()));
+        assertEquals(List.of(), find(FilterUserDto.builder().namePrefix("t%").build()));
+    }
+
+    @Test
+    void filterBySearchRegTest() {
+        assertEquals(List.of("Tamara_1", "Taras"), find(FilterUserDto.builder().searchReg("GMAIL").build()));
+        assertEquals(List.of("Tamara_1", "Taras"), find(FilterUserDto.builder().searchReg("2024-01").build()));
+        assertEquals(List.of("Olena"), find(FilterUserDto.builder().searchReg("2024-02-01").build()));
+        assertEquals(3, find(new FilterUserDto()).size());
+    }
+
+    private List<String> find(FilterUserDto filterUserDto) {
+        return userRepo.findAll(new UserFilter(filterUserDto), Sort.by("name")).stream()
+            .map(User::getName)
+            .toList();
+    }
+
+    private void persist(String name, String email, Role role, UserStatus status, LocalDateTime registeredAt) {
+        entityManager.persist(User.builder()
+            .name(name)
+            .email(email)
+            .role(role)
+            .userStatus(status)
+            .dateOfRegistration(registeredAt)
+            .emailNotification(EmailNotification.DISABLED)
+            .refreshTokenKey("refreshTokenKey" + name)
+            .build());
+    }
+}
@@ -0,0 +1,65 @@
+-- Compares the predicates UserSpecification used to build for the user
+-- management search with the ones it compiles now, on a synthetic copy of the
+-- users table.
+-- Run with: psql -d <database> -f user_management_search.sql
+-- The rows are generated in a temporary table, the users table is not touched.
+
+\set rows 3000000
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TEMPORARY TABLE users_management_benchmark AS
+SELECT n                                                                         AS id,
+       'User ' || md5(n::text)                                                   AS name,
+       'user' || n || '@' || (ARRAY ['gmail.com', 'ukr.net', 'greencity.ua'])[1 + n % 3] AS email,
+       CASE WHEN n % 4 = 0 THEN NULL ELSE 'credo ' || md5((n * 7)::text) END  AS user_credo,
+       (ARRAY ['ROLE_USER', 'ROLE_ADMIN', 'ROLE_MODERATOR', 'ROLE_EMPLOYEE', 'ROLE_UBS_EMPLOYEE'])
+           [1 + (n % 1000 = 0)::int + (n % 10000 = 0)::int]                      AS role,
+       (n % 4)::int                                                              AS user_status,
+       now() - (n || ' minutes')::interval                                       AS date_of_registration
+FROM generate_series(1, :rows) AS n;
+
+ALTER TABLE users_management_benchmark ADD PRIMARY KEY (id);
+CREATE INDEX ON users_management_benchmark USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX ON users_management_benchmark USING gin (LOWER(email) gin_trgm_ops);
+CREATE INDEX ON users_management_benchmark USING gin (LOWER(user_credo) gin_trgm_ops);
+CREATE INDEX ON users_management_benchmark (LOWER(name) text_pattern_ops);
+CREATE INDEX ON users_management_benchmark (role, date_of_registration);
+CREATE INDEX ON users_management_benchmark (user_status, date_of_registration);
+ANALYZE users_management_benchmark;
+
+-- Name criteria as a case-sensitive LIKE on the column, as it used to be built
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users_management_benchmark u
+WHERE u.name LIKE '%a1b2c%'
+ORDER BY u.id
+LIMIT 20;
+
+-- Name criteria compiled to a match on the lower-cased column
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users_management_benchmark u
+WHERE LOWER(u.name) LIKE '%a1b2c%' ESCAPE '\'
+ORDER BY u.id
+LIMIT 20;
+
+-- Short name criteria compiled to a prefix match
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users_management_benchmark u
+WHERE LOWER(u.name) LIKE 'us%' ESCAPE '\'
+ORDER BY u.id
+LIMIT 20;
+
+-- Role criteria compiled to an equality with the stored name; the cast it used
+-- to be built with fails on the varchar column
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users_management_benchmark u
+WHERE u.role = 'ROLE_ADMIN'
+ORDER BY u.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM users_management_benchmark u
+WHERE u.role = 'ROLE_ADMIN' AND u.user_status = 2;
+
+DROP TABLE users_management_benchmark;
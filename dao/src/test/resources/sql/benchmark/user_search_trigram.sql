@@ -0,0 +1,57 @@
+-- Compares the LIKE search of UserRepo.searchBy with the pg_trgm search of
+-- UserRepo.searchIdsBySimilarity on a synthetic copy of the users table.
+-- Run with: psql -d <database> -f user_search_trigram.sql
+-- The rows are generated in a temporary table, the users table is not touched.
+
+\set rows 3000000
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TEMPORARY TABLE users_search_benchmark AS
+SELECT n                                                        AS id,
+       'user ' || md5(n::text)                                  AS name,
+       'user' || n || '@' || (ARRAY ['gmail.com', 'ukr.net', 'greencity.ua'])[1 + n % 3] AS email,
+       CASE WHEN n % 4 = 0 THEN NULL ELSE 'credo ' || md5((n * 7)::text) END AS user_credo
+FROM generate_series(1, :rows) AS n;
+
+ALTER TABLE users_search_benchmark ADD PRIMARY KEY (id);
+ANALYZE users_search_benchmark;
+
+-- LIKE search without indexes, as UserRepo.searchBy runs it
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users_search_benchmark u
+WHERE CAST(u.id AS text) LIKE '%a1b2c%' OR LOWER(u.name) LIKE '%a1b2c%'
+   OR LOWER(u.email) LIKE '%a1b2c%' OR LOWER(u.user_credo) LIKE '%a1b2c%'
+ORDER BY u.id
+LIMIT 20;
+
+CREATE INDEX ON users_search_benchmark USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX ON users_search_benchmark USING gin (LOWER(email) gin_trgm_ops);
+CREATE INDEX ON users_search_benchmark USING gin (LOWER(user_credo) gin_trgm_ops);
+ANALYZE users_search_benchmark;
+
+-- Trigram search, as UserRepo.searchIdsBySimilarity runs it
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users_search_benchmark u
+WHERE u.id = 0 OR LOWER(u.name) LIKE '%a1b2c%' OR LOWER(u.email) LIKE '%a1b2c%' OR LOWER(u.user_credo) LIKE '%a1b2c%'
+ORDER BY CASE WHEN u.id = 0 THEN 0 ELSE 1 END,
+         GREATEST(SIMILARITY(LOWER(u.name), 'a1b2c'), SIMILARITY(LOWER(u.email), 'a1b2c'),
+                  SIMILARITY(COALESCE(LOWER(u.user_credo), ''), 'a1b2c')) DESC, u.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM users_search_benchmark u
+WHERE u.id = 0 OR LOWER(u.name) LIKE '%a1b2c%' OR LOWER(u.email) LIKE '%a1b2c%' OR LOWER(u.user_credo) LIKE '%a1b2c%';
+
+-- Numeric queries also match the id, through the primary key, and rank that user first
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users_search_benchmark u
+WHERE u.id = 1234567 OR LOWER(u.name) LIKE '%1234567%' OR LOWER(u.email) LIKE '%1234567%'
+   OR LOWER(u.user_credo) LIKE '%1234567%'
+ORDER BY CASE WHEN u.id = 1234567 THEN 0 ELSE 1 END,
+         GREATEST(SIMILARITY(LOWER(u.name), '1234567'), SIMILARITY(LOWER(u.email), '1234567'),
+                  SIMILARITY(COALESCE(LOWER(u.user_credo), ''), '1234567')) DESC, u.id
+LIMIT 20;
+
+DROP TABLE users_search_benchmark;
@@ -32,6 +32,11 @@ public final class ErrorMessage {
     public static final String USER_EMAIL_IS_NOT_VERIFIED = "The user's email address has not been verified.";
 
     public static final String INCORRECT_PASSWORD = "Incorrect password";
+    public static final String PASSWORD_HASHING_OVERLOADED = "Too many password checks in progress, try again later";
+    public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many sign-in attempts, try again later";
+    public static final String INVALID_PAGE_CURSOR = "Page cursor is invalid";
+    public static final String UNSUPPORTED_CURSOR_SORT = "Cursor pagination can't be sorted by: ";
+    public static final String TOO_MANY_USER_IDS = "Amount of user ids must not exceed ";
 
     private ErrorMessage() {
     }
@@ -0,0 +1,35 @@
+package greencity.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import java.util.List;
+
+/**
+ * Page of a keyset paginated listing. Keeps the fields of
+ * {@link PageableAdvancedDto}, but the total amounts are not counted and are
+ * always {@link #NOT_COUNTED}; the next page is requested with
+ * {@link #nextCursor}, which is {@code null} on the last page.
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class CursorPageableDto<T> extends PageableAdvancedDto<T> {
+    private String nextCursor;
+
+    /**
+     * Constructor.
+     *
+     * @param page        elements of the page.
+     * @param currentPage index of the page, starting from zero.
+     * @param hasNext     whether there is a next page.
+     * @param nextCursor  cursor of the next page, {@code null} on the last page.
+     */
+    public CursorPageableDto(List<T> page, int currentPage, boolean hasNext, String nextCursor) {
+        super(page, NOT_COUNTED, currentPage, NOT_COUNTED, currentPage, currentPage > 0, hasNext,
+            currentPage == 0, !hasNext);
+        this.nextCursor = nextCursor;
+    }
+}
@@ -7,6 +7,11 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 public class PageableAdvancedDto<T> {
+    /**
+     * Value of the total amounts of a page whose elements were not counted.
+     */
+    public static final int NOT_COUNTED = -1;
+
     private List<T> page;
 
     private long totalElements;
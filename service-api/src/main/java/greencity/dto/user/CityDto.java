@@ -0,0 +1,27 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * City of the city directory. Spellings of a city differing only in case or
+ * whitespace share the normalized {@link #key}, {@link #name} is the most used
+ * of them.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class CityDto {
+    private String key;
+
+    private String name;
+
+    private Long usersAmount;
+}
@@ -0,0 +1,24 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class SubscriberDto {
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private String languageCode;
+}
@@ -0,0 +1,25 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.List;
+
+/**
+ * Chunk of subscribers ordered by id. The next chunk is requested with
+ * {@link #nextCursor}, which is {@code null} on the last chunk.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class SubscriberPageDto {
+    private List<SubscriberDto> subscribers;
+
+    private Long nextCursor;
+}
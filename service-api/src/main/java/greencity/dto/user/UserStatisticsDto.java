@@ -0,0 +1,29 @@
+package greencity.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.Map;
+
+/**
+ * Amounts of users by status, role, language code and month of registration,
+ * formatted as {@code yyyy-MM}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+public class UserStatisticsDto {
+    private Map<String, Long> byStatus;
+
+    private Map<String, Long> byRole;
+
+    private Map<String, Long> byLanguage;
+
+    private Map<String, Long> byRegistrationMonth;
+}
@@ -35,6 +35,8 @@ public class UserVO {
 
     private UserStatus userStatus;
 
+    private LocalDateTime statusUpdatedAt;
+
     private VerifyEmailVO verifyEmail;
 
     private Double rating;
@@ -2,6 +2,7 @@ package greencity.dto.user;
 
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import java.time.LocalDateTime;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -14,4 +15,6 @@ public class UserWithOnlineStatusDto {
     private Long id;
 
     private boolean onlineStatus;
+
+    private LocalDateTime lastActivityTime;
 }
@@ -0,0 +1,21 @@
+package greencity.enums;
+
+/**
+ * How the total amount of elements of a paged listing is found.
+ */
+public enum PagingMode {
+    /**
+     * The elements are counted with every page.
+     */
+    EXACT,
+    /**
+     * The elements are not counted, one element more than the page size is loaded
+     * to find out whether there is a next page.
+     */
+    SLICE,
+    /**
+     * Like {@link #SLICE}, with the total amount of an unfiltered listing taken
+     * from a count cached for a short time.
+     */
+    ESTIMATED
+}
@@ -0,0 +1,24 @@
+package greencity.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Formats users can be exported in, with their media type and file name
+ * extension.
+ */
+@Getter
+@AllArgsConstructor
+public enum UserExportFormat {
+    /**
+     * A JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /**
+     * Comma separated values with a header line.
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+}
@@ -0,0 +1,29 @@
+package greencity.exception.exceptions;
+
+/**
+ * Exception that we get when the password hashing queue is full and the request
+ * should be retried later.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor for PasswordHashingOverloadedException.
+     *
+     * @param message           - giving message.
+     * @param retryAfterSeconds - seconds after which the request can be retried.
+     */
+    public PasswordHashingOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns seconds after which the request can be retried.
+     *
+     * @return seconds to wait.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
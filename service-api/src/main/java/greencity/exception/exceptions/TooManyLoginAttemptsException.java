@@ -0,0 +1,29 @@
+package greencity.exception.exceptions;
+
+/**
+ * Exception that we get when there were too many sign-in attempts for an email
+ * or from a client address.
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor for TooManyLoginAttemptsException.
+     *
+     * @param message           - giving message.
+     * @param retryAfterSeconds - seconds after which the next attempt is allowed.
+     */
+    public TooManyLoginAttemptsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns seconds after which the next attempt is allowed.
+     *
+     * @return seconds to wait.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
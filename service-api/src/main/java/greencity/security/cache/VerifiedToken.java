@@ -0,0 +1,55 @@
+package greencity.security.cache;
+
+import greencity.dto.user.UserPrincipalVO;
+import java.time.Instant;
+import java.util.Collection;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Access token that has already passed signature verification and the user
+ * status check.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class VerifiedToken {
+    private final UserPrincipalVO principal;
+    private final Collection<? extends GrantedAuthority> authorities;
+    private final Instant expiresAt;
+
+    /**
+     * Returns id of the token owner.
+     *
+     * @return id of the user.
+     */
+    public Long getUserId() {
+        return principal.getId();
+    }
+
+    /**
+     * Checks if the token is expired at the given moment.
+     *
+     * @param now current {@link Instant}.
+     * @return {@code true} if the token is not valid anymore.
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Creates an {@link Authentication} equal to the one produced by the
+     * authentication provider for the same token.
+     *
+     * @return {@link Authentication}
+     */
+    public Authentication toAuthentication() {
+        return new UsernamePasswordAuthenticationToken(principal.getEmail(), "", authorities);
+    }
+}
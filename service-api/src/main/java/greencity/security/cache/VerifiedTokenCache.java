@@ -0,0 +1,244 @@
+package greencity.security.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache of already verified access tokens. Entries are keyed
+ * by the SHA-256 digest of the token, so raw tokens are never kept in memory,
+ * and expire together with the token itself. All entries of a user can be
+ * evicted at once when the user's status or role changes. Every eviction
+ * advances the eviction epoch, and a token is only cached if its user was not
+ * evicted after the epoch at which its principal was read, so a principal read
+ * before a change cannot be cached after the change evicted the user. Once the
+ * cache is full, the tokens cached first are dropped, taken from a queue in
+ * insertion order, so making room does not scan the cache.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+    private static final String METRIC_PREFIX = "greencity.security.token.cache";
+
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> digestsByUser = new ConcurrentHashMap<>();
+    private final Queue<Cached> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong epoch = new AtomicLong();
+    private final Map<Long, Long> evictionEpochs = new ConcurrentHashMap<>();
+    private volatile long forgottenEvictionEpoch;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter userEvictions;
+    private final Counter capacityEvictions;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize       maximum amount of cached tokens.
+     * @param meterRegistry {@link MeterRegistry} to publish cache metrics to.
+     */
+    @Autowired
+    public VerifiedTokenCache(@Value("${greencity.security.token.cache.max.size}") int maxSize,
+        MeterRegistry meterRegistry) {
+        this(maxSize, meterRegistry, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxSize, MeterRegistry meterRegistry, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "miss").register(meterRegistry);
+        this.userEvictions = Counter.builder(METRIC_PREFIX + ".evictions").tag("cause", "user")
+            .register(meterRegistry);
+        this.capacityEvictions = Counter.builder(METRIC_PREFIX + ".evictions").tag("cause", "capacity")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", tokens, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Calculates the key under which the given token is cached.
+     *
+     * @param token raw access token.
+     * @return url-safe Base64 encoded SHA-256 digest of the token.
+     */
+    public String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Returns the cached token if it is present and not expired yet.
+     *
+     * @param digest digest of the token, see {@link #digest(String)}.
+     * @return {@link Optional} of {@link VerifiedToken}.
+     */
+    public Optional<VerifiedToken> get(String digest) {
+        VerifiedToken token = tokens.get(digest);
+        if (token != null && token.isExpired(clock.instant())) {
+            remove(digest, token);
+            token = null;
+        }
+        if (token == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(token);
+    }
+
+    /**
+     * Returns the current eviction epoch, to be taken before the principal of a
+     * token is read.
+     *
+     * @return eviction epoch.
+     */
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Caches verified token. Expired tokens are ignored, and so are tokens of users
+     * evicted after the given epoch.
+     *
+     * @param digest    digest of the token, see {@link #digest(String)}.
+     * @param token     {@link VerifiedToken}.
+     * @param readEpoch eviction epoch taken before the principal of the token was
+     *                  read, see {@link #currentEpoch()}.
+     */
+    public void put(String digest, VerifiedToken token, long readEpoch) {
+        if (token.isExpired(clock.instant()) || isEvictedSince(token.getUserId(), readEpoch)) {
+            return;
+        }
+        if (tokens.size() >= maxSize) {
+            makeRoom();
+        }
+        tokens.put(digest, token);
+        insertionOrder.add(new Cached(digest, token));
+        if (queued.incrementAndGet() > 2 * maxSize) {
+            compact();
+        }
+        digestsByUser.computeIfAbsent(token.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(digest);
+        if (isEvictedSince(token.getUserId(), readEpoch)) {
+            remove(digest, token);
+        }
+    }
+
+    /**
+     * Evicts all cached tokens of the given user.
+     *
+     * @param userId id of the user.
+     */
+    public void evictUser(Long userId) {
+        long evictedAt = epoch.incrementAndGet();
+        evictionEpochs.put(userId, evictedAt);
+        if (evictionEpochs.size() > maxSize) {
+            forgottenEvictionEpoch = evictedAt;
+            evictionEpochs.clear();
+        }
+        Set<String> digests = digestsByUser.remove(userId);
+        if (digests == null) {
+            return;
+        }
+        for (String digest : digests) {
+            if (tokens.remove(digest) != null) {
+                userEvictions.increment();
+            }
+        }
+        log.debug("Evicted {} cached tokens of user {}", digests.size(), userId);
+    }
+
+    /**
+     * Evicts all cached tokens of the given users.
+     *
+     * @param userIds ids of the users.
+     */
+    public void evictUsers(Collection<Long> userIds) {
+        userIds.forEach(this::evictUser);
+    }
+
+    /**
+     * Returns amount of currently cached tokens.
+     *
+     * @return amount of cached tokens.
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Returns whether the user was evicted after the given epoch. Once too many
+     * users were evicted, their epochs are forgotten and every epoch before the
+     * last forgotten one counts as evicted.
+     */
+    private boolean isEvictedSince(Long userId, long readEpoch) {
+        return readEpoch < forgottenEvictionEpoch || evictionEpochs.getOrDefault(userId, 0L) > readEpoch;
+    }
+
+    /**
+     * Drops the tokens cached first until there is room for another one. Tokens
+     * already removed in another way are skipped.
+     */
+    private void makeRoom() {
+        Instant now = clock.instant();
+        while (tokens.size() >= maxSize) {
+            Cached oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (remove(oldest.digest(), oldest.token()) && !oldest.token().isExpired(now)) {
+                capacityEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops the queued tokens that are no longer cached, once the queue holds twice
+     * as many tokens as the cache, so that it scans the queue at most once per
+     * {@code maxSize} cached tokens.
+     */
+    private void compact() {
+        insertionOrder.removeIf(cached -> tokens.get(cached.digest()) != cached.token());
+        queued.set(insertionOrder.size());
+    }
+
+    private boolean remove(String digest, VerifiedToken token) {
+        boolean removed = tokens.remove(digest, token);
+        if (removed) {
+            digestsByUser.computeIfPresent(token.getUserId(), (id, digests) -> {
+                digests.remove(digest);
+                return digests.isEmpty() ? null : digests;
+            });
+        }
+        return removed;
+    }
+
+    private record Cached(String digest, VerifiedToken token) {
+    }
+}
@@ -0,0 +1,111 @@
+package greencity.security.context;
+
+import greencity.dto.user.UserPrincipalVO;
+import greencity.dto.user.UserVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Holds the authenticated principal of the current request, so that it is
+ * looked up once by the authentication filter and then reused by argument
+ * resolvers and services. The state is kept in request attributes and is
+ * therefore discarded together with the request. Outside of a request nothing
+ * is memoized.
+ */
+@Component
+public class RequestPrincipalContext {
+    private static final String PRINCIPAL_ATTRIBUTE = RequestPrincipalContext.class.getName() + ".PRINCIPAL";
+    private static final String USER_ATTRIBUTE = RequestPrincipalContext.class.getName() + ".USER";
+    private static final String METRIC_NAME = "greencity.security.principal.context.requests";
+
+    private final Counter hits;
+    private final Counter loads;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry {@link MeterRegistry} to publish lookup metrics to.
+     */
+    public RequestPrincipalContext(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder(METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        this.loads = Counter.builder(METRIC_NAME).tag("result", "load").register(meterRegistry);
+    }
+
+    /**
+     * Stores principal authenticated for the current request.
+     *
+     * @param principal {@link UserPrincipalVO}
+     */
+    public void setPrincipal(UserPrincipalVO principal) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PRINCIPAL_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Returns principal of the current request if it has the given email.
+     *
+     * @param email email of the user.
+     * @return {@link Optional} of {@link UserPrincipalVO}
+     */
+    public Optional<UserPrincipalVO> getPrincipal(String email) {
+        Optional<UserPrincipalVO> principal = getAttribute(PRINCIPAL_ATTRIBUTE, UserPrincipalVO.class)
+            .filter(p -> p.getEmail().equals(email));
+        (principal.isPresent() ? hits : loads).increment();
+        return principal;
+    }
+
+    /**
+     * Returns user of the current request. If the principal of the user is stored,
+     * the user is built from it and carries its id, email, role and status only.
+     * Otherwise it is loaded, at most once per request.
+     *
+     * @param email  email of the user.
+     * @param loader loads {@link UserVO} by email when it is not loaded yet.
+     * @return {@link UserVO}
+     */
+    public UserVO getUser(String email, Function<String, UserVO> loader) {
+        Optional<UserVO> memoized = getAttribute(USER_ATTRIBUTE, UserVO.class)
+            .filter(user -> email.equals(user.getEmail()));
+        if (memoized.isPresent()) {
+            hits.increment();
+            return memoized.get();
+        }
+        Optional<UserPrincipalVO> principal = getAttribute(PRINCIPAL_ATTRIBUTE, UserPrincipalVO.class)
+            .filter(p -> p.getEmail().equals(email));
+        UserVO user;
+        if (principal.isPresent()) {
+            hits.increment();
+            user = UserVO.builder()
+                .id(principal.get().getId())
+                .email(principal.get().getEmail())
+                .role(principal.get().getRole())
+                .userStatus(principal.get().getUserStatus())
+                .build();
+        } else {
+            loads.increment();
+            user = loader.apply(email);
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && user != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    private <T> Optional<T> getAttribute(String name, Class<T> type) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST))
+            .filter(type::isInstance)
+            .map(type::cast);
+    }
+}
@@ -0,0 +1,26 @@
+package greencity.security.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Public part of an EC signing key in JSON Web Key format (RFC 7517).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwkDto {
+    private String kty;
+    private String crv;
+    private String kid;
+    private String use;
+    private String alg;
+    @JsonProperty("x")
+    private String pointX;
+    @JsonProperty("y")
+    private String pointY;
+}
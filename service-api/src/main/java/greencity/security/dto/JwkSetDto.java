@@ -0,0 +1,13 @@
+package greencity.security.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwkSetDto {
+    private List<JwkDto> keys;
+}
@@ -0,0 +1,21 @@
+package greencity.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Claims of a verified access token.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class AccessTokenClaims {
+    private final String subject;
+    private final List<String> roles;
+    private final Instant expiration;
+}
@@ -0,0 +1,94 @@
+package greencity.security.jwt;
+
+import static greencity.constant.AppConstant.ROLE;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies access tokens. Tokens with a {@code kid} header are verified with
+ * the matching ES256 key from {@link SigningKeyStore}, tokens without it with
+ * the shared HS256 secret, so tokens issued before the migration to asymmetric
+ * keys stay valid until they expire. The parser is built once and reused,
+ * {@link JwtParser} is immutable and can be shared between threads.
+ */
+@Component
+public class AccessTokenVerifier {
+    private final String accessTokenKey;
+    private final SigningKeyStore signingKeyStore;
+    private final JwtParser parser;
+    private volatile SecretKey secretKey;
+
+    /**
+     * Constructor.
+     *
+     * @param accessTokenKey  HS256 secret the access tokens are signed with.
+     * @param signingKeyStore {@link SigningKeyStore} with the ES256 keys.
+     */
+    public AccessTokenVerifier(@Value("${tokenKey}") String accessTokenKey, SigningKeyStore signingKeyStore) {
+        this.accessTokenKey = accessTokenKey;
+        this.signingKeyStore = signingKeyStore;
+        this.parser = Jwts.parser().keyLocator(new KeyLocator()).build();
+    }
+
+    /**
+     * Verifies signature and expiration of the token and reads its claims with a
+     * single parse.
+     *
+     * @param token access token.
+     * @return {@link AccessTokenClaims}
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token expired.
+     * @throws io.jsonwebtoken.JwtException        if the token is malformed, is
+     *                                             signed with an unknown key or its
+     *                                             signature is not valid.
+     */
+    public AccessTokenClaims verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new AccessTokenClaims(claims.getSubject(), getRoles(claims), claims.getExpiration().toInstant());
+    }
+
+    private List<String> getRoles(Claims claims) {
+        Object roles = claims.get(ROLE);
+        if (roles instanceof Collection<?> collection) {
+            return collection.stream().map(String::valueOf).toList();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * The secret is derived on first use, so an invalid key fails authentication
+     * the same way as before instead of preventing application startup.
+     */
+    private SecretKey getSecretKey() {
+        SecretKey result = secretKey;
+        if (result == null) {
+            result = Keys.hmacShaKeyFor(accessTokenKey.getBytes(StandardCharsets.UTF_8));
+            secretKey = result;
+        }
+        return result;
+    }
+
+    private class KeyLocator extends LocatorAdapter<Key> {
+        @Override
+        protected Key locate(JwsHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                return getSecretKey();
+            }
+            return signingKeyStore.getVerificationKey(kid)
+                .orElseThrow(() -> new UnsupportedJwtException("Unknown signing key: " + kid));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static greencity.constant.AppConstant.ROLE;
 import greencity.dto.user.UserVO;
 import greencity.enums.Role;
 import io.jsonwebtoken.ClaimsBuilder;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,9 +32,12 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 public class JwtTool {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Integer accessTokenValidTimeInMinutes;
     private final Integer refreshTokenValidTimeInMinutes;
     private final String accessTokenKey;
+    private final SigningKeyStore signingKeyStore;
 
     /**
      * Constructor.
@@ -41,14 +45,17 @@ public class JwtTool {
     @Autowired
     public JwtTool(@Value("${accessTokenValidTimeInMinutes}") Integer accessTokenValidTimeInMinutes,
         @Value("${refreshTokenValidTimeInMinutes}") Integer refreshTokenValidTimeInMinutes,
-        @Value("${tokenKey}") String accessTokenKey) {
+        @Value("${tokenKey}") String accessTokenKey, SigningKeyStore signingKeyStore) {
         this.accessTokenValidTimeInMinutes = accessTokenValidTimeInMinutes;
         this.refreshTokenValidTimeInMinutes = refreshTokenValidTimeInMinutes;
         this.accessTokenKey = accessTokenKey;
+        this.signingKeyStore = signingKeyStore;
     }
 
     /**
-     * Method for creating access token.
+     * Method for creating access token. The token is signed with the current ES256
+     * key and carries its id in the {@code kid} header, or with the HS256 secret
+     * while there is no published ES256 key.
      *
      * @param email this is email of user.
      * @param role  this is role of user.
@@ -61,10 +68,18 @@ public class JwtTool {
         Calendar calendar = Calendar.getInstance();
         calendar.setTime(now);
         calendar.add(Calendar.MINUTE, accessTokenValidTimeInMinutes);
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
             .claims(claims.build())
             .issuedAt(now)
-            .expiration(calendar.getTime())
+            .expiration(calendar.getTime());
+        Optional<SigningKey> signingKey = signingKeyStore.getSigningKey();
+        if (signingKey.isPresent()) {
+            return builder
+                .header().keyId(signingKey.get().getKid()).and()
+                .signWith(signingKey.get().getPrivateKey(), Jwts.SIG.ES256)
+                .compact();
+        }
+        return builder
             .signWith(Keys.hmacShaKeyFor(
                 accessTokenKey.getBytes(StandardCharsets.UTF_8)),
                 Jwts.SIG.HS256)
@@ -104,11 +119,9 @@ public class JwtTool {
     public String getEmailOutOfAccessToken(String token) {
         String[] splitToken = token.split("\\.");
         Base64.Decoder decoder = Base64.getUrlDecoder();
-        String payload = new String(decoder.decode(splitToken[1]));
-        ObjectMapper objectMapper = new ObjectMapper();
         JsonNode jsonNode;
         try {
-            jsonNode = objectMapper.readTree(payload);
+            jsonNode = OBJECT_MAPPER.readTree(decoder.decode(splitToken[1]));
         } catch (Exception e) {
             throw new RuntimeException("Error parsing JSON payload", e);
         }
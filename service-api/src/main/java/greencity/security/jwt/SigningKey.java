@@ -0,0 +1,20 @@
+package greencity.security.jwt;
+
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * ES256 key pair access tokens are signed with, identified by the {@code kid}
+ * header of the tokens.
+ */
+@Getter
+@AllArgsConstructor
+@ToString(exclude = "privateKey")
+public class SigningKey {
+    private final String kid;
+    private final PrivateKey privateKey;
+    private final ECPublicKey publicKey;
+}
@@ -0,0 +1,68 @@
+package greencity.security.jwt;
+
+import java.security.interfaces.ECPublicKey;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the asymmetric keys that are currently in use. The key set is replaced
+ * as a whole, so token signing and verification never observe a partially
+ * rotated state. While there is no signing key, access tokens are signed with
+ * the shared HS256 secret.
+ */
+@Component
+public class SigningKeyStore {
+    private volatile KeySet keySet = new KeySet(null, Collections.emptyMap());
+
+    /**
+     * Replaces the keys in use.
+     *
+     * @param signingKey       key new access tokens are signed with, or
+     *                         {@code null} to sign them with the HS256 secret.
+     * @param verificationKeys keys access tokens are accepted from, including the
+     *                         signing key.
+     */
+    public void update(SigningKey signingKey, List<SigningKey> verificationKeys) {
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        verificationKeys.forEach(key -> keys.put(key.getKid(), key));
+        keySet = new KeySet(signingKey, Collections.unmodifiableMap(keys));
+    }
+
+    /**
+     * Returns the key new access tokens are signed with.
+     *
+     * @return {@link Optional} of {@link SigningKey}, empty if tokens are signed
+     *         with the HS256 secret.
+     */
+    public Optional<SigningKey> getSigningKey() {
+        return Optional.ofNullable(keySet.signingKey());
+    }
+
+    /**
+     * Returns the public key of the given key id.
+     *
+     * @param kid id of the key.
+     * @return {@link Optional} of {@link ECPublicKey}, empty if the key is unknown
+     *         or has expired.
+     */
+    public Optional<ECPublicKey> getVerificationKey(String kid) {
+        return Optional.ofNullable(keySet.verificationKeys().get(kid)).map(SigningKey::getPublicKey);
+    }
+
+    /**
+     * Returns all keys access tokens are accepted from.
+     *
+     * @return collection of {@link SigningKey}.
+     */
+    public Collection<SigningKey> getVerificationKeys() {
+        return keySet.verificationKeys().values();
+    }
+
+    private record KeySet(SigningKey signingKey, Map<String, SigningKey> verificationKeys) {
+    }
+}
@@ -0,0 +1,197 @@
+package greencity.security.ratelimit;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throttles sign-in attempts before any database or password hashing work is
+ * done. Every email and every client address has its own token bucket: each
+ * attempt takes a token, tokens are refilled at a fixed rate up to the bucket
+ * capacity. Buckets live in concurrent maps, so attempts for different keys do
+ * not contend, and buckets that have refilled completely are dropped, as they
+ * are equal to new ones. The amount of buckets of a limit is capped: once it is
+ * exceeded, the buckets created first are dropped, so attempts for many
+ * distinct keys can neither grow the maps nor slow down sign-in.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+    private static final String METRIC_PREFIX = "greencity.security.login.rate.limit";
+
+    private final Limit emailLimit;
+    private final Limit addressLimit;
+    private final int maxEntries;
+    private final Clock clock;
+
+    /**
+     * Constructor.
+     *
+     * @param emailCapacity       attempts allowed for an email in a burst.
+     * @param emailRefillPeriod   milliseconds in which one attempt for an email is
+     *                            regained.
+     * @param addressCapacity     attempts allowed from a client address in a burst.
+     * @param addressRefillPeriod milliseconds in which one attempt from a client
+     *                            address is regained.
+     * @param maxEntries          amount of tracked keys per limit after which the
+     *                            oldest buckets are dropped.
+     * @param meterRegistry       {@link MeterRegistry} to publish metrics to.
+     */
+    @Autowired
+    public LoginRateLimiter(@Value("${greencity.security.login.rate.limit.email.capacity}") int emailCapacity,
+        @Value("${greencity.security.login.rate.limit.email.refill.period}") long emailRefillPeriod,
+        @Value("${greencity.security.login.rate.limit.address.capacity}") int addressCapacity,
+        @Value("${greencity.security.login.rate.limit.address.refill.period}") long addressRefillPeriod,
+        @Value("${greencity.security.login.rate.limit.max.entries}") int maxEntries,
+        MeterRegistry meterRegistry) {
+        this(emailCapacity, emailRefillPeriod, addressCapacity, addressRefillPeriod, maxEntries, meterRegistry,
+            Clock.systemUTC());
+    }
+
+    LoginRateLimiter(int emailCapacity, long emailRefillPeriod, int addressCapacity, long addressRefillPeriod,
+        int maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.emailLimit = new Limit("email", emailCapacity, emailRefillPeriod, meterRegistry);
+        this.addressLimit = new Limit("address", addressCapacity, addressRefillPeriod, meterRegistry);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Records a sign-in attempt.
+     *
+     * @param email   email the attempt is made for.
+     * @param address address of the client.
+     * @throws TooManyLoginAttemptsException if the attempts limit of the email or
+     *                                       of the address is exhausted.
+     */
+    public void acquire(String email, String address) {
+        long now = clock.millis();
+        if (address != null) {
+            addressLimit.acquire(address, now);
+        }
+        if (email != null) {
+            emailLimit.acquire(email.toLowerCase(Locale.ROOT), now);
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${greencity.security.login.rate.limit.sweep.interval}")
+    public void sweep() {
+        long now = clock.millis();
+        emailLimit.sweep(now);
+        addressLimit.sweep(now);
+    }
+
+    private final class Limit {
+        private final int capacity;
+        private final long refillPeriod;
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final Queue<Tracked> creationOrder = new ConcurrentLinkedQueue<>();
+        private final Counter rejections;
+        private final Counter evictions;
+
+        private Limit(String key, int capacity, long refillPeriod, MeterRegistry meterRegistry) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+            this.rejections = Counter.builder(METRIC_PREFIX + ".rejections").tag("key", key)
+                .register(meterRegistry);
+            this.evictions = Counter.builder(METRIC_PREFIX + ".evictions").tag("key", key)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".size", buckets, Map::size).tag("key", key).register(meterRegistry);
+        }
+
+        private void acquire(String key, long now) {
+            long waitMillis = getBucket(key, now).tryConsume(now, capacity, refillPeriod);
+            if (waitMillis > 0) {
+                rejections.increment();
+                log.debug("Too many sign-in attempts for {}", key);
+                throw new TooManyLoginAttemptsException(ErrorMessage.TOO_MANY_LOGIN_ATTEMPTS,
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999)));
+            }
+        }
+
+        private Bucket getBucket(String key, long now) {
+            Bucket bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            Bucket created = new Bucket(capacity, now);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket != null) {
+                return bucket;
+            }
+            creationOrder.add(new Tracked(key, created));
+            while (buckets.size() > maxEntries) {
+                Tracked oldest = creationOrder.poll();
+                if (oldest == null) {
+                    break;
+                }
+                if (buckets.remove(oldest.key(), oldest.bucket())) {
+                    evictions.increment();
+                }
+            }
+            return created;
+        }
+
+        private void sweep(long now) {
+            buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now, capacity, refillPeriod));
+            creationOrder.removeIf(tracked -> buckets.get(tracked.key()) != tracked.bucket());
+        }
+    }
+
+    private record Tracked(String key, Bucket bucket) {
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        /**
+         * Takes a token if there is one.
+         *
+         * @return {@code 0} if the token was taken, otherwise milliseconds until the
+         *         next token is available.
+         */
+        private synchronized long tryConsume(long now, int capacity, long refillPeriod) {
+            refill(now, capacity, refillPeriod);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * refillPeriod);
+        }
+
+        private synchronized boolean isFull(long now, int capacity, long refillPeriod) {
+            refill(now, capacity, refillPeriod);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now, int capacity, long refillPeriod) {
+            if (now > updatedAt) {
+                tokens = Math.min(capacity, tokens + (double) (now - updatedAt) / refillPeriod);
+                updatedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package greencity.security.service;
+
+import greencity.exception.exceptions.PasswordHashingOverloadedException;
+
+/**
+ * Hashes and checks passwords on a dedicated, bounded pool of workers, so that
+ * spikes of sign-ins cannot occupy the request threads with BCrypt work. The
+ * calling thread waits for the result.
+ */
+public interface PasswordHashingService {
+    /**
+     * Encodes the raw password.
+     *
+     * @param rawPassword - password to encode
+     * @return encoded password
+     * @throws PasswordHashingOverloadedException if too many hashing tasks are
+     *                                            already waiting
+     */
+    String encode(CharSequence rawPassword);
+
+    /**
+     * Checks if the raw password matches the encoded one.
+     *
+     * @param rawPassword     - password to check
+     * @param encodedPassword - stored encoded password
+     * @return {@code true} if the passwords match
+     * @throws PasswordHashingOverloadedException if too many hashing tasks are
+     *                                            already waiting
+     */
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+}
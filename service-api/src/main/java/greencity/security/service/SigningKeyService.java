@@ -0,0 +1,24 @@
+package greencity.security.service;
+
+import greencity.security.dto.JwkSetDto;
+
+/**
+ * Manages the asymmetric keys access tokens are signed with. Keys are shared by
+ * all instances through the database and rotated periodically: a new key is
+ * published before it is used for signing, and the previous one stays valid for
+ * verification until the tokens it signed have expired.
+ */
+public interface SigningKeyService {
+    /**
+     * Reloads the keys from the database, creating a new key if the current one is
+     * due for rotation, and deletes expired keys.
+     */
+    void refreshKeys();
+
+    /**
+     * Returns public keys access tokens can be verified with.
+     *
+     * @return {@link JwkSetDto}
+     */
+    JwkSetDto getPublicKeys();
+}
@@ -0,0 +1,38 @@
+package greencity.security.service;
+
+import greencity.enums.UserStatus;
+import java.util.Collection;
+
+/**
+ * Keeps in memory the ids of users whose access has been revoked, i.e. users
+ * that are 'BLOCKED' or 'DEACTIVATED', so that their tokens can be rejected
+ * without querying the database. The set is loaded on startup and kept in sync
+ * with changes made by other instances through a periodic delta sync.
+ */
+public interface UserRevocationService {
+    /**
+     * Checks if access of the user has been revoked.
+     *
+     * @param userId - id of the user
+     * @return {@code true} if the user is 'BLOCKED' or 'DEACTIVATED'
+     */
+    boolean isRevoked(Long userId);
+
+    /**
+     * Applies status change of the given users.
+     *
+     * @param userIds    - ids of the users
+     * @param userStatus - new {@link UserStatus} of the users
+     */
+    void statusChanged(Collection<Long> userIds, UserStatus userStatus);
+
+    /**
+     * Loads all revoked users from the database, replacing the current state.
+     */
+    void loadRevokedUsers();
+
+    /**
+     * Applies status changes made since the previous synchronization.
+     */
+    void synchronizeRevokedUsers();
+}
@@ -0,0 +1,15 @@
+package greencity.service;
+
+import greencity.enums.UserExportFormat;
+import java.io.OutputStream;
+
+public interface UserExportService {
+    /**
+     * Writes all users to the stream as they are read from the database, so memory
+     * use doesn't depend on the amount of users.
+     *
+     * @param format       {@link UserExportFormat} of the export.
+     * @param outputStream stream to write to, it is not closed.
+     */
+    void export(UserExportFormat format, OutputStream outputStream);
+}
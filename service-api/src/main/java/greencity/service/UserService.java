@@ -1,5 +1,6 @@
 package greencity.service;
 
+import greencity.dto.CursorPageableDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.filter.FilterUserDto;
@@ -7,6 +8,7 @@ import greencity.dto.shoppinglist.CustomShoppingListItemResponseDto;
 import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
 import greencity.enums.EmailNotification;
+import greencity.enums.PagingMode;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
 import java.time.LocalDateTime;
@@ -30,6 +32,18 @@ public interface UserService {
      */
     List<UserVO> findAllByEmailNotification(EmailNotification emailNotification);
 
+    /**
+     * Find a chunk of subscribers with {@link EmailNotification} type, ordered by
+     * id. Users with disabled notifications are not subscribers.
+     *
+     * @param emailNotification - type of {@link EmailNotification}
+     * @param cursor            - id of the last subscriber of the previous chunk,
+     *                          {@code null} for the first chunk
+     * @param size              - maximum amount of subscribers in the chunk
+     * @return {@link SubscriberPageDto}
+     */
+    SubscriberPageDto findSubscribers(EmailNotification emailNotification, Long cursor, int size);
+
     /**
      * Delete from the database users that have status 'DEACTIVATED' and last
      * visited the site 2 years ago.
@@ -39,12 +53,33 @@ public interface UserService {
     int scheduleDeleteDeactivatedUsers();
 
     /**
-     * Find and return all cities for all users.
+     * Find and return the distinct cities of all users, ordered by normalized city.
      *
      * @return {@link List} of {@link String} of cities
      **/
     List<String> findAllUsersCities();
 
+    /**
+     * Find a page of the distinct cities of all users whose normalized name starts
+     * with the prefix, with the amount of users in each.
+     *
+     * @param prefix   start of the city, all cities if blank.
+     * @param pageable page number and size.
+     * @return {@link PageableDto} of {@link CityDto}
+     */
+    PageableDto<CityDto> findCities(String prefix, Pageable pageable);
+
+    /**
+     * Find users whose name, or email if requested, starts with the query, ignoring
+     * case.
+     *
+     * @param query      start of the name or email.
+     * @param limit      maximum amount of users.
+     * @param withEmails whether emails are matched and returned.
+     * @return {@link List} of {@link UserSuggestionDto}
+     */
+    List<UserSuggestionDto> suggest(String query, int limit, boolean withEmails);
+
     /**
      * Method that allow you to save new {@link UserVO}.
      *
@@ -85,6 +120,16 @@ public interface UserService {
      */
     Optional<UserVO> findNotDeactivatedByEmail(String email);
 
+    /**
+     * Method that allow you to find id, email, role and status of not 'DEACTIVATED'
+     * user by email. Used on every authenticated request, so the user entity is not
+     * loaded.
+     *
+     * @param email - user's email
+     * @return {@link Optional} of found {@link UserPrincipalVO}.
+     */
+    Optional<UserPrincipalVO> findNotDeactivatedPrincipalByEmail(String email);
+
     /**
      * Find UserVO's id by UserVO email.
      *
@@ -140,6 +185,36 @@ public interface UserService {
      */
     PageableAdvancedDto<UserManagementDto> findUserForManagementByPage(Pageable pageable);
 
+    /**
+     * Find {@link UserVO} for management by page, counting them as requested.
+     *
+     * @param pageable a value with pageable configuration.
+     * @param mode     {@link PagingMode} of the page.
+     * @return a dto of {@link PageableAdvancedDto}.
+     */
+    PageableAdvancedDto<UserManagementDto> findUserForManagementByPage(Pageable pageable, PagingMode mode);
+
+    /**
+     * Find {@link UserVO}-s page by page with a cursor, without counting them.
+     *
+     * @param pageable a value with size and, for the first page, order of the page.
+     * @param cursor   cursor returned with the previous page, {@code null} for the
+     *                 first page.
+     * @return a dto of {@link CursorPageableDto}.
+     */
+    CursorPageableDto<UserForListDto> findByCursor(Pageable pageable, String cursor);
+
+    /**
+     * Find {@link UserVO} for management page by page with a cursor, without
+     * counting them.
+     *
+     * @param pageable a value with size and, for the first page, order of the page.
+     * @param cursor   cursor returned with the previous page, {@code null} for the
+     *                 first page.
+     * @return a dto of {@link CursorPageableDto}.
+     */
+    CursorPageableDto<UserManagementDto> findUserForManagementByCursor(Pageable pageable, String cursor);
+
     /**
      * Method that allows you to update {@link UserVO} by dto.
      *
@@ -228,6 +303,15 @@ public interface UserService {
      */
     long getActivatedUsersAmount();
 
+    /**
+     * Returns amounts of users by status, role, language and month of registration.
+     * The amounts are kept up to date as users change, so they are not counted on
+     * every call.
+     *
+     * @return {@link UserStatisticsDto}
+     */
+    UserStatisticsDto getUserStatistics();
+
     /**
      * Get profile picture path {@link String}.
      *
@@ -235,6 +319,14 @@ public interface UserService {
      */
     String getProfilePicturePathByUserId(Long id);
 
+    /**
+     * Finds the code of the language of the user.
+     *
+     * @param id - id of the user.
+     * @return code of the language.
+     */
+    String findLanguageCodeById(Long id);
+
     /**
      * Update user profile picture {@link UserVO}.
      *
@@ -278,6 +370,17 @@ public interface UserService {
      */
     boolean checkIfTheUserIsOnline(Long userId);
 
+    /**
+     * Finds whether the users are online, with their last activity times.
+     *
+     * @param userIds ids of the users, at most the configured maximum.
+     * @return list of {@link UserWithOnlineStatusDto} in the order of the ids,
+     *         without ids of missing users.
+     * @throws greencity.exception.exceptions.BadRequestException if there are too
+     *                                                            many ids.
+     */
+    List<UserWithOnlineStatusDto> findOnlineStatuses(List<Long> userIds);
+
     /**
      * Method return user profile information {@link UserVO}.
      *
@@ -329,6 +432,30 @@ public interface UserService {
      */
     PageableAdvancedDto<UserManagementDto> searchBy(Pageable paging, String query);
 
+    /**
+     * Method for getting UserVO by search query, counting them as requested. The
+     * count is estimated only when the query is empty.
+     *
+     * @param paging {@link Pageable}.
+     * @param query  query to search.
+     * @param mode   {@link PagingMode} of the page.
+     * @return {@link PageableAdvancedDto} of {@link UserManagementDto} instances.
+     */
+    PageableAdvancedDto<UserManagementDto> searchBy(Pageable paging, String query, PagingMode mode);
+
+    /**
+     * Method for getting UserVO by search query page by page with a cursor, without
+     * counting them.
+     *
+     * @param paging {@link Pageable} with size and, for the first page, order of
+     *               the page.
+     * @param query  query to search.
+     * @param cursor cursor returned with the previous page, {@code null} for the
+     *               first page.
+     * @return {@link CursorPageableDto} of {@link UserManagementDto} instances.
+     */
+    CursorPageableDto<UserManagementDto> searchByCursor(Pageable paging, String query, String cursor);
+
     /**
      * Method for getting all Users.
      *
@@ -341,6 +468,32 @@ public interface UserService {
      */
     PageableAdvancedDto<UserManagementVO> search(Pageable pageable, UserManagementViewDto userManagementViewDto);
 
+    /**
+     * Method that allows to search users by several values, counting them as
+     * requested. The count is estimated only when no value is set.
+     *
+     * @param pageable              {@link Pageable}.
+     * @param userManagementViewDto {@link UserManagementViewDto} - stores values.
+     * @param mode                  {@link PagingMode} of the page.
+     * @return {@link PageableAdvancedDto} of {@link UserManagementVO} instances.
+     */
+    PageableAdvancedDto<UserManagementVO> search(Pageable pageable, UserManagementViewDto userManagementViewDto,
+        PagingMode mode);
+
+    /**
+     * Method that allows to search users by several values page by page with a
+     * cursor, without counting them.
+     *
+     * @param pageable              {@link Pageable} with size and, for the first
+     *                              page, order of the page.
+     * @param userManagementViewDto {@link UserManagementViewDto} - stores values.
+     * @param cursor                cursor returned with the previous page,
+     *                              {@code null} for the first page.
+     * @return {@link CursorPageableDto} of {@link UserManagementVO} instances.
+     */
+    CursorPageableDto<UserManagementVO> search(Pageable pageable, UserManagementViewDto userManagementViewDto,
+        String cursor);
+
     /**
      * Creates and returns uuid of current user.
      *
@@ -0,0 +1,165 @@
+package greencity.security.cache;
+
+import greencity.dto.user.UserPrincipalVO;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VerifiedTokenCacheTest {
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    private MeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(2, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void digestTest() {
+        assertEquals(cache.digest("token"), cache.digest("token"));
+        assertNotEquals(cache.digest("token"), cache.digest("another token"));
+        assertTrue(cache.digest("token").matches("[A-Za-z0-9_-]{43}"));
+    }
+
+    @Test
+    void getCachedTokenTest() {
+        VerifiedToken token = verifiedToken(1L, NOW.plusSeconds(60));
+        cache.put("digest", token, 0);
+
+        assertEquals(Optional.of(token), cache.get("digest"));
+        assertEquals(Optional.empty(), cache.get("unknown"));
+        assertEquals(1.0, meterRegistry.get("greencity.security.token.cache.requests")
+            .tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("greencity.security.token.cache.requests")
+            .tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void getExpiredTokenTest() {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(120));
+        VerifiedTokenCache expiringCache = new VerifiedTokenCache(2, meterRegistry, clock);
+        expiringCache.put("digest", verifiedToken(1L, NOW.plusSeconds(60)), 0);
+
+        assertEquals(Optional.empty(), expiringCache.get("digest"));
+        assertEquals(0, expiringCache.size());
+    }
+
+    @Test
+    void putExpiredTokenTest() {
+        cache.put("digest", verifiedToken(1L, NOW.minusSeconds(1)), 0);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictUserTest() {
+        cache.put("first", verifiedToken(1L, NOW.plusSeconds(60)), 0);
+        cache.put("second", verifiedToken(2L, NOW.plusSeconds(60)), 0);
+
+        cache.evictUsers(List.of(1L));
+
+        assertEquals(Optional.empty(), cache.get("first"));
+        assertTrue(cache.get("second").isPresent());
+        assertEquals(1.0, meterRegistry.get("greencity.security.token.cache.evictions")
+            .tag("cause", "user").counter().count());
+    }
+
+    @Test
+    void putWhenCacheIsFullTest() {
+        cache.put("first", verifiedToken(1L, NOW.plusSeconds(60)), 0);
+        cache.put("second", verifiedToken(2L, NOW.plusSeconds(60)), 0);
+        cache.put("third", verifiedToken(3L, NOW.plusSeconds(60)), 0);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("third").isPresent());
+        assertEquals(1.0, meterRegistry.get("greencity.security.token.cache.evictions")
+            .tag("cause", "capacity").counter().count());
+        assertEquals(2.0, meterRegistry.get("greencity.security.token.cache.size").gauge().value());
+    }
+
+    @Test
+    void putWhenCacheIsFullDropsFirstCachedTest() {
+        cache.put("first", verifiedToken(1L, NOW.plusSeconds(60)), 0);
+        cache.put("second", verifiedToken(2L, NOW.plusSeconds(60)), 0);
+        cache.evictUser(1L);
+        cache.put("third", verifiedToken(3L, NOW.plusSeconds(60)), cache.currentEpoch());
+        cache.put("fourth", verifiedToken(4L, NOW.plusSeconds(60)), cache.currentEpoch());
+
+        assertEquals(Optional.empty(), cache.get("second"));
+        assertTrue(cache.get("third").isPresent());
+        assertTrue(cache.get("fourth").isPresent());
+        assertEquals(1.0, meterRegistry.get("greencity.security.token.cache.evictions")
+            .tag("cause", "capacity").counter().count());
+    }
+
+    @Test
+    void putCompactsQueueOfRemovedTokensTest() {
+        for (long userId = 1; userId <= 10; userId++) {
+            cache.put("digest" + userId, verifiedToken(userId, NOW.plusSeconds(60)), cache.currentEpoch());
+            cache.evictUser(userId);
+        }
+        cache.put("first", verifiedToken(11L, NOW.plusSeconds(60)), cache.currentEpoch());
+        cache.put("second", verifiedToken(12L, NOW.plusSeconds(60)), cache.currentEpoch());
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("first").isPresent());
+        assertTrue(cache.get("second").isPresent());
+        assertEquals(0.0, meterRegistry.get("greencity.security.token.cache.evictions")
+            .tag("cause", "capacity").counter().count());
+    }
+
+    @Test
+    void putAfterEvictionOfUserTest() {
+        long epoch = cache.currentEpoch();
+        cache.evictUser(1L);
+
+        cache.put("first", verifiedToken(1L, NOW.plusSeconds(60)), epoch);
+        cache.put("second", verifiedToken(2L, NOW.plusSeconds(60)), epoch);
+        cache.put("third", verifiedToken(1L, NOW.plusSeconds(60)), cache.currentEpoch());
+
+        assertEquals(Optional.empty(), cache.get("first"));
+        assertTrue(cache.get("second").isPresent());
+        assertTrue(cache.get("third").isPresent());
+    }
+
+    @Test
+    void putAfterForgottenEvictionsTest() {
+        long epoch = cache.currentEpoch();
+        cache.evictUsers(List.of(1L, 2L, 3L));
+
+        cache.put("first", verifiedToken(4L, NOW.plusSeconds(60)), epoch);
+        cache.put("second", verifiedToken(4L, NOW.plusSeconds(60)), cache.currentEpoch());
+
+        assertEquals(Optional.empty(), cache.get("first"));
+        assertTrue(cache.get("second").isPresent());
+    }
+
+    private VerifiedToken verifiedToken(Long userId, Instant expiresAt) {
+        UserPrincipalVO principal = UserPrincipalVO.builder()
+            .id(userId)
+            .email("user" + userId + "@mail.com")
+            .role(Role.ROLE_USER)
+            .userStatus(UserStatus.ACTIVATED)
+            .build();
+        return new VerifiedToken(principal, List.of(new SimpleGrantedAuthority("ROLE_USER")), expiresAt);
+    }
+}
@@ -0,0 +1,94 @@
+package greencity.security.context;
+
+import greencity.dto.user.UserPrincipalVO;
+import greencity.dto.user.UserVO;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RequestPrincipalContextTest {
+    private static final String EMAIL = "test@gmail.com";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestPrincipalContext requestPrincipalContext = new RequestPrincipalContext(meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserVO> loader = email -> {
+        loads.incrementAndGet();
+        return UserVO.builder().id(1L).email(email).build();
+    };
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getPrincipalTest() {
+        UserPrincipalVO principal = UserPrincipalVO.builder().id(1L).email(EMAIL).build();
+        requestPrincipalContext.setPrincipal(principal);
+
+        assertEquals(Optional.of(principal), requestPrincipalContext.getPrincipal(EMAIL));
+        assertEquals(Optional.empty(), requestPrincipalContext.getPrincipal("another@gmail.com"));
+    }
+
+    @Test
+    void getUserLoadsOncePerRequestTest() {
+        UserVO first = requestPrincipalContext.getUser(EMAIL, loader);
+        UserVO second = requestPrincipalContext.getUser(EMAIL, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("greencity.security.principal.context.requests")
+            .tag("result", "load").counter().count());
+        assertEquals(1.0, meterRegistry.get("greencity.security.principal.context.requests")
+            .tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void getUserBuiltFromPrincipalTest() {
+        requestPrincipalContext.setPrincipal(UserPrincipalVO.builder()
+            .id(1L)
+            .email(EMAIL)
+            .role(Role.ROLE_ADMIN)
+            .userStatus(UserStatus.ACTIVATED)
+            .build());
+
+        UserVO user = requestPrincipalContext.getUser(EMAIL, loader);
+
+        assertEquals(0, loads.get());
+        assertEquals(1L, user.getId());
+        assertEquals(EMAIL, user.getEmail());
+        assertEquals(Role.ROLE_ADMIN, user.getRole());
+        assertEquals(UserStatus.ACTIVATED, user.getUserStatus());
+        assertSame(user, requestPrincipalContext.getUser(EMAIL, loader));
+    }
+
+    @Test
+    void getUserOutsideOfRequestTest() {
+        RequestContextHolder.resetRequestAttributes();
+
+        requestPrincipalContext.getUser(EMAIL, loader);
+        requestPrincipalContext.getUser(EMAIL, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(Optional.empty(), requestPrincipalContext.getPrincipal(EMAIL));
+    }
+}
@@ -0,0 +1,89 @@
+package greencity.security.jwt;
+
+import greencity.enums.Role;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessTokenVerifierTest {
+    private static final String TOKEN_KEY = "123123123123123123123123123123123123";
+
+    private final SigningKeyStore signingKeyStore = new SigningKeyStore();
+    private final JwtTool jwtTool = new JwtTool(15, 15, TOKEN_KEY, signingKeyStore);
+    private final AccessTokenVerifier accessTokenVerifier = new AccessTokenVerifier(TOKEN_KEY, signingKeyStore);
+
+    @Test
+    void verifyTest() {
+        String accessToken = jwtTool.createAccessToken("test@gmail.com", Role.ROLE_USER);
+
+        AccessTokenClaims claims = accessTokenVerifier.verify(accessToken);
+
+        assertEquals("test@gmail.com", claims.getSubject());
+        assertEquals(List.of("ROLE_USER"), claims.getRoles());
+        Duration validFor = Duration.between(Instant.now(), claims.getExpiration());
+        assertTrue(validFor.compareTo(Duration.ofMinutes(15)) <= 0);
+        assertTrue(validFor.compareTo(Duration.ofMinutes(14)) > 0);
+    }
+
+    @Test
+    void verifyTokenSignedWithAnotherKeyTest() {
+        String accessToken = new JwtTool(15, 15, "another-key-another-key-another-key-123", new SigningKeyStore())
+            .createAccessToken("test@gmail.com", Role.ROLE_USER);
+
+        assertThrows(JwtException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    @Test
+    void verifyMalformedTokenTest() {
+        assertThrows(JwtException.class, () -> accessTokenVerifier.verify("malformed.access.token"));
+    }
+
+    @Test
+    void verifyTokenSignedWithRotatedKeyTest() throws Exception {
+        SigningKey previous = generateKey("previous");
+        SigningKey current = generateKey("current");
+        signingKeyStore.update(previous, List.of(previous));
+        String previousToken = jwtTool.createAccessToken("test@gmail.com", Role.ROLE_USER);
+        String hmacToken = new JwtTool(15, 15, TOKEN_KEY, new SigningKeyStore())
+            .createAccessToken("test@gmail.com", Role.ROLE_USER);
+
+        signingKeyStore.update(current, List.of(current, previous));
+        String currentToken = jwtTool.createAccessToken("test@gmail.com", Role.ROLE_USER);
+
+        assertEquals("current", Jwts.parser().verifyWith(current.getPublicKey()).build()
+            .parseSignedClaims(currentToken).getHeader().getKeyId());
+        assertEquals("test@gmail.com", accessTokenVerifier.verify(currentToken).getSubject());
+        assertEquals("test@gmail.com", accessTokenVerifier.verify(previousToken).getSubject());
+        assertEquals("test@gmail.com", accessTokenVerifier.verify(hmacToken).getSubject());
+    }
+
+    @Test
+    void verifyTokenSignedWithExpiredKeyTest() throws Exception {
+        SigningKey previous = generateKey("previous");
+        SigningKey current = generateKey("current");
+        signingKeyStore.update(previous, List.of(previous));
+        String accessToken = jwtTool.createAccessToken("test@gmail.com", Role.ROLE_USER);
+
+        signingKeyStore.update(current, List.of(current));
+
+        assertThrows(JwtException.class, () -> accessTokenVerifier.verify(accessToken));
+    }
+
+    private static SigningKey generateKey(String kid) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        return new SigningKey(kid, keyPair.getPrivate(), (ECPublicKey) keyPair.getPublic());
+    }
+}
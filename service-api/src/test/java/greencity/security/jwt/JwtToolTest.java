@@ -33,6 +33,9 @@ class JwtToolTest {
     @Mock
     HttpServletRequest request;
 
+    @Mock
+    SigningKeyStore signingKeyStore;
+
     @InjectMocks
     private JwtTool jwtTool;
 
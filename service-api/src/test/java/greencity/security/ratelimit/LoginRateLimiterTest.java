@@ -0,0 +1,134 @@
+package greencity.security.ratelimit;
+
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginRateLimiterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MutableClock clock;
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        loginRateLimiter = new LoginRateLimiter(2, 60000, 3, 10000, 100, meterRegistry, clock);
+    }
+
+    @Test
+    void acquireRejectsEmailAfterCapacityTest() {
+        loginRateLimiter.acquire("test@gmail.com", "10.0.0.1");
+        loginRateLimiter.acquire("TEST@gmail.com", "10.0.0.2");
+
+        TooManyLoginAttemptsException exception = assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginRateLimiter.acquire("test@gmail.com", "10.0.0.3"));
+        assertEquals(60, exception.getRetryAfterSeconds());
+        assertEquals(1, rejections("email"));
+        assertDoesNotThrow(() -> loginRateLimiter.acquire("other@gmail.com", "10.0.0.3"));
+    }
+
+    @Test
+    void acquireRejectsAddressAfterCapacityTest() {
+        loginRateLimiter.acquire("first@gmail.com", "10.0.0.1");
+        loginRateLimiter.acquire("second@gmail.com", "10.0.0.1");
+        loginRateLimiter.acquire("third@gmail.com", "10.0.0.1");
+
+        TooManyLoginAttemptsException exception = assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginRateLimiter.acquire("fourth@gmail.com", "10.0.0.1"));
+        assertEquals(10, exception.getRetryAfterSeconds());
+        assertEquals(1, rejections("address"));
+    }
+
+    @Test
+    void acquireAllowsAgainAfterRefillTest() {
+        loginRateLimiter.acquire("test@gmail.com", "10.0.0.1");
+        loginRateLimiter.acquire("test@gmail.com", "10.0.0.1");
+        assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginRateLimiter.acquire("test@gmail.com", "10.0.0.1"));
+
+        clock.advance(Duration.ofSeconds(30));
+        TooManyLoginAttemptsException exception = assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginRateLimiter.acquire("test@gmail.com", "10.0.0.1"));
+        assertEquals(30, exception.getRetryAfterSeconds());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertDoesNotThrow(() -> loginRateLimiter.acquire("test@gmail.com", "10.0.0.1"));
+    }
+
+    @Test
+    void sweepDropsRefilledBucketsTest() {
+        loginRateLimiter.acquire("test@gmail.com", "10.0.0.1");
+        assertEquals(1, size("email"));
+
+        loginRateLimiter.sweep();
+        assertEquals(1, size("email"));
+
+        clock.advance(Duration.ofMinutes(1));
+        loginRateLimiter.sweep();
+        assertEquals(0, size("email"));
+        assertEquals(0, size("address"));
+    }
+
+    @Test
+    void acquireDropsOldestBucketsOverMaxEntriesTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        loginRateLimiter = new LoginRateLimiter(1, 60000, 100, 10000, 2, registry, clock);
+        loginRateLimiter.acquire("first@gmail.com", "10.0.0.1");
+        loginRateLimiter.acquire("second@gmail.com", "10.0.0.1");
+        loginRateLimiter.acquire("third@gmail.com", "10.0.0.1");
+
+        assertEquals(2, registry.get("greencity.security.login.rate.limit.size").tag("key", "email").gauge()
+            .value());
+        assertEquals(1, registry.get("greencity.security.login.rate.limit.evictions").tag("key", "email")
+            .counter().count());
+        assertDoesNotThrow(() -> loginRateLimiter.acquire("first@gmail.com", "10.0.0.1"));
+        assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginRateLimiter.acquire("third@gmail.com", "10.0.0.1"));
+    }
+
+    private double rejections(String key) {
+        return meterRegistry.get("greencity.security.login.rate.limit.rejections").tag("key", key).counter()
+            .count();
+    }
+
+    private double size(String key) {
+        return meterRegistry.get("greencity.security.login.rate.limit.size").tag("key", key).gauge().value();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
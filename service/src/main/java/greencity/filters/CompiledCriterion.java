@@ -0,0 +1,81 @@
+package greencity.filters;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A {@link SearchCriteria} whose value is parsed to the type of its field,
+ * together with the way the field is compared, so the predicate can be built
+ * any number of times without parsing the value again.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class CompiledCriterion {
+    private static final char ESCAPE = '\\';
+
+    private final String key;
+    private final Strategy strategy;
+    private final Object value;
+
+    CompiledCriterion(String key, Strategy strategy, Object value) {
+        this.key = key;
+        this.strategy = strategy;
+        this.value = value;
+    }
+
+    /**
+     * Builds the predicate of this criterion.
+     *
+     * @param root            root of the query.
+     * @param criteriaBuilder {@link CriteriaBuilder}
+     * @return {@link Predicate}
+     */
+    public Predicate toPredicate(Root<?> root, CriteriaBuilder criteriaBuilder) {
+        return switch (strategy) {
+            case ANY -> criteriaBuilder.conjunction();
+            case NONE -> criteriaBuilder.disjunction();
+            case EQUALITY -> criteriaBuilder.equal(root.get(key), value);
+            case CONTAINS -> criteriaBuilder.like(lower(root, criteriaBuilder), "%" + escape() + "%", ESCAPE);
+        };
+    }
+
+    private Expression<String> lower(Root<?> root, CriteriaBuilder criteriaBuilder) {
+        return criteriaBuilder.lower(root.get(key));
+    }
+
+    private String escape() {
+        return value.toString()
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+
+    /**
+     * Ways a field is compared with the value.
+     */
+    public enum Strategy {
+        /**
+         * Matches every row, the value is empty.
+         */
+        ANY,
+        /**
+         * Matches no row, the value can't be a value of the field.
+         */
+        NONE,
+        /**
+         * Equal to the value, answered by a b-tree index on the field.
+         */
+        EQUALITY,
+        /**
+         * Lower-cased field contains the value, answered by a {@code pg_trgm} index on
+         * the lower-cased field once the value holds a trigram, by a scan otherwise.
+         */
+        CONTAINS
+    }
+}
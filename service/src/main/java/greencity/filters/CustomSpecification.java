@@ -4,6 +4,7 @@ import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import java.util.Locale;
 
 public interface CustomSpecification<T> extends Specification<T> {
     /**
@@ -11,13 +12,7 @@ public interface CustomSpecification<T> extends Specification<T> {
      */
     default Predicate getIdPredicate(Root<T> root, CriteriaBuilder criteriaBuilder,
         SearchCriteria searchCriteria) {
-        try {
-            return criteriaBuilder
-                .equal(root.get(searchCriteria.getKey()), searchCriteria.getValue());
-        } catch (NumberFormatException ex) {
-            return searchCriteria.getValue().toString().trim().equals("") ? criteriaBuilder.conjunction()
-                : criteriaBuilder.disjunction();
-        }
+        return compileId(searchCriteria).toPredicate(root, criteriaBuilder);
     }
 
     /**
@@ -25,18 +20,75 @@ public interface CustomSpecification<T> extends Specification<T> {
      */
     default Predicate getStringPredicate(Root<T> root, CriteriaBuilder criteriaBuilder,
         SearchCriteria searchCriteria) {
-        return searchCriteria.getValue().toString().trim().equals("") ? criteriaBuilder.conjunction()
-            : criteriaBuilder.like(root.get(searchCriteria.getKey()),
-                "%" + searchCriteria.getValue() + "%");
+        return compileText(searchCriteria).toPredicate(root, criteriaBuilder);
     }
 
     /**
      * Used for build predicate for role and status filter.
      */
-    default Predicate getEnumPredicate(Root<T> root, CriteriaBuilder criteriaBuilder,
-        SearchCriteria searchCriteria) {
-        return searchCriteria.getValue().toString().trim().equals("") ? criteriaBuilder.conjunction()
-            : criteriaBuilder.equal(root.get(searchCriteria.getKey()).as(Integer.class),
-                searchCriteria.getValue());
+    default <E extends Enum<E>> Predicate getEnumPredicate(Root<T> root, CriteriaBuilder criteriaBuilder,
+        SearchCriteria searchCriteria, Class<E> enumType) {
+        return compileEnum(searchCriteria, enumType).toPredicate(root, criteriaBuilder);
+    }
+
+    /**
+     * Compiles criteria of a numeric id to an equality.
+     *
+     * @param searchCriteria {@link SearchCriteria}
+     * @return {@link CompiledCriterion}
+     */
+    static CompiledCriterion compileId(SearchCriteria searchCriteria) {
+        String value = valueOf(searchCriteria);
+        if (value.isEmpty()) {
+            return new CompiledCriterion(searchCriteria.getKey(), CompiledCriterion.Strategy.ANY, value);
+        }
+        try {
+            return new CompiledCriterion(searchCriteria.getKey(), CompiledCriterion.Strategy.EQUALITY,
+                Long.valueOf(value));
+        } catch (NumberFormatException ex) {
+            return new CompiledCriterion(searchCriteria.getKey(), CompiledCriterion.Strategy.NONE, value);
+        }
+    }
+
+    /**
+     * Compiles criteria of a text field to a case-insensitive match anywhere in the
+     * field, whatever the length of the value.
+     *
+     * @param searchCriteria {@link SearchCriteria}
+     * @return {@link CompiledCriterion}
+     */
+    static CompiledCriterion compileText(SearchCriteria searchCriteria) {
+        String value = valueOf(searchCriteria).toLowerCase(Locale.ROOT);
+        CompiledCriterion.Strategy strategy = value.isEmpty()
+            ? CompiledCriterion.Strategy.ANY
+            : CompiledCriterion.Strategy.CONTAINS;
+        return new CompiledCriterion(searchCriteria.getKey(), strategy, value);
+    }
+
+    /**
+     * Compiles criteria of an enum field to an equality with the constant given by
+     * its name, ignoring case, or by its ordinal.
+     *
+     * @param searchCriteria {@link SearchCriteria}
+     * @param enumType       type of the field.
+     * @return {@link CompiledCriterion}
+     */
+    static <E extends Enum<E>> CompiledCriterion compileEnum(SearchCriteria searchCriteria, Class<E> enumType) {
+        String value = valueOf(searchCriteria);
+        if (value.isEmpty()) {
+            return new CompiledCriterion(searchCriteria.getKey(), CompiledCriterion.Strategy.ANY, value);
+        }
+        E[] constants = enumType.getEnumConstants();
+        for (E constant : constants) {
+            if (constant.name().equalsIgnoreCase(value) || String.valueOf(constant.ordinal()).equals(value)) {
+                return new CompiledCriterion(searchCriteria.getKey(), CompiledCriterion.Strategy.EQUALITY,
+                    constant);
+            }
+        }
+        return new CompiledCriterion(searchCriteria.getKey(), CompiledCriterion.Strategy.NONE, value);
+    }
+
+    private static String valueOf(SearchCriteria searchCriteria) {
+        return searchCriteria.getValue() == null ? "" : searchCriteria.getValue().toString().trim();
     }
 }
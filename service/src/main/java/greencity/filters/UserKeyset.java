@@ -0,0 +1,169 @@
+package greencity.filters;
+
+import greencity.constant.ErrorMessage;
+import greencity.entity.User;
+import greencity.exception.exceptions.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Position in a keyset paginated listing of {@link User}'s. Users are ordered
+ * by a sort key and then by id, and the next page starts after the sort key and
+ * id of the last user of the previous page, so a page is found with an index
+ * seek no matter how deep it is. The position is passed to clients as an opaque
+ * cursor, which also carries the order, so it can't change between pages.
+ */
+public final class UserKeyset {
+    private static final String SEPARATOR = "\n";
+    private static final int CURSOR_PARTS = 5;
+
+    private final int page;
+    private final Key key;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    private final Comparable<?> lastValue;
+
+    private UserKeyset(int page, Key key, Sort.Direction direction, Long lastId, Comparable<?> lastValue) {
+        this.page = page;
+        this.key = key;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Returns the position given by the cursor, or the first page ordered as
+     * requested by the pageable if there is no cursor.
+     *
+     * @param cursor   cursor of the page, {@code null} or empty for the first page.
+     * @param pageable {@link Pageable} whose first order is used for the first
+     *                 page.
+     * @return {@link UserKeyset}
+     * @throws BadRequestException if the cursor is malformed or the order is not
+     *                             supported.
+     */
+    public static UserKeyset of(String cursor, Pageable pageable) {
+        if (cursor == null || cursor.isEmpty()) {
+            Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(Key.ID.property));
+            return new UserKeyset(0, Key.of(order.getProperty()), order.getDirection(), null, null);
+        }
+        return decode(cursor);
+    }
+
+    /**
+     * Returns index of the page, starting from zero.
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Returns order of the listing, by the sort key and then by id.
+     */
+    public Sort getSort() {
+        Sort sort = Sort.by(direction, key.property);
+        return key == Key.ID ? sort : sort.and(Sort.by(direction, Key.ID.property));
+    }
+
+    /**
+     * Returns specification matching the users after this position.
+     */
+    public Specification<User> toSpecification() {
+        return (root, query, criteriaBuilder) -> lastId == null
+            ? criteriaBuilder.conjunction()
+            : after(root, criteriaBuilder);
+    }
+
+    /**
+     * Returns cursor of the page following the given user.
+     *
+     * @param last last {@link User} of this page.
+     * @return cursor of the next page.
+     */
+    public String next(User last) {
+        String value = String.valueOf(key.getter.apply(last));
+        String cursor = String.join(SEPARATOR, String.valueOf(page + 1), key.property, direction.name(),
+            String.valueOf(last.getId()), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Matches the users after the last one: {@code key >= value AND (key > value
+     * OR id > lastId)} when ascending. The bound on the sort key alone lets the
+     * {@code (key, id)} index seek to the position, the rest skips the users of the
+     * previous page that share its last sort key.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(Root<User> root, CriteriaBuilder criteriaBuilder) {
+        Expression<Comparable> sortKey = root.get(key.property);
+        Expression<Long> id = root.get(Key.ID.property);
+        Comparable value = lastValue;
+        if (key == Key.ID) {
+            return direction.isAscending()
+                ? criteriaBuilder.greaterThan(id, lastId)
+                : criteriaBuilder.lessThan(id, lastId);
+        }
+        return direction.isAscending()
+            ? criteriaBuilder.and(criteriaBuilder.greaterThanOrEqualTo(sortKey, value),
+                criteriaBuilder.or(criteriaBuilder.greaterThan(sortKey, value),
+                    criteriaBuilder.greaterThan(id, lastId)))
+            : criteriaBuilder.and(criteriaBuilder.lessThanOrEqualTo(sortKey, value),
+                criteriaBuilder.or(criteriaBuilder.lessThan(sortKey, value),
+                    criteriaBuilder.lessThan(id, lastId)));
+    }
+
+    private static UserKeyset decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                .split(SEPARATOR, CURSOR_PARTS);
+            if (parts.length != CURSOR_PARTS) {
+                throw new BadRequestException(ErrorMessage.INVALID_PAGE_CURSOR);
+            }
+            Key key = Key.of(parts[1]);
+            return new UserKeyset(Integer.parseInt(parts[0]), key, Sort.Direction.valueOf(parts[2]),
+                Long.valueOf(parts[3]), key.parser.apply(parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(ErrorMessage.INVALID_PAGE_CURSOR);
+        }
+    }
+
+    /**
+     * Properties the listing can be ordered by. Only non-null columns are allowed,
+     * as nulls would be skipped by the comparison with the last user. Each of them
+     * has an index on {@code (key, id)}.
+     */
+    private enum Key {
+        ID("id", User::getId, Long::valueOf),
+        NAME("name", User::getName, value -> value),
+        EMAIL("email", User::getEmail, value -> value),
+        DATE_OF_REGISTRATION("dateOfRegistration", User::getDateOfRegistration, LocalDateTime::parse);
+
+        private final String property;
+        private final Function<User, Comparable<?>> getter;
+        private final Function<String, Comparable<?>> parser;
+
+        Key(String property, Function<User, Comparable<?>> getter, Function<String, Comparable<?>> parser) {
+            this.property = property;
+            this.getter = getter;
+            this.parser = parser;
+        }
+
+        private static Key of(String property) {
+            return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(ErrorMessage.UNSUPPORTED_CURSOR_SORT + property));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package greencity.filters;
+
+import greencity.entity.User;
+import lombok.AllArgsConstructor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.Locale;
+
+/**
+ * Matches users whose id, name, email or credo contains the query, the same way
+ * as {@code UserRepo.searchBy}.
+ */
+@AllArgsConstructor
+public class UserQuerySpecification implements CustomSpecification<User> {
+    private final String query;
+
+    @Override
+    public Predicate toPredicate(Root<User> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
+        if (query == null || query.isEmpty()) {
+            return criteriaBuilder.conjunction();
+        }
+        String pattern = "%" + query.toLowerCase(Locale.ROOT) + "%";
+        return criteriaBuilder.or(
+            criteriaBuilder.like(root.get("id").as(String.class), pattern),
+            criteriaBuilder.like(lower(root, criteriaBuilder, "name"), pattern),
+            criteriaBuilder.like(lower(root, criteriaBuilder, "email"), pattern),
+            criteriaBuilder.like(lower(root, criteriaBuilder, "userCredo"), pattern));
+    }
+
+    private static Expression<String> lower(Root<User> root, CriteriaBuilder criteriaBuilder, String property) {
+        return criteriaBuilder.lower(root.get(property));
+    }
+}
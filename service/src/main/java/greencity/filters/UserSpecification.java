@@ -1,45 +1,56 @@
 package greencity.filters;
 
 import greencity.entity.User;
-import lombok.AllArgsConstructor;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
-@AllArgsConstructor
+/**
+ * Matches users by the criteria of the user management search. The criteria are
+ * compiled once, when the specification is created, so the page and the count
+ * query built from it reuse the parsed values.
+ */
 public class UserSpecification implements CustomSpecification<User> {
-    private transient List<SearchCriteria> searchCriteriaList;
+    private static final Map<String, Function<SearchCriteria, CompiledCriterion>> COMPILERS = Map.of(
+        "id", CustomSpecification::compileId,
+        "name", CustomSpecification::compileText,
+        "email", CustomSpecification::compileText,
+        "userCredo", CustomSpecification::compileText,
+        "role", searchCriteria -> CustomSpecification.compileEnum(searchCriteria, Role.class),
+        "userStatus", searchCriteria -> CustomSpecification.compileEnum(searchCriteria, UserStatus.class));
+
+    private final transient List<CompiledCriterion> criteria;
+
+    /**
+     * Constructor.
+     *
+     * @param searchCriteriaList criteria the users must match, criteria of unknown
+     *                           types are ignored.
+     */
+    public UserSpecification(List<SearchCriteria> searchCriteriaList) {
+        this.criteria = searchCriteriaList.stream()
+            .filter(searchCriteria -> COMPILERS.containsKey(searchCriteria.getType()))
+            .map(searchCriteria -> COMPILERS.get(searchCriteria.getType()).apply(searchCriteria))
+            .toList();
+    }
+
+    /**
+     * Returns the compiled criteria.
+     */
+    public List<CompiledCriterion> getCriteria() {
+        return criteria;
+    }
 
     @Override
     public Predicate toPredicate(Root<User> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
-        Predicate allPredicate = criteriaBuilder.conjunction();
-        for (SearchCriteria searchCriteria : searchCriteriaList) {
-            if (searchCriteria.getType().equals("id")) {
-                allPredicate = criteriaBuilder.and(allPredicate, getIdPredicate(root, criteriaBuilder, searchCriteria));
-            }
-            if (searchCriteria.getType().equals("name")) {
-                allPredicate =
-                    criteriaBuilder.and(allPredicate, getStringPredicate(root, criteriaBuilder, searchCriteria));
-            }
-            if (searchCriteria.getType().equals("email")) {
-                allPredicate =
-                    criteriaBuilder.and(allPredicate, getStringPredicate(root, criteriaBuilder, searchCriteria));
-            }
-            if (searchCriteria.getType().equals("userCredo")) {
-                allPredicate =
-                    criteriaBuilder.and(allPredicate, getStringPredicate(root, criteriaBuilder, searchCriteria));
-            }
-            if (searchCriteria.getType().equals("role")) {
-                allPredicate =
-                    criteriaBuilder.and(allPredicate, getEnumPredicate(root, criteriaBuilder, searchCriteria));
-            }
-            if (searchCriteria.getType().equals("userStatus")) {
-                allPredicate =
-                    criteriaBuilder.and(allPredicate, getEnumPredicate(root, criteriaBuilder, searchCriteria));
-            }
-        }
-        return allPredicate;
+        return criteriaBuilder.and(criteria.stream()
+            .map(criterion -> criterion.toPredicate(root, criteriaBuilder))
+            .toArray(Predicate[]::new));
     }
 }
@@ -0,0 +1,32 @@
+package greencity.mapping;
+
+import greencity.dto.user.UserForListDto;
+import greencity.entity.User;
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class that used by {@link ModelMapper} to map {@link User} into
+ * {@link UserForListDto}.
+ */
+@Component
+public class UserForListDtoMapper extends AbstractConverter<User, UserForListDto> {
+    /**
+     * Method convert {@link User} to {@link UserForListDto}.
+     *
+     * @return {@link UserForListDto}
+     */
+    @Override
+    protected UserForListDto convert(User user) {
+        return UserForListDto.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .dateOfRegistration(user.getDateOfRegistration())
+            .email(user.getEmail())
+            .userStatus(user.getUserStatus())
+            .role(user.getRole())
+            .userCredo(user.getUserCredo())
+            .build();
+    }
+}
@@ -0,0 +1,31 @@
+package greencity.mapping;
+
+import greencity.dto.user.UserManagementDto;
+import greencity.entity.User;
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class that used by {@link ModelMapper} to map {@link User} into
+ * {@link UserManagementDto}.
+ */
+@Component
+public class UserManagementDtoMapper extends AbstractConverter<User, UserManagementDto> {
+    /**
+     * Method convert {@link User} to {@link UserManagementDto}.
+     *
+     * @return {@link UserManagementDto}
+     */
+    @Override
+    protected UserManagementDto convert(User user) {
+        return UserManagementDto.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .email(user.getEmail())
+            .userCredo(user.getUserCredo())
+            .role(user.getRole())
+            .userStatus(user.getUserStatus())
+            .build();
+    }
+}
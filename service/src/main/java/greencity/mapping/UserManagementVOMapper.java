@@ -0,0 +1,31 @@
+package greencity.mapping;
+
+import greencity.dto.user.UserManagementVO;
+import greencity.entity.User;
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class that used by {@link ModelMapper} to map {@link User} into
+ * {@link UserManagementVO}.
+ */
+@Component
+public class UserManagementVOMapper extends AbstractConverter<User, UserManagementVO> {
+    /**
+     * Method convert {@link User} to {@link UserManagementVO}.
+     *
+     * @return {@link UserManagementVO}
+     */
+    @Override
+    protected UserManagementVO convert(User user) {
+        return UserManagementVO.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .email(user.getEmail())
+            .userCredo(user.getUserCredo())
+            .role(user.getRole())
+            .userStatus(user.getUserStatus())
+            .build();
+    }
+}
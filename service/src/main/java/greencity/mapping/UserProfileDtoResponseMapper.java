@@ -0,0 +1,34 @@
+package greencity.mapping;
+
+import greencity.dto.user.UserProfileDtoResponse;
+import greencity.entity.User;
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class that used by {@link ModelMapper} to map {@link User} into
+ * {@link UserProfileDtoResponse}.
+ */
+@Component
+public class UserProfileDtoResponseMapper extends AbstractConverter<User, UserProfileDtoResponse> {
+    /**
+     * Method convert {@link User} to {@link UserProfileDtoResponse}.
+     *
+     * @return {@link UserProfileDtoResponse}
+     */
+    @Override
+    protected UserProfileDtoResponse convert(User user) {
+        return UserProfileDtoResponse.builder()
+            .profilePicturePath(user.getProfilePicturePath())
+            .name(user.getName())
+            .city(user.getCity())
+            .userCredo(user.getUserCredo())
+            .showLocation(user.getShowLocation())
+            .showEcoPlace(user.getShowEcoPlace())
+            .showShoppingList(user.getShowShoppingList())
+            .rating(user.getRating() == null ? null : user.getRating().floatValue())
+            .role(user.getRole())
+            .build();
+    }
+}
@@ -20,6 +20,7 @@ public class UserVOMapper extends AbstractConverter<User, UserVO> {
             .userCredo(user.getUserCredo())
             .emailNotification(user.getEmailNotification())
             .userStatus(user.getUserStatus())
+            .statusUpdatedAt(user.getStatusUpdatedAt())
             .rating(user.getRating())
             .verifyEmail(user.getVerifyEmail() != null ? VerifyEmailVO.builder()
                 .id(user.getVerifyEmail().getId())
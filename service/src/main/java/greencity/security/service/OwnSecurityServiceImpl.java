@@ -3,7 +3,9 @@ package greencity.security.service;
 import greencity.constant.AppConstant;
 import greencity.constant.ErrorMessage;
 import greencity.dto.user.UserAdminRegistrationDto;
+import greencity.dto.user.UserCredentialsDto;
 import greencity.dto.user.UserManagementDto;
+import greencity.dto.user.UserRefreshTokenDto;
 import greencity.dto.user.UserVO;
 import greencity.entity.Language;
 import greencity.entity.OwnSecurity;
@@ -36,6 +38,7 @@ import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
 import greencity.service.EmailService;
+import greencity.service.UserPrefixIndex;
 import greencity.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
 import java.security.SecureRandom;
@@ -50,7 +53,6 @@ import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -62,7 +64,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class OwnSecurityServiceImpl implements OwnSecurityService {
     private final OwnSecurityRepo ownSecurityRepo;
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTool jwtTool;
     private final Integer expirationTime;
     private final RestorePasswordEmailRepo restorePasswordEmailRepo;
@@ -71,6 +73,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
     private static final String VALID_PW_CHARS =
         "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()-_=+{}[]|:;<>?,./";
     private final EmailService emailService;
+    private final UserPrefixIndex userPrefixIndex;
 
     /**
      * Constructor.
@@ -78,22 +81,24 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
     @Autowired
     public OwnSecurityServiceImpl(OwnSecurityRepo ownSecurityRepo,
         UserService userService,
-        PasswordEncoder passwordEncoder,
+        PasswordHashingService passwordHashingService,
         JwtTool jwtTool,
         @Value("${verifyEmailTimeHour}") Integer expirationTime,
         RestorePasswordEmailRepo restorePasswordEmailRepo,
         ModelMapper modelMapper,
         UserRepo userRepo,
-        EmailService emailService) {
+        EmailService emailService,
+        UserPrefixIndex userPrefixIndex) {
         this.ownSecurityRepo = ownSecurityRepo;
         this.userService = userService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtTool = jwtTool;
         this.expirationTime = expirationTime;
         this.restorePasswordEmailRepo = restorePasswordEmailRepo;
         this.modelMapper = modelMapper;
         this.userRepo = userRepo;
         this.emailService = emailService;
+        this.userPrefixIndex = userPrefixIndex;
     }
 
     /**
@@ -109,6 +114,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         try {
             User savedUser = userRepo.save(user);
             user.setId(savedUser.getId());
+            userPrefixIndex.put(savedUser.getId(), savedUser.getName(), savedUser.getEmail());
             emailService.sendVerificationEmail(savedUser.getId(), savedUser.getName(), savedUser.getEmail(),
                 savedUser.getVerifyEmail().getToken(), language, dto.isUbs());
         } catch (DataIntegrityViolationException e) {
@@ -153,7 +159,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
 
     private OwnSecurity createOwnSecurity(OwnSignUpDto dto, User user) {
         return OwnSecurity.builder()
-            .password(passwordEncoder.encode(dto.getPassword()))
+            .password(passwordHashingService.encode(dto.getPassword()))
             .user(user)
             .build();
     }
@@ -185,6 +191,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         try {
             User savedUser = userRepo.save(employee);
             employee.setId(savedUser.getId());
+            userPrefixIndex.put(savedUser.getId(), savedUser.getName(), savedUser.getEmail());
             emailService.sendRestoreEmail(savedUser.getId(), savedUser.getFirstName(), employee.getEmail(),
                 savedUser.getRestorePasswordEmail().getToken(), language, dto.isUbs());
         } catch (DataIntegrityViolationException e) {
@@ -204,14 +211,12 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
      */
     @Override
     public SuccessSignInDto signIn(final OwnSignInDto dto) {
-        UserVO user = userService.findByEmail(dto.getEmail());
-        if (user == null) {
-            throw new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + dto.getEmail());
-        }
+        UserCredentialsDto user = userRepo.findCredentialsByEmail(dto.getEmail())
+            .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + dto.getEmail()));
         if (!isPasswordCorrect(dto, user)) {
             throw new WrongPasswordException(ErrorMessage.BAD_PASSWORD);
         }
-        if (user.getVerifyEmail() != null) {
+        if (Boolean.TRUE.equals(user.getEmailVerificationPending())) {
             throw new EmailNotVerified("You should verify the email first, check your email box!");
         }
         if (user.getUserStatus() == UserStatus.DEACTIVATED) {
@@ -224,15 +229,20 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
             throw new BadUserStatusException(ErrorMessage.USER_CREATED);
         }
         String accessToken = jwtTool.createAccessToken(user.getEmail(), user.getRole());
-        String refreshToken = jwtTool.createRefreshToken(user);
+        String refreshToken = jwtTool.createRefreshToken(UserVO.builder()
+            .id(user.getId())
+            .email(user.getEmail())
+            .role(user.getRole())
+            .refreshTokenKey(user.getRefreshTokenKey())
+            .build());
         return new SuccessSignInDto(user.getId(), accessToken, refreshToken, user.getName(), true);
     }
 
-    private boolean isPasswordCorrect(OwnSignInDto signInDto, UserVO user) {
-        if (user.getOwnSecurity() == null) {
+    private boolean isPasswordCorrect(OwnSignInDto signInDto, UserCredentialsDto user) {
+        if (user.getPassword() == null) {
             return false;
         }
-        return passwordEncoder.matches(signInDto.getPassword(), user.getOwnSecurity().getPassword());
+        return passwordHashingService.matches(signInDto.getPassword(), user.getPassword());
     }
 
     /**
@@ -247,21 +257,28 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         } catch (ExpiredJwtException e) {
             throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
         }
-        UserVO user = userService.findByEmail(email);
-        checkUserStatus(user);
+        UserRefreshTokenDto user = userRepo.findRefreshTokenOwnerByEmail(email)
+            .orElseThrow(() -> new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID));
+        checkUserStatus(user.getUserStatus());
+        if (!jwtTool.isTokenValid(refreshToken, user.getRefreshTokenKey())) {
+            throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
+        }
         String newRefreshTokenKey = jwtTool.generateTokenKey();
-        userService.updateUserRefreshToken(newRefreshTokenKey, user.getId());
-        if (jwtTool.isTokenValid(refreshToken, user.getRefreshTokenKey())) {
-            user.setRefreshTokenKey(newRefreshTokenKey);
-            return new AccessRefreshTokensDto(
-                jwtTool.createAccessToken(user.getEmail(), user.getRole()),
-                jwtTool.createRefreshToken(user));
+        if (userRepo.rotateRefreshTokenKey(user.getId(), user.getRefreshTokenKey(), newRefreshTokenKey) == 0) {
+            throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
         }
-        throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
+        UserVO rotated = UserVO.builder()
+            .id(user.getId())
+            .email(user.getEmail())
+            .role(user.getRole())
+            .refreshTokenKey(newRefreshTokenKey)
+            .build();
+        return new AccessRefreshTokensDto(
+            jwtTool.createAccessToken(rotated.getEmail(), rotated.getRole()),
+            jwtTool.createRefreshToken(rotated));
     }
 
-    private void checkUserStatus(UserVO user) {
-        UserStatus status = user.getUserStatus();
+    private void checkUserStatus(UserStatus status) {
         if (status == UserStatus.BLOCKED) {
             throw new UserBlockedException(ErrorMessage.USER_DEACTIVATED);
         } else if (status == UserStatus.DEACTIVATED) {
@@ -276,7 +293,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
      */
     @Override
     public void updatePassword(String pass, Long id) {
-        String password = passwordEncoder.encode(pass);
+        String password = passwordHashingService.encode(pass);
         ownSecurityRepo.updatePassword(password, id);
     }
 
@@ -334,7 +351,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
 
     private OwnSecurity managementCreateOwnSecurity(User user) {
         return OwnSecurity.builder()
-            .password(passwordEncoder.encode(generatePassword()))
+            .password(passwordHashingService.encode(generatePassword()))
             .user(user)
             .build();
     }
@@ -385,6 +402,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
                 .build();
         restorePasswordEmailRepo.save(restorePasswordEmail);
         user = userRepo.save(user);
+        userPrefixIndex.put(user.getId(), user.getName(), user.getEmail());
         emailService.sendApprovalEmail(user.getId(), user.getName(), user.getEmail(), token);
         return user;
     }
@@ -423,7 +441,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
             throw new PasswordsDoNotMatchesException(ErrorMessage.PASSWORDS_DO_NOT_MATCH);
         }
         user.setOwnSecurity(OwnSecurity.builder()
-            .password(passwordEncoder.encode(dto.getPassword()))
+            .password(passwordHashingService.encode(dto.getPassword()))
             .user(user)
             .build());
         userRepo.save(user);
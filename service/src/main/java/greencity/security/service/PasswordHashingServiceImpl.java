@@ -0,0 +1,145 @@
+package greencity.security.service;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of {@link PasswordHashingService}. Hashing runs on a fixed
+ * pool sized to the CPU cores with a bounded queue. The queue is sized so that
+ * running and waiting tasks together block at most a share of the request
+ * threads. When it is full the call fails immediately with
+ * {@link PasswordHashingOverloadedException} instead of making the caller wait
+ * behind the whole backlog, so the other requests keep their threads.
+ */
+@Slf4j
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+    private static final String METRIC_PREFIX = "greencity.security.password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer queueTime;
+    private final Counter rejections;
+
+    /**
+     * Constructor.
+     *
+     * @param passwordEncoder     {@link PasswordEncoder} doing the hashing.
+     * @param poolSize            amount of hashing threads, the number of available
+     *                            processors if not positive.
+     * @param requestThreads      maximum amount of request threads of the server.
+     * @param requestThreadsShare percentage of the request threads that may wait
+     *                            for hashing at once.
+     * @param retryAfterSeconds   seconds after which rejected requests can be
+     *                            retried.
+     * @param meterRegistry       {@link MeterRegistry} to publish metrics to.
+     */
+    @Autowired
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+        @Value("${greencity.security.password.hashing.pool.size}") int poolSize,
+        @Value("${server.tomcat.threads.max:200}") int requestThreads,
+        @Value("${greencity.security.password.hashing.request.threads.share}") int requestThreadsShare,
+        @Value("${greencity.security.password.hashing.retry.after}") long retryAfterSeconds,
+        MeterRegistry meterRegistry) {
+        this(passwordEncoder, threads(poolSize),
+            queueCapacity(threads(poolSize), requestThreads, requestThreadsShare), retryAfterSeconds, meterRegistry);
+    }
+
+    PasswordHashingServiceImpl(PasswordEncoder passwordEncoder, int threads, int queueCapacity,
+        long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.queueTime = Timer.builder(METRIC_PREFIX + ".queue.time").register(meterRegistry);
+        this.rejections = Counter.builder(METRIC_PREFIX + ".rejections").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private static int threads(int poolSize) {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns the amount of tasks that may wait for a hashing thread, so that the
+     * running and the waiting ones together hold at most the share of the request
+     * threads, but at least one.
+     */
+    static int queueCapacity(int threads, int requestThreads, int requestThreadsShare) {
+        return Math.max(1, requestThreads * requestThreadsShare / 100 - threads);
+    }
+
+    /**
+     * Stops the hashing threads once the tasks already accepted are finished.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueTime.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new PasswordHashingOverloadedException(ErrorMessage.PASSWORD_HASHING_OVERLOADED,
+                retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -22,7 +22,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.NoResultException;
@@ -37,7 +36,7 @@ import jakarta.persistence.NoResultException;
 @Slf4j
 public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
     private final OwnSecurityRepo ownSecurityRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final UserRepo userRepo;
     private final RestorePasswordEmailRepo restorePasswordEmailRepo;
     private final ApplicationEventPublisher applicationEventPublisher;
@@ -50,7 +49,8 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
      * Constructor with all essentials beans for password recovery functionality.
      *
      * @param ownSecurityRepo           - security repository.
-     * @param passwordEncoder           - encodes password.
+     * @param passwordHashingService    {@link PasswordHashingService} - encodes
+     *                                  password.
      * @param restorePasswordEmailRepo  {@link RestorePasswordEmailRepo} - Used for
      *                                  storing recovery tokens
      * @param applicationEventPublisher {@link ApplicationEventPublisher} - Used for
@@ -59,14 +59,14 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
      * @param jwtTool                   {@link JwtTool} - Used for recovery token
      */
     public PasswordRecoveryServiceImpl(
-        OwnSecurityRepo ownSecurityRepo, PasswordEncoder passwordEncoder,
+        OwnSecurityRepo ownSecurityRepo, PasswordHashingService passwordHashingService,
         RestorePasswordEmailRepo restorePasswordEmailRepo,
         UserRepo userRepo,
         ApplicationEventPublisher applicationEventPublisher,
         EmailService emailService,
         JwtTool jwtTool) {
         this.ownSecurityRepo = ownSecurityRepo;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.restorePasswordEmailRepo = restorePasswordEmailRepo;
         this.userRepo = userRepo;
         this.applicationEventPublisher = applicationEventPublisher;
@@ -183,7 +183,7 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
     }
 
     private void updatePassword(String pass, Long id) {
-        String password = passwordEncoder.encode(pass);
+        String password = passwordHashingService.encode(pass);
         Optional<OwnSecurity> ownSecurity = ownSecurityRepo.findByUserId(id);
 
         ownSecurity.ifPresentOrElse(s -> {
@@ -0,0 +1,261 @@
+package greencity.security.service;
+
+import greencity.entity.JwtSigningKey;
+import greencity.repository.JwtSigningKeyRepo;
+import greencity.security.dto.JwkDto;
+import greencity.security.dto.JwkSetDto;
+import greencity.security.jwt.SigningKey;
+import greencity.security.jwt.SigningKeyStore;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of {@link SigningKeyService}. Each key is created
+ * {@code rotationInterval} after the previous one and is used for signing only
+ * once it has been published for {@code publishDelay}, so that consumers
+ * caching the key set learn about it before the first token signed with it
+ * arrives. A key is kept until the last token it could have signed has expired.
+ * Private keys are stored encrypted with AES-GCM under the configured
+ * encryption key, bound to their kid; the key is only needed with ES256. Every
+ * key names the key it replaces, which is unique, so when several instances
+ * rotate at once only one new key is stored and the others load it.
+ */
+@Slf4j
+@Service
+public class SigningKeyServiceImpl implements SigningKeyService {
+    private static final String ES256 = "ES256";
+    private static final int COORDINATE_LENGTH = 32;
+    private static final String ENCRYPTION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 128;
+    private static final String NO_PREVIOUS_KID = "";
+
+    private final JwtSigningKeyRepo jwtSigningKeyRepo;
+    private final SigningKeyStore signingKeyStore;
+    private final boolean signingEnabled;
+    private final Duration rotationInterval;
+    private final Duration publishDelay;
+    private final Duration keyLifetime;
+    private final SecretKey encryptionKey;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructor.
+     *
+     * @param jwtSigningKeyRepo             {@link JwtSigningKeyRepo}
+     * @param signingKeyStore               {@link SigningKeyStore}
+     * @param signingAlgorithm              'ES256' to sign access tokens with the
+     *                                      rotated keys, any other value keeps
+     *                                      signing them with the HS256 secret.
+     * @param rotationIntervalMillis        how long a key is used for signing.
+     * @param publishDelayMillis            how long a new key is published before
+     *                                      it is used for signing.
+     * @param accessTokenValidTimeInMinutes lifetime of access tokens.
+     * @param encryptionKey                 Base64 encoded AES key the private keys
+     *                                      are encrypted with, required for ES256
+     *                                      only.
+     * @throws IllegalStateException if ES256 is enabled without an encryption key.
+     */
+    @Autowired
+    public SigningKeyServiceImpl(JwtSigningKeyRepo jwtSigningKeyRepo, SigningKeyStore signingKeyStore,
+        @Value("${greencity.security.token.signing.algorithm}") String signingAlgorithm,
+        @Value("${greencity.security.token.signing.rotation.interval}") long rotationIntervalMillis,
+        @Value("${greencity.security.token.signing.publish.delay}") long publishDelayMillis,
+        @Value("${accessTokenValidTimeInMinutes}") int accessTokenValidTimeInMinutes,
+        @Value("${greencity.security.token.signing.encryption.key}") String encryptionKey) {
+        this(jwtSigningKeyRepo, signingKeyStore, ES256.equals(signingAlgorithm),
+            Duration.ofMillis(rotationIntervalMillis), Duration.ofMillis(publishDelayMillis),
+            Duration.ofMinutes(accessTokenValidTimeInMinutes),
+            ES256.equals(signingAlgorithm) ? toEncryptionKey(encryptionKey) : null, Clock.systemDefaultZone());
+    }
+
+    SigningKeyServiceImpl(JwtSigningKeyRepo jwtSigningKeyRepo, SigningKeyStore signingKeyStore,
+        boolean signingEnabled, Duration rotationInterval, Duration publishDelay, Duration accessTokenLifetime,
+        SecretKey encryptionKey, Clock clock) {
+        this.jwtSigningKeyRepo = jwtSigningKeyRepo;
+        this.signingKeyStore = signingKeyStore;
+        this.signingEnabled = signingEnabled;
+        this.rotationInterval = rotationInterval;
+        this.publishDelay = publishDelay;
+        this.keyLifetime = rotationInterval.plus(publishDelay).plus(accessTokenLifetime);
+        this.encryptionKey = encryptionKey;
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${greencity.security.token.signing.refresh.interval}",
+        initialDelayString = "${greencity.security.token.signing.refresh.interval}")
+    public synchronized void refreshKeys() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        jwtSigningKeyRepo.deleteAllExpired(now);
+        List<JwtSigningKey> keys = new ArrayList<>(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(now));
+        if (signingEnabled && (keys.isEmpty() || isDueForRotation(keys.getFirst(), now))) {
+            String previousKid = keys.isEmpty() ? NO_PREVIOUS_KID : keys.getFirst().getKid();
+            try {
+                JwtSigningKey key = jwtSigningKeyRepo.saveAndFlush(generateKey(previousKid, now));
+                keys.addFirst(key);
+                log.info("Created signing key {}", key.getKid());
+            } catch (DataIntegrityViolationException e) {
+                log.info("Signing key replacing '{}' was created by another instance", previousKid);
+                keys = new ArrayList<>(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(now));
+            }
+        }
+
+        SigningKey signingKey = null;
+        List<SigningKey> verificationKeys = new ArrayList<>();
+        for (JwtSigningKey key : keys) {
+            SigningKey decoded = decode(key);
+            verificationKeys.add(decoded);
+            if (signingEnabled && signingKey == null && isPublished(key, now)) {
+                signingKey = decoded;
+            }
+        }
+        signingKeyStore.update(signingKey, verificationKeys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JwkSetDto getPublicKeys() {
+        return new JwkSetDto(signingKeyStore.getVerificationKeys().stream()
+            .map(key -> toJwk(key.getKid(), key.getPublicKey()))
+            .toList());
+    }
+
+    private static SecretKey toEncryptionKey(String encryptionKey) {
+        if (encryptionKey == null || encryptionKey.isBlank()) {
+            throw new IllegalStateException(
+                "greencity.security.token.signing.encryption.key is required for ES256 signing");
+        }
+        return new SecretKeySpec(Base64.getDecoder().decode(encryptionKey), "AES");
+    }
+
+    private boolean isDueForRotation(JwtSigningKey key, LocalDateTime now) {
+        return !key.getCreatedAt().plus(rotationInterval).isAfter(now);
+    }
+
+    private boolean isPublished(JwtSigningKey key, LocalDateTime now) {
+        return !key.getCreatedAt().plus(publishDelay).isAfter(now);
+    }
+
+    private JwtSigningKey generateKey(String previousKid, LocalDateTime now) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            String kid = UUID.randomUUID().toString();
+            return JwtSigningKey.builder()
+                .kid(kid)
+                .privateKey(encrypt(kid, keyPair.getPrivate().getEncoded()))
+                .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                .previousKid(previousKid)
+                .createdAt(now)
+                .expiresAt(now.plus(keyLifetime))
+                .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate signing key", e);
+        }
+    }
+
+    /**
+     * Decodes a stored key. The private key is only decrypted while signing is
+     * enabled, verification needs the public key alone.
+     */
+    private SigningKey decode(JwtSigningKey key) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            return new SigningKey(key.getKid(),
+                signingEnabled
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(key.getKid(), key.getPrivateKey())))
+                    : null,
+                (ECPublicKey) keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey()))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot decode signing key " + key.getKid(), e);
+        }
+    }
+
+    /**
+     * Encrypts a private key with AES-GCM, authenticating the kid with it so that
+     * the encrypted key cannot be moved to another row.
+     *
+     * @return Base64 encoded IV followed by the ciphertext.
+     */
+    String encrypt(String kid, byte[] privateKey) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(ENCRYPTION);
+        cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH, iv));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        byte[] encrypted = cipher.doFinal(privateKey);
+        return Base64.getEncoder().encodeToString(
+            ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array());
+    }
+
+    private byte[] decrypt(String kid, String privateKey) throws GeneralSecurityException {
+        byte[] encrypted = Base64.getDecoder().decode(privateKey);
+        Cipher cipher = Cipher.getInstance(ENCRYPTION);
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH, encrypted, 0, IV_LENGTH));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH);
+    }
+
+    private static JwkDto toJwk(String kid, ECPublicKey publicKey) {
+        return JwkDto.builder()
+            .kty("EC")
+            .crv("P-256")
+            .kid(kid)
+            .use("sig")
+            .alg(ES256)
+            .pointX(encodeCoordinate(publicKey.getW().getAffineX()))
+            .pointY(encodeCoordinate(publicKey.getW().getAffineY()))
+            .build();
+    }
+
+    /**
+     * Encodes a curve point coordinate as required by RFC 7518: big-endian, padded
+     * to the full coordinate length, without a sign byte.
+     */
+    private static String encodeCoordinate(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] result = new byte[COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, result, COORDINATE_LENGTH - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(result);
+    }
+}
@@ -0,0 +1,124 @@
+package greencity.security.service;
+
+import greencity.dto.user.UserStatusChangeDto;
+import greencity.enums.UserStatus;
+import greencity.repository.UserRepo;
+import greencity.security.cache.VerifiedTokenCache;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of {@link UserRevocationService}. Revoked ids are kept in a
+ * sorted {@code long[]} that is replaced on every change, so lookups done by
+ * each request are lock-free binary searches, while the rare status changes
+ * copy the array.
+ */
+@Slf4j
+@Service
+public class UserRevocationServiceImpl implements UserRevocationService {
+    private static final Set<UserStatus> REVOKED_STATUSES = EnumSet.of(UserStatus.BLOCKED, UserStatus.DEACTIVATED);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepo userRepo;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Duration syncOverlap;
+    private volatile long[] revokedIds = new long[0];
+    private LocalDateTime lastStatusUpdateTime;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo           {@link UserRepo}
+     * @param verifiedTokenCache {@link VerifiedTokenCache}
+     * @param syncOverlapMillis  how far back each sync looks before the latest seen
+     *                           change, to pick up transactions committed late.
+     */
+    public UserRevocationServiceImpl(UserRepo userRepo, VerifiedTokenCache verifiedTokenCache,
+        @Value("${greencity.security.revocation.sync.overlap}") long syncOverlapMillis) {
+        this.userRepo = userRepo;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.syncOverlap = Duration.ofMillis(syncOverlapMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRevoked(Long userId) {
+        return userId != null && Arrays.binarySearch(revokedIds, userId) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void statusChanged(Collection<Long> userIds, UserStatus userStatus) {
+        if (REVOKED_STATUSES.contains(userStatus)) {
+            revokedIds = merge(revokedIds, userIds);
+        } else {
+            revokedIds = subtract(revokedIds, userIds);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadRevokedUsers() {
+        lastStatusUpdateTime = userRepo.findLastStatusUpdateTime().orElse(null);
+        revokedIds = merge(new long[0], userRepo.findAllIdsByUserStatusIn(REVOKED_STATUSES));
+        log.info("Loaded {} revoked users", revokedIds.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${greencity.security.revocation.sync.interval}",
+        initialDelayString = "${greencity.security.revocation.sync.interval}")
+    public synchronized void synchronizeRevokedUsers() {
+        List<UserStatusChangeDto> changes = userRepo.findAllStatusChangesSince(
+            lastStatusUpdateTime == null ? EPOCH : lastStatusUpdateTime.minus(syncOverlap));
+        List<Long> revoked = new ArrayList<>();
+        List<Long> restored = new ArrayList<>();
+        for (UserStatusChangeDto change : changes) {
+            (REVOKED_STATUSES.contains(change.getUserStatus()) ? revoked : restored).add(change.getId());
+            if (lastStatusUpdateTime == null || change.getStatusUpdatedAt().isAfter(lastStatusUpdateTime)) {
+                lastStatusUpdateTime = change.getStatusUpdatedAt();
+            }
+        }
+        revokedIds = subtract(merge(revokedIds, revoked), restored);
+        verifiedTokenCache.evictUsers(revoked);
+    }
+
+    private static long[] merge(long[] ids, Collection<Long> added) {
+        long[] result = Arrays.copyOf(ids, ids.length + added.size());
+        int i = ids.length;
+        for (Long id : added) {
+            result[i++] = id;
+        }
+        Arrays.sort(result);
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    private static long[] subtract(long[] ids, Collection<Long> removed) {
+        if (removed.isEmpty()) {
+            return ids;
+        }
+        long[] sortedRemoved = removed.stream().mapToLong(Long::longValue).sorted().toArray();
+        return Arrays.stream(ids).filter(id -> Arrays.binarySearch(sortedRemoved, id) < 0).toArray();
+    }
+}
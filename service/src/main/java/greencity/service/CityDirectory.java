@@ -0,0 +1,176 @@
+package greencity.service;
+
+import greencity.dto.PageableDto;
+import greencity.dto.user.CityDto;
+import greencity.dto.user.UserGroupCountDto;
+import greencity.repository.UserRepo;
+import java.text.Normalizer;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Distinct cities of the users with the amount of users in each, ordered by
+ * normalized key. The users are counted by city in the database, at most once
+ * per time to live, and the directory is dropped when a user changes its city
+ * on this instance. While an expired directory is reloaded, other callers get
+ * the previous one instead of running the same query.
+ */
+@Component
+public class CityDirectory {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final UserRepo userRepo;
+    private final long timeToLive;
+    private final Clock clock;
+    private final Lock reloadLock = new ReentrantLock();
+    private volatile Directory directory;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo   {@link UserRepo}
+     * @param timeToLive how long the directory is used before it is reloaded, in
+     *                   milliseconds.
+     */
+    @Autowired
+    public CityDirectory(UserRepo userRepo, @Value("${greencity.user.cities.cache.ttl}") long timeToLive) {
+        this(userRepo, timeToLive, Clock.systemUTC());
+    }
+
+    CityDirectory(UserRepo userRepo, long timeToLive, Clock clock) {
+        this.userRepo = userRepo;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the normalized key of a city: trimmed, with whitespace collapsed and
+     * lower-cased.
+     *
+     * @param city city as written by a user.
+     * @return key of the city, empty if the city is blank.
+     */
+    public static String normalize(String city) {
+        if (city == null) {
+            return "";
+        }
+        String compatible = Normalizer.normalize(city, Normalizer.Form.NFKC).strip();
+        return WHITESPACE.matcher(compatible).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns all cities.
+     *
+     * @return list of {@link CityDto} ordered by key.
+     */
+    public List<CityDto> findAll() {
+        return List.copyOf(getDirectory().cities().values());
+    }
+
+    /**
+     * Returns a page of the cities whose key starts with the normalized prefix.
+     *
+     * @param prefix   start of the city, all cities if blank.
+     * @param pageable page number and size.
+     * @return {@link PageableDto} of {@link CityDto} ordered by key.
+     */
+    public PageableDto<CityDto> findByPrefix(String prefix, Pageable pageable) {
+        NavigableMap<String, CityDto> cities = getDirectory().cities();
+        String key = normalize(prefix);
+        Collection<CityDto> matching = key.isEmpty()
+            ? cities.values()
+            : cities.subMap(key, true, key + Character.MAX_VALUE, true).values();
+        int total = matching.size();
+        List<CityDto> page = matching.stream()
+            .skip(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .toList();
+        int totalPages = (total + pageable.getPageSize() - 1) / pageable.getPageSize();
+        return new PageableDto<>(page, total, pageable.getPageNumber(), totalPages);
+    }
+
+    /**
+     * Drops the directory once the current transaction commits, so the next call
+     * reloads it.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    directory = null;
+                }
+            });
+        } else {
+            directory = null;
+        }
+    }
+
+    private Directory getDirectory() {
+        Directory current = directory;
+        if (current != null && !current.isExpired(clock.millis(), timeToLive)) {
+            return current;
+        }
+        if (current != null && !reloadLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            reloadLock.lock();
+        }
+        try {
+            current = directory;
+            if (current == null || current.isExpired(clock.millis(), timeToLive)) {
+                current = new Directory(load(), clock.millis());
+                directory = current;
+            }
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private NavigableMap<String, CityDto> load() {
+        Map<String, Map<String, Long>> spellings = new HashMap<>();
+        for (UserGroupCountDto group : userRepo.countGroupedByCity()) {
+            String city = (String) group.getGroup();
+            String key = normalize(city);
+            if (!key.isEmpty()) {
+                String spelling = WHITESPACE.matcher(city.strip()).replaceAll(" ");
+                spellings.computeIfAbsent(key, k -> new HashMap<>()).merge(spelling, group.getAmount(), Long::sum);
+            }
+        }
+        NavigableMap<String, CityDto> cities = new TreeMap<>();
+        spellings.forEach((key, amounts) -> cities.put(key, CityDto.builder()
+            .key(key)
+            .name(amounts.entrySet().stream()
+                .max(Map.Entry.<String, Long>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(key))
+            .usersAmount(amounts.values().stream().mapToLong(Long::longValue).sum())
+            .build()));
+        return cities;
+    }
+
+    private record Directory(NavigableMap<String, CityDto> cities, long loadedAt) {
+        private boolean isExpired(long now, long timeToLive) {
+            return now - loadedAt >= timeToLive;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package greencity.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffers last activity times of the users and writes them periodically with
+ * one batched update. Only the latest time of a user is kept, so a user sending
+ * many heartbeats between two flushes costs a single row update. A flush is
+ * also started on the task scheduler once the buffer holds the maximum amount
+ * of users, so the recording request never writes, and when the application
+ * shuts down. Times older than the stored one are never written, so buffers of
+ * several instances do not move a user's last activity back.
+ */
+@Slf4j
+@Component
+public class LastActivityWriteBehind {
+    private static final String METRIC_PREFIX = "greencity.user.last.activity";
+    private static final String UPDATE_LAST_ACTIVITY = "UPDATE users SET last_activity_time = ? WHERE id = ? "
+        + "AND (last_activity_time IS NULL OR last_activity_time < ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int maxPending;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Lock flushLock = new ReentrantLock();
+    private final Counter recorded;
+    private final Counter written;
+    private final Timer flushTime;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource    {@link DataSource}
+     * @param taskScheduler {@link TaskScheduler} early flushes run on.
+     * @param maxPending    amount of buffered users that starts a flush before the
+     *                      flush interval.
+     * @param meterRegistry {@link MeterRegistry} to publish metrics to.
+     */
+    @Autowired
+    public LastActivityWriteBehind(DataSource dataSource, TaskScheduler taskScheduler,
+        @Value("${greencity.user.last.activity.max.pending}") int maxPending,
+        MeterRegistry meterRegistry) {
+        this(new JdbcTemplate(dataSource), taskScheduler, maxPending, meterRegistry);
+    }
+
+    LastActivityWriteBehind(JdbcTemplate jdbcTemplate, TaskScheduler taskScheduler, int maxPending,
+        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskScheduler = taskScheduler;
+        this.maxPending = maxPending;
+        this.recorded = Counter.builder(METRIC_PREFIX + ".recorded").register(meterRegistry);
+        this.written = Counter.builder(METRIC_PREFIX + ".written").register(meterRegistry);
+        this.flushTime = Timer.builder(METRIC_PREFIX + ".flush.time").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", pending, Map::size).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".coalescing.ratio", this, LastActivityWriteBehind::getCoalescingRatio)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Buffers the last activity time of the user, unless a later one is buffered
+     * already. Never writes itself, a full buffer only requests a flush.
+     *
+     * @param userId       id of the user.
+     * @param lastActivity time of the activity.
+     */
+    public void record(Long userId, LocalDateTime lastActivity) {
+        if (userId == null || lastActivity == null) {
+            return;
+        }
+        pending.merge(userId, lastActivity, (buffered, recent) -> recent.isAfter(buffered) ? recent : buffered);
+        recorded.increment();
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    /**
+     * Writes the buffered times, unless a flush is running already.
+     */
+    @Scheduled(fixedDelayString = "${greencity.user.last.activity.flush.interval}")
+    public void flush() {
+        flushRequested.set(false);
+        if (flushLock.tryLock()) {
+            try {
+                write();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered times once a running flush is finished.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushLock.lock();
+        try {
+            write();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the amount of recorded times per written row, 1 if nothing was
+     * written yet.
+     */
+    double getCoalescingRatio() {
+        double rows = written.count();
+        return rows == 0 ? 1 : recorded.count() / rows;
+    }
+
+    private void write() {
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime lastActivity = pending.remove(userId);
+            if (lastActivity != null) {
+                batch.add(Map.entry(userId, lastActivity));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_ACTIVITY, batch, BATCH_SIZE, (statement, entry) -> {
+                statement.setObject(1, entry.getValue());
+                statement.setLong(2, entry.getKey());
+                statement.setObject(3, entry.getValue());
+            });
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Could not write last activity of {} users, retrying with the next flush", batch.size(), e);
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(),
+                (buffered, failed) -> buffered.isAfter(failed) ? buffered : failed));
+        } finally {
+            flushTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
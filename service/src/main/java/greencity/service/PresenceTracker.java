@@ -0,0 +1,156 @@
+package greencity.service;
+
+import greencity.dto.user.UserLastActivityDto;
+import greencity.dto.user.UserWithOnlineStatusDto;
+import greencity.repository.UserRepo;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Last activity of the users seen recently, in epoch milliseconds by user id. A
+ * user is online while its last activity is at most the time after last
+ * activity old. Users not seen by this instance within that time are looked up
+ * in the last_activity_time column, which also covers activity seen by other
+ * instances. Last activity times are local date times of the system time zone,
+ * as stored in the column.
+ */
+@Component
+public class PresenceTracker {
+    private final UserRepo userRepo;
+    private final long timeAfterLastActivity;
+    private final Clock clock;
+    private final Map<Long, Long> lastSeen = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo              {@link UserRepo}
+     * @param timeAfterLastActivity how long a user stays online after its last
+     *                              activity, in milliseconds.
+     */
+    @Autowired
+    public PresenceTracker(UserRepo userRepo,
+        @Value("${greencity.time.after.last.activity}") long timeAfterLastActivity) {
+        this(userRepo, timeAfterLastActivity, Clock.systemDefaultZone());
+    }
+
+    PresenceTracker(UserRepo userRepo, long timeAfterLastActivity, Clock clock) {
+        this.userRepo = userRepo;
+        this.timeAfterLastActivity = timeAfterLastActivity;
+        this.clock = clock;
+    }
+
+    /**
+     * Records activity of the user, unless a later one is recorded already or it is
+     * too old to make the user online.
+     *
+     * @param userId       id of the user.
+     * @param lastActivity time of the activity.
+     */
+    public void seen(Long userId, LocalDateTime lastActivity) {
+        if (userId == null || lastActivity == null) {
+            return;
+        }
+        long millis = toMillis(lastActivity);
+        if (isRecent(millis)) {
+            lastSeen.merge(userId, millis, Math::max);
+        }
+    }
+
+    /**
+     * Finds whether the user is online, from memory if the user has been seen
+     * recently, from the database otherwise.
+     *
+     * @param userId id of the user.
+     * @return {@link UserWithOnlineStatusDto}, empty if there is no such user.
+     */
+    public Optional<UserWithOnlineStatusDto> findStatus(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        Long millis = lastSeen.get(userId);
+        if (millis != null && isRecent(millis)) {
+            return Optional.of(status(userId, millis));
+        }
+        return userRepo.findLastActivityById(userId).map(this::status);
+    }
+
+    /**
+     * Finds whether the users are online, from memory for the users seen recently,
+     * with a single query for the others.
+     *
+     * @param userIds ids of the users.
+     * @return list of {@link UserWithOnlineStatusDto} in the order of the ids,
+     *         without duplicates and without ids of missing users.
+     */
+    public List<UserWithOnlineStatusDto> findStatuses(Collection<Long> userIds) {
+        Map<Long, UserWithOnlineStatusDto> statuses = new LinkedHashMap<>();
+        List<Long> unseen = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (userId == null || statuses.containsKey(userId)) {
+                continue;
+            }
+            Long millis = lastSeen.get(userId);
+            if (millis != null && isRecent(millis)) {
+                statuses.put(userId, status(userId, millis));
+            } else {
+                statuses.put(userId, null);
+                unseen.add(userId);
+            }
+        }
+        if (!unseen.isEmpty()) {
+            userRepo.findLastActivityByIds(unseen)
+                .forEach(activity -> statuses.put(activity.getId(), status(activity)));
+        }
+        return statuses.values().stream()
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Forgets users whose last activity is too old to make them online.
+     */
+    @Scheduled(fixedDelayString = "${greencity.time.after.last.activity}")
+    public void sweep() {
+        lastSeen.values().removeIf(millis -> !isRecent(millis));
+    }
+
+    /**
+     * Returns the status of a user loaded from the database, remembering its last
+     * activity if it makes the user online.
+     */
+    private UserWithOnlineStatusDto status(UserLastActivityDto activity) {
+        if (activity.getLastActivityTime() == null) {
+            return new UserWithOnlineStatusDto(activity.getId(), false, null);
+        }
+        seen(activity.getId(), activity.getLastActivityTime());
+        return status(activity.getId(), toMillis(activity.getLastActivityTime()));
+    }
+
+    private UserWithOnlineStatusDto status(Long userId, long millis) {
+        return new UserWithOnlineStatusDto(userId, isRecent(millis),
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()));
+    }
+
+    private boolean isRecent(long millis) {
+        return clock.millis() - millis <= timeAfterLastActivity;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
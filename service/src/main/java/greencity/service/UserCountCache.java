@@ -0,0 +1,75 @@
+package greencity.service;
+
+import greencity.repository.UserRepo;
+import java.time.Clock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Amount of all users, counted at most once per time to live. While the count
+ * is reloaded, other callers get the previous one instead of running the same
+ * count query.
+ */
+@Component
+public class UserCountCache {
+    private final UserRepo userRepo;
+    private final long timeToLive;
+    private final Clock clock;
+    private final Lock reloadLock = new ReentrantLock();
+    private volatile Count count;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo   {@link UserRepo}
+     * @param timeToLive how long a count is used before it is reloaded, in
+     *                   milliseconds.
+     */
+    @Autowired
+    public UserCountCache(UserRepo userRepo, @Value("${greencity.user.count.cache.ttl}") long timeToLive) {
+        this(userRepo, timeToLive, Clock.systemUTC());
+    }
+
+    UserCountCache(UserRepo userRepo, long timeToLive, Clock clock) {
+        this.userRepo = userRepo;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the amount of all users, which may be up to the time to live old.
+     *
+     * @return amount of users.
+     */
+    public long getCount() {
+        Count current = count;
+        if (current != null && !current.isExpired(clock.millis(), timeToLive)) {
+            return current.value();
+        }
+        if (current != null && !reloadLock.tryLock()) {
+            return current.value();
+        }
+        if (current == null) {
+            reloadLock.lock();
+        }
+        try {
+            current = count;
+            if (current == null || current.isExpired(clock.millis(), timeToLive)) {
+                current = new Count(userRepo.count(), clock.millis());
+                count = current;
+            }
+            return current.value();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private record Count(long value, long loadedAt) {
+        private boolean isExpired(long now, long timeToLive) {
+            return now - loadedAt >= timeToLive;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package greencity.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import greencity.enums.EmailNotification;
+import greencity.enums.UserExportFormat;
+import greencity.enums.UserStatus;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Users are read with a forward-only cursor, a fetch size of rows at a time,
+ * and every row is written out before the next one is read. The cursor needs a
+ * transaction, as PostgreSQL drops it on commit.
+ */
+@Service
+public class UserExportServiceImpl implements UserExportService {
+    private static final String[] COLUMNS = {"id", "name", "email", "role", "userStatus", "emailNotification",
+        "dateOfRegistration", "lastActivityTime", "city"};
+    private static final String SELECT_USERS = "SELECT id, name, email, role, user_status, email_notification, "
+        + "date_of_registration, last_activity_time, city FROM users ORDER BY id";
+    private static final JsonFactory JSON_FACTORY = new JsonFactoryBuilder()
+        .rootValueSeparator((String) null)
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource {@link DataSource}
+     * @param fetchSize  amount of rows fetched from the database at a time.
+     */
+    @Autowired
+    public UserExportServiceImpl(DataSource dataSource, @Value("${greencity.user.export.fetch.size}") int fetchSize) {
+        this(new JdbcTemplate(dataSource));
+        jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    UserExportServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(UserExportFormat format, OutputStream outputStream) {
+        try (RowWriter rowWriter = format == UserExportFormat.CSV
+            ? new CsvRowWriter(outputStream)
+            : new NdjsonRowWriter(outputStream)) {
+            jdbcTemplate.query(SELECT_USERS, (RowCallbackHandler) resultSet -> {
+                try {
+                    rowWriter.write(values(resultSet));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object[] values(ResultSet resultSet) throws SQLException {
+        return new Object[] {
+            resultSet.getLong("id"),
+            resultSet.getString("name"),
+            resultSet.getString("email"),
+            resultSet.getString("role"),
+            enumName(UserStatus.values(), resultSet, "user_status"),
+            enumName(EmailNotification.values(), resultSet, "email_notification"),
+            resultSet.getObject("date_of_registration", LocalDateTime.class),
+            resultSet.getObject("last_activity_time", LocalDateTime.class),
+            resultSet.getString("city")
+        };
+    }
+
+    private static String enumName(Enum<?>[] constants, ResultSet resultSet, String column) throws SQLException {
+        int ordinal = resultSet.getInt(column);
+        return resultSet.wasNull() || ordinal < 0 || ordinal >= constants.length ? null : constants[ordinal].name();
+    }
+
+    /**
+     * Writes rows of {@link #COLUMNS} values, flushing when closed.
+     */
+    private interface RowWriter extends AutoCloseable {
+        void write(Object[] values) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream outputStream) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (values[i] == null) {
+                    generator.writeNullField(COLUMNS[i]);
+                } else if (values[i] instanceof Long number) {
+                    generator.writeNumberField(COLUMNS[i], number);
+                } else {
+                    generator.writeStringField(COLUMNS[i], values[i].toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            write(COLUMNS);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Quotes the value if needed. Values a spreadsheet would evaluate as a formula
+         * are prefixed with an apostrophe, so they are shown as text.
+         */
+        private static String escape(String value) {
+            String cell = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+            if (cell.indexOf(',') < 0 && cell.indexOf('"') < 0 && cell.indexOf('\n') < 0
+                && cell.indexOf('\r') < 0) {
+                return cell;
+            }
+            return '"' + cell.replace("\"", "\"\"") + '"';
+        }
+    }
+}
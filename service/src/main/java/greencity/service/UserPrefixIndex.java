@@ -0,0 +1,216 @@
+package greencity.service;
+
+import greencity.dto.user.UserNameEmailDto;
+import greencity.dto.user.UserSuggestionDto;
+import greencity.repository.UserRepo;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of user names and emails for "starts with" suggestions. The
+ * lower-cased name and email of every user are kept in a sorted map, so the
+ * users whose name or email starts with a prefix are a contiguous range of it.
+ * Changes made by this instance are applied once their transaction commits, the
+ * whole index is rebuilt periodically to pick up changes made by other
+ * instances or by bulk queries. Changes applied while the index is rebuilt are
+ * replayed onto the rebuilt index before it replaces the current one.
+ */
+@Slf4j
+@Component
+public class UserPrefixIndex {
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final UserRepo userRepo;
+    private final int maxResults;
+    private final Lock reloadLock = new ReentrantLock();
+    private final Lock changeLock = new ReentrantLock();
+    private volatile Index index = new Index();
+    private List<Consumer<Index>> changesDuringReload;
+
+    /**
+     * Constructor.
+     *
+     * @param userRepo   {@link UserRepo}
+     * @param maxResults maximum amount of suggestions returned for one prefix.
+     */
+    public UserPrefixIndex(UserRepo userRepo, @Value("${greencity.user.suggest.max.results}") int maxResults) {
+        this.userRepo = userRepo;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Rebuilds the index from all users.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${greencity.user.suggest.reload.interval}",
+        initialDelayString = "${greencity.user.suggest.reload.interval}")
+    public void reload() {
+        if (!reloadLock.tryLock()) {
+            return;
+        }
+        try {
+            changeLock.lock();
+            try {
+                changesDuringReload = new ArrayList<>();
+            } finally {
+                changeLock.unlock();
+            }
+            Index loaded = new Index();
+            userRepo.findAllNamesAndEmails().forEach(loaded::put);
+            changeLock.lock();
+            try {
+                changesDuringReload.forEach(change -> change.accept(loaded));
+                index = loaded;
+            } finally {
+                changeLock.unlock();
+            }
+            log.info("Loaded {} users into the suggestion index", loaded.users.size());
+        } finally {
+            changeLock.lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                changeLock.unlock();
+            }
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the user once the current transaction commits.
+     *
+     * @param id    id of the user.
+     * @param name  name of the user.
+     * @param email email of the user.
+     */
+    public void put(Long id, String name, String email) {
+        UserNameEmailDto user = new UserNameEmailDto(id, name, email);
+        runAfterCommit(() -> apply(current -> current.put(user)));
+    }
+
+    /**
+     * Removes the user once the current transaction commits.
+     *
+     * @param id id of the user.
+     */
+    public void remove(Long id) {
+        runAfterCommit(() -> apply(current -> current.remove(id)));
+    }
+
+    /**
+     * Finds users whose name, or email if requested, starts with the prefix,
+     * ignoring case, in the order of the matching name or email.
+     *
+     * @param prefix     start of the name or email.
+     * @param limit      maximum amount of users, capped by the configured maximum.
+     * @param withEmails whether emails are matched and returned.
+     * @return list of {@link UserSuggestionDto}
+     */
+    public List<UserSuggestionDto> suggest(String prefix, int limit, boolean withEmails) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return index.suggest(normalized, Math.min(limit, maxResults), withEmails);
+    }
+
+    /**
+     * Applies the change to the current index, and to the index being rebuilt if
+     * there is one.
+     */
+    private void apply(Consumer<Index> change) {
+        changeLock.lock();
+        try {
+            change.accept(index);
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String value, Long id) {
+        return normalize(value) + ID_SEPARATOR + id;
+    }
+
+    /**
+     * Users and their keys. Changed under the change lock only, or before it is
+     * published.
+     */
+    private static final class Index {
+        private final NavigableMap<String, Entry> keys = new ConcurrentSkipListMap<>();
+        private final Map<Long, UserNameEmailDto> users = new ConcurrentHashMap<>();
+
+        private void put(UserNameEmailDto user) {
+            remove(user.getId());
+            users.put(user.getId(), user);
+            keys.put(key(user.getName(), user.getId()), new Entry(user.getId(), false));
+            keys.put(key(user.getEmail(), user.getId()), new Entry(user.getId(), true));
+        }
+
+        private void remove(Long id) {
+            UserNameEmailDto removed = users.remove(id);
+            if (removed != null) {
+                keys.remove(key(removed.getName(), id));
+                keys.remove(key(removed.getEmail(), id));
+            }
+        }
+
+        private List<UserSuggestionDto> suggest(String prefix, int limit, boolean withEmails) {
+            Set<Long> ids = new LinkedHashSet<>();
+            for (Entry entry : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+                if (withEmails || !entry.email()) {
+                    ids.add(entry.id());
+                    if (ids.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(user -> new UserSuggestionDto(user.getId(), user.getName(), withEmails ? user.getEmail() : null))
+                .toList();
+        }
+    }
+
+    private record Entry(Long id, boolean email) {
+    }
+}
@@ -10,6 +10,7 @@ import greencity.filters.SearchCriteria;
 import greencity.client.RestClient;
 import greencity.constant.ErrorMessage;
 import greencity.constant.LogMessage;
+import greencity.dto.CursorPageableDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.filter.FilterUserDto;
@@ -17,30 +18,43 @@ import greencity.dto.shoppinglist.CustomShoppingListItemResponseDto;
 import greencity.entity.User;
 import greencity.entity.VerifyEmail;
 import greencity.enums.EmailNotification;
+import greencity.enums.PagingMode;
 import greencity.enums.Role;
+import greencity.enums.UserStatisticDimension;
 import greencity.enums.UserStatus;
 import greencity.exception.exceptions.*;
+import greencity.filters.UserKeyset;
+import greencity.filters.UserQuerySpecification;
 import greencity.filters.UserSpecification;
 import greencity.repository.LanguageRepo;
 import greencity.repository.UserDeactivationRepo;
 import greencity.repository.UserRepo;
 import greencity.repository.options.UserFilter;
+import greencity.security.cache.VerifiedTokenCache;
+import greencity.security.context.RequestPrincipalContext;
+import greencity.security.service.UserRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
-import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +64,8 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final int MAX_ID_DIGITS = 18;
+
     /**
      * Autowired greencity.repository.
      */
@@ -61,8 +77,21 @@ public class UserServiceImpl implements UserService {
      * Autowired mapper.
      */
     private final ModelMapper modelMapper;
-    @Value("${greencity.time.after.last.activity}")
-    private long timeAfterLastActivity;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserRevocationService userRevocationService;
+    private final RequestPrincipalContext requestPrincipalContext;
+    private final UserCountCache userCountCache;
+    private final UserPrefixIndex userPrefixIndex;
+    private final UserStatistics userStatistics;
+    private final CityDirectory cityDirectory;
+    private final PresenceTracker presenceTracker;
+    private final LastActivityWriteBehind lastActivityWriteBehind;
+    @Value("${greencity.user.search.trigram.enabled}")
+    private boolean trigramSearchEnabled;
+    @Value("${greencity.user.subscribers.max.page.size}")
+    private int maxSubscribersPageSize;
+    @Value("${greencity.user.online.status.max.ids}")
+    private int maxOnlineStatusIds;
 
     /**
      * {@inheritDoc}
@@ -71,7 +100,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserVO save(UserVO userVO) {
         User user = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(user), UserVO.class);
+        User saved = userRepo.save(user);
+        userPrefixIndex.put(saved.getId(), saved.getName(), saved.getEmail());
+        return modelMapper.map(saved, UserVO.class);
     }
 
     /**
@@ -123,6 +154,84 @@ public class UserServiceImpl implements UserService {
             users.isLast());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageableAdvancedDto<UserManagementDto> findUserForManagementByPage(Pageable pageable, PagingMode mode) {
+        if (mode == PagingMode.EXACT) {
+            return findUserForManagementByPage(pageable);
+        }
+        return buildPageableAdvancedDtoFromSlice(userRepo.findSlice(Specification.where(null), pageable),
+            mode == PagingMode.ESTIMATED, UserManagementDto.class);
+    }
+
+    /**
+     * Builds the page from a slice, whose elements were not counted. If the total
+     * amount is to be estimated, it is taken from {@link UserCountCache}, but not
+     * less than the users seen so far, and is exact on the last page.
+     */
+    private <T> PageableAdvancedDto<T> buildPageableAdvancedDtoFromSlice(Slice<User> slice, boolean estimate,
+        Class<T> dtoClass) {
+        List<T> content = slice.getContent().stream()
+            .map(user -> modelMapper.map(user, dtoClass))
+            .collect(Collectors.toList());
+        long totalElements = PageableAdvancedDto.NOT_COUNTED;
+        int totalPages = PageableAdvancedDto.NOT_COUNTED;
+        if (estimate) {
+            long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+            totalElements = slice.hasNext() ? Math.max(userCountCache.getCount(), seen + 1) : seen;
+            totalPages = (int) ((totalElements + slice.getSize() - 1) / slice.getSize());
+        }
+        return new PageableAdvancedDto<>(
+            content,
+            totalElements,
+            slice.getNumber(),
+            totalPages,
+            slice.getNumber(),
+            slice.hasPrevious(),
+            slice.hasNext(),
+            slice.isFirst(),
+            slice.isLast());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageableDto<UserForListDto> findByCursor(Pageable pageable, String cursor) {
+        return findPageByCursor(Specification.where(null), pageable, cursor, UserForListDto.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageableDto<UserManagementDto> findUserForManagementByCursor(Pageable pageable, String cursor) {
+        return findPageByCursor(Specification.where(null), pageable, cursor, UserManagementDto.class);
+    }
+
+    /**
+     * Finds the page of users matching the specification after the position given
+     * by the cursor. One user more than the page size is loaded to find out whether
+     * there is a next page.
+     */
+    private <T> CursorPageableDto<T> findPageByCursor(Specification<User> spec, Pageable pageable, String cursor,
+        Class<T> dtoClass) {
+        UserKeyset keyset = UserKeyset.of(cursor, pageable);
+        int size = pageable.getPageSize();
+        List<User> users = userRepo.findAllLimited(spec.and(keyset.toSpecification()), keyset.getSort(), size + 1);
+        boolean hasNext = users.size() > size;
+        List<User> page = hasNext ? users.subList(0, size) : users;
+        return new CursorPageableDto<>(
+            page.stream()
+                .map(user -> modelMapper.map(user, dtoClass))
+                .collect(Collectors.toList()),
+            keyset.getPage(),
+            hasNext,
+            hasNext ? keyset.next(page.getLast()) : null);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -131,6 +240,8 @@ public class UserServiceImpl implements UserService {
     public void updateUser(Long userId, UserManagementUpdateDto dto) {
         User user = findUserById(userId);
         updateUserFromDto(dto, user);
+        userPrefixIndex.put(userId, user.getName(), user.getEmail());
+        userStatusChanged(List.of(userId), dto.getUserStatus());
     }
 
     /**
@@ -145,7 +256,10 @@ public class UserServiceImpl implements UserService {
         user.setEmail(dto.getEmail());
         user.setRole(dto.getRole());
         user.setUserCredo(dto.getUserCredo());
-        user.setUserStatus(dto.getUserStatus());
+        if (user.getUserStatus() != dto.getUserStatus()) {
+            user.setUserStatus(dto.getUserStatus());
+            user.setStatusUpdatedAt(LocalDateTime.now());
+        }
     }
 
     /**
@@ -153,8 +267,11 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void deleteById(Long id) {
-        UserVO userVO = findById(id);
-        userRepo.delete(modelMapper.map(userVO, User.class));
+        User user = userRepo.findById(id)
+            .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
+        userRepo.delete(user);
+        userPrefixIndex.remove(id);
+        evictVerifiedTokens(List.of(id));
     }
 
     /**
@@ -185,6 +302,31 @@ public class UserServiceImpl implements UserService {
         return buildPageableAdvanceDtoFromPage(found);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageableAdvancedDto<UserManagementVO> search(Pageable pageable,
+        UserManagementViewDto userManagementViewDto, PagingMode mode) {
+        if (mode == PagingMode.EXACT) {
+            return search(pageable, userManagementViewDto);
+        }
+        boolean unfiltered = buildSearchCriteriaList(userManagementViewDto).isEmpty();
+        return buildPageableAdvancedDtoFromSlice(
+            userRepo.findSlice(buildSpecification(userManagementViewDto), pageable),
+            mode == PagingMode.ESTIMATED && unfiltered, UserManagementVO.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageableDto<UserManagementVO> search(Pageable pageable,
+        UserManagementViewDto userManagementViewDto, String cursor) {
+        return findPageByCursor(buildSpecification(userManagementViewDto), pageable, cursor,
+            UserManagementVO.class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -262,6 +404,20 @@ public class UserServiceImpl implements UserService {
         return Optional.of(modelMapper.map(notDeactivatedByEmail, UserVO.class));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<UserPrincipalVO> findNotDeactivatedPrincipalByEmail(String email) {
+        return userRepo.findNotDeactivatedPrincipalByEmail(email)
+            .map(principal -> UserPrincipalVO.builder()
+                .id(principal.getId())
+                .email(principal.getEmail())
+                .role(principal.getRole())
+                .userStatus(principal.getUserStatus())
+                .build());
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -293,9 +449,52 @@ public class UserServiceImpl implements UserService {
         User user = findUserById(id);
         checkIfUserCanUpdate(user, email);
         user.setRole(role);
+        evictVerifiedTokens(List.of(id));
         return modelMapper.map(user, UserRoleDto.class);
     }
 
+    /**
+     * Evicts cached access tokens of the given users, so that status or role
+     * changes are applied to their next request.
+     *
+     * @param userIds ids of the changed users.
+     */
+    private void evictVerifiedTokens(Collection<Long> userIds) {
+        runAfterCommit(() -> verifiedTokenCache.evictUsers(userIds));
+    }
+
+    /**
+     * Updates the in-memory revocation set and evicts cached access tokens of the
+     * given users.
+     *
+     * @param userIds    ids of the changed users.
+     * @param userStatus new {@link UserStatus} of the users.
+     */
+    private void userStatusChanged(Collection<Long> userIds, UserStatus userStatus) {
+        runAfterCommit(() -> {
+            userRevocationService.statusChanged(userIds, userStatus);
+            verifiedTokenCache.evictUsers(userIds);
+        });
+    }
+
+    /**
+     * Inside a transaction the action is deferred until commit, otherwise a
+     * concurrent request could cache the old state again before the change becomes
+     * visible.
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private User findUserById(Long id) {
         return userRepo.findById(id)
             .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_NOT_FOUND_BY_ID));
@@ -314,11 +513,13 @@ public class UserServiceImpl implements UserService {
     public UserStatusDto updateStatus(Long id, UserStatus userStatus, String email) {
         checkUpdatableUser(id, email);
         accessForUpdateUserStatus(id, email);
-        UserVO userVO = findById(id);
-        userVO.setUserStatus(userStatus);
-        User map = modelMapper.map(userVO, User.class);
-        map.setLanguage(modelMapper.map(userVO.getLanguageVO(), Language.class));
-        return modelMapper.map(userRepo.save(map), UserStatusDto.class);
+        User user = userRepo.findById(id)
+            .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
+        user.setUserStatus(userStatus);
+        user.setStatusUpdatedAt(LocalDateTime.now());
+        UserStatusDto updated = modelMapper.map(userRepo.save(user), UserStatusDto.class);
+        userStatusChanged(List.of(id), userStatus);
+        return updated;
     }
 
     /**
@@ -344,11 +545,12 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserVO updateLastVisit(UserVO userVO) {
-        UserVO user = findById(userVO.getId());
-        log.info(user.getLastActivityTime() + "s");
-        userVO.setLastActivityTime(LocalDateTime.now());
-        User updatable = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(updatable), UserVO.class);
+        User user = userRepo.findById(userVO.getId())
+            .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + userVO.getId()));
+        user.setLastActivityTime(LocalDateTime.now());
+        lastActivityWriteBehind.record(user.getId(), user.getLastActivityTime());
+        presenceTracker.seen(user.getId(), user.getLastActivityTime());
+        return modelMapper.map(user, UserVO.class);
     }
 
     /**
@@ -389,6 +591,7 @@ public class UserServiceImpl implements UserService {
         user.setName(dto.getName());
         user.setEmailNotification(dto.getEmailNotification());
         userRepo.save(user);
+        userPrefixIndex.put(user.getId(), user.getName(), user.getEmail());
         return dto;
     }
 
@@ -409,7 +612,7 @@ public class UserServiceImpl implements UserService {
      * @author Rostyslav Khasanov
      */
     private void checkUpdatableUser(Long id, String email) {
-        UserVO user = findByEmail(email);
+        UserPrincipalVO user = findCurrentPrincipal(email);
         if (id.equals(user.getId())) {
             throw new BadUpdateRequestException(ErrorMessage.USER_CANT_UPDATE_THEMSELVES);
         }
@@ -424,7 +627,7 @@ public class UserServiceImpl implements UserService {
      * @author Rostyslav Khasanov
      */
     private void accessForUpdateUserStatus(Long id, String email) {
-        UserVO user = findByEmail(email);
+        UserPrincipalVO user = findCurrentPrincipal(email);
         if (user.getRole() == Role.ROLE_MODERATOR) {
             Role role = findById(id).getRole();
             if ((role == Role.ROLE_MODERATOR) || (role == Role.ROLE_ADMIN)) {
@@ -433,6 +636,25 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    /**
+     * Returns principal authenticated for the current request, loading the user
+     * only when it was not authenticated by the security filter.
+     *
+     * @param email email of the current user.
+     * @return {@link UserPrincipalVO}
+     */
+    private UserPrincipalVO findCurrentPrincipal(String email) {
+        return requestPrincipalContext.getPrincipal(email).orElseGet(() -> {
+            UserVO user = findByEmail(email);
+            return UserPrincipalVO.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .userStatus(user.getUserStatus())
+                .build();
+        });
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -449,7 +671,20 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public long getActivatedUsersAmount() {
-        return userRepo.countAllByUserStatus(UserStatus.ACTIVATED);
+        return userStatistics.getAmount(UserStatisticDimension.STATUS, UserStatus.ACTIVATED.name());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UserStatisticsDto getUserStatistics() {
+        return UserStatisticsDto.builder()
+            .byStatus(userStatistics.getAmounts(UserStatisticDimension.STATUS))
+            .byRole(userStatistics.getAmounts(UserStatisticDimension.ROLE))
+            .byLanguage(userStatistics.getAmounts(UserStatisticDimension.LANGUAGE))
+            .byRegistrationMonth(userStatistics.getAmounts(UserStatisticDimension.REGISTRATION_MONTH))
+            .build();
     }
 
     /**
@@ -464,6 +699,15 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new NotFoundException(ErrorMessage.PROFILE_PICTURE_NOT_FOUND_BY_ID + id.toString()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String findLanguageCodeById(Long id) {
+        return userRepo.findLanguageCodeById(id)
+            .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
+    }
+
     /**
      * Update user profile picture {@link UserVO}.
      *
@@ -526,12 +770,18 @@ public class UserServiceImpl implements UserService {
             .findByEmail(email)
             .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + email));
         user.setName(userProfileDtoRequest.getName());
-        user.setCity(userProfileDtoRequest.getCity());
         user.setUserCredo(userProfileDtoRequest.getUserCredo());
         user.setShowLocation(userProfileDtoRequest.getShowLocation());
         user.setShowEcoPlace(userProfileDtoRequest.getShowEcoPlace());
         user.setShowShoppingList(userProfileDtoRequest.getShowShoppingList());
+        boolean cityChanged = !CityDirectory.normalize(user.getCity())
+            .equals(CityDirectory.normalize(userProfileDtoRequest.getCity()));
+        user.setCity(userProfileDtoRequest.getCity());
         userRepo.save(user);
+        if (cityChanged) {
+            cityDirectory.invalidate();
+        }
+        userPrefixIndex.put(user.getId(), user.getName(), user.getEmail());
         return UpdateConstants.getResultByLanguageCode(user.getLanguage().getCode());
     }
 
@@ -549,7 +799,8 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Updates last activity time for a given user.
+     * Updates last activity time for a given user. The time is written to the
+     * database with the next flush of {@link LastActivityWriteBehind}.
      *
      * @param userId               - {@link UserVO}'s id
      * @param userLastActivityTime - new {@link UserVO}'s last activity time
@@ -557,7 +808,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void updateUserLastActivityTime(Long userId, LocalDateTime userLastActivityTime) {
-        userRepo.updateUserLastActivityTime(userId, userLastActivityTime);
+        lastActivityWriteBehind.record(userId, userLastActivityTime);
+        presenceTracker.seen(userId, userLastActivityTime);
     }
 
     /**
@@ -569,18 +821,20 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public boolean checkIfTheUserIsOnline(Long userId) {
-        if (userRepo.findById(userId).isEmpty()) {
-            throw new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + userId);
-        }
-        Optional<Timestamp> lastActivityTime = userRepo.findLastActivityTimeById(userId);
-        if (lastActivityTime.isPresent()) {
-            LocalDateTime userLastActivityTime = lastActivityTime.get().toLocalDateTime();
-            ZonedDateTime now = ZonedDateTime.now();
-            ZonedDateTime lastActivityTimeZDT = ZonedDateTime.of(userLastActivityTime, ZoneId.systemDefault());
-            long result = now.toInstant().toEpochMilli() - lastActivityTimeZDT.toInstant().toEpochMilli();
-            return result <= timeAfterLastActivity;
+        return presenceTracker.findStatus(userId)
+            .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + userId))
+            .isOnlineStatus();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UserWithOnlineStatusDto> findOnlineStatuses(List<Long> userIds) {
+        if (userIds.size() > maxOnlineStatusIds) {
+            throw new BadRequestException(ErrorMessage.TOO_MANY_USER_IDS + maxOnlineStatusIds);
         }
-        return false;
+        return presenceTracker.findStatuses(userIds);
     }
 
     /**
@@ -607,7 +861,9 @@ public class UserServiceImpl implements UserService {
         User foundUser =
             userRepo.findById(id).orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
         foundUser.setUserStatus(UserStatus.DEACTIVATED);
+        foundUser.setStatusUpdatedAt(LocalDateTime.now());
         userRepo.save(foundUser);
+        userStatusChanged(List.of(id), UserStatus.DEACTIVATED);
         String reasons = userReasons.stream().map(Object::toString).collect(Collectors.joining("/"));
         userDeactivationRepo.save(UserDeactivationReason.builder()
             .dateTimeOfDeactivation(LocalDateTime.now())
@@ -656,7 +912,9 @@ public class UserServiceImpl implements UserService {
         User foundUser =
             userRepo.findById(id).orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
         foundUser.setUserStatus(UserStatus.ACTIVATED);
+        foundUser.setStatusUpdatedAt(LocalDateTime.now());
         userRepo.save(foundUser);
+        userStatusChanged(List.of(id), UserStatus.ACTIVATED);
         return UserActivationDto.builder()
             .email(foundUser.getEmail())
             .name(foundUser.getName())
@@ -683,7 +941,10 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public List<Long> deactivateAllUsers(List<Long> listId) {
+        List<UserStatus> oldStatuses = userRepo.findUserStatusesByIdsForUpdate(listId);
         userRepo.deactivateSelectedUsers(listId);
+        userStatistics.statusesChanged(oldStatuses, UserStatus.DEACTIVATED);
+        userStatusChanged(listId, UserStatus.DEACTIVATED);
         return listId;
     }
 
@@ -692,7 +953,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Optional<UserVO> findByIdAndToken(Long userId, String token) {
-        User foundUser = modelMapper.map(findById(userId), User.class);
+        User foundUser = userRepo.findById(userId)
+            .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + userId));
 
         VerifyEmail verifyEmail = foundUser.getVerifyEmail();
         if (verifyEmail != null && verifyEmail.getToken().equals(token)) {
@@ -706,7 +968,9 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public PageableAdvancedDto<UserManagementDto> searchBy(Pageable paging, String query) {
-        Page<User> page = userRepo.searchBy(paging, query);
+        Page<User> page = trigramSearchEnabled && StringUtils.hasText(query)
+            ? searchBySimilarity(paging, query.trim().toLowerCase(Locale.ROOT))
+            : userRepo.searchBy(paging, query);
         List<UserManagementDto> users = page.stream()
             .map(user -> modelMapper.map(user, UserManagementDto.class))
             .collect(Collectors.toList());
@@ -722,6 +986,62 @@ public class UserServiceImpl implements UserService {
             page.isLast());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageableAdvancedDto<UserManagementDto> searchBy(Pageable paging, String query, PagingMode mode) {
+        if (mode == PagingMode.EXACT) {
+            return searchBy(paging, query);
+        }
+        Slice<User> slice = trigramSearchEnabled && StringUtils.hasText(query)
+            ? searchSliceBySimilarity(paging, query.trim().toLowerCase(Locale.ROOT))
+            : userRepo.findSlice(new UserQuerySpecification(query), paging);
+        return buildPageableAdvancedDtoFromSlice(slice,
+            mode == PagingMode.ESTIMATED && !StringUtils.hasLength(query), UserManagementDto.class);
+    }
+
+    /**
+     * Searches users with the {@code pg_trgm} indexes, most similar first. A
+     * numeric query is also tried as an id, answered by the primary key, and the
+     * user with that id comes first. Only ids are paged by the search query, the
+     * users of the page are then loaded with their associations at once.
+     */
+    private Page<User> searchBySimilarity(Pageable paging, String query) {
+        Page<Long> ids = userRepo.searchIdsBySimilarity(toId(query), query, "%" + query + "%",
+            PageRequest.of(paging.getPageNumber(), paging.getPageSize()));
+        return new PageImpl<>(findAllInOrder(ids.getContent()), paging, ids.getTotalElements());
+    }
+
+    /**
+     * Same as {@link #searchBySimilarity}, without counting the users.
+     */
+    private Slice<User> searchSliceBySimilarity(Pageable paging, String query) {
+        Slice<Long> ids = userRepo.searchIdSliceBySimilarity(toId(query), query, "%" + query + "%",
+            PageRequest.of(paging.getPageNumber(), paging.getPageSize()));
+        return new SliceImpl<>(findAllInOrder(ids.getContent()), paging, ids.hasNext());
+    }
+
+    private static long toId(String query) {
+        return query.length() <= MAX_ID_DIGITS && query.chars().allMatch(Character::isDigit)
+            ? Long.parseLong(query)
+            : 0L;
+    }
+
+    private List<User> findAllInOrder(List<Long> ids) {
+        Map<Long, User> users = userRepo.findAllByIdIn(ids).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream().map(users::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPageableDto<UserManagementDto> searchByCursor(Pageable paging, String query, String cursor) {
+        return findPageByCursor(new UserQuerySpecification(query), paging, cursor, UserManagementDto.class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -732,6 +1052,27 @@ public class UserServiceImpl implements UserService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SubscriberPageDto findSubscribers(EmailNotification emailNotification, Long cursor, int size) {
+        int limit = Math.max(1, Math.min(size, maxSubscribersPageSize));
+        List<UserSubscriberDto> found = userRepo.findSubscribers(emailNotification,
+            cursor == null ? 0L : cursor, Limit.of(limit + 1));
+        boolean hasNext = found.size() > limit;
+        List<SubscriberDto> subscribers = found.stream()
+            .limit(limit)
+            .map(subscriber -> SubscriberDto.builder()
+                .id(subscriber.getId())
+                .name(subscriber.getName())
+                .email(subscriber.getEmail())
+                .languageCode(subscriber.getLanguageCode())
+                .build())
+            .toList();
+        return new SubscriberPageDto(subscribers, hasNext ? subscribers.get(limit - 1).getId() : null);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -746,7 +1087,25 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public List<String> findAllUsersCities() {
-        return userRepo.findAllUsersCities();
+        return cityDirectory.findAll().stream()
+            .map(CityDto::getName)
+            .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageableDto<CityDto> findCities(String prefix, Pageable pageable) {
+        return cityDirectory.findByPrefix(prefix, pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<UserSuggestionDto> suggest(String query, int limit, boolean withEmails) {
+        return userPrefixIndex.suggest(query, limit, withEmails);
     }
 
     @Override
@@ -0,0 +1,258 @@
+package greencity.service;
+
+import greencity.dto.user.UserGroupCountDto;
+import greencity.entity.Language;
+import greencity.entity.UserStatisticId;
+import greencity.enums.UserStatisticDimension;
+import greencity.enums.UserStatus;
+import greencity.repository.LanguageRepo;
+import greencity.repository.UserRepo;
+import greencity.repository.UserStatisticRepo;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Amounts of users by {@link UserStatisticDimension}, kept in the
+ * user_statistics table. The table is updated in the transaction that changes
+ * the users, see {@link UserStatisticsListener}, and read from an in-memory
+ * snapshot. Changes made by this instance are applied to the snapshot once
+ * their transaction commits, the snapshot is reloaded periodically to pick up
+ * changes made by other instances. Bulk status updates record their changes
+ * explicitly, other bulk queries bypass the listener, so the table is
+ * periodically reconciled with the users.
+ */
+@Slf4j
+@Component
+public class UserStatistics {
+    /**
+     * Order statistics are written in, so that concurrent transactions lock the
+     * rows in the same order.
+     */
+    static final Comparator<UserStatisticId> ORDER = Comparator
+        .comparing(UserStatisticId::getDimension)
+        .thenComparing(UserStatisticId::getDimensionKey);
+
+    private final UserStatisticRepo userStatisticRepo;
+    private final UserRepo userRepo;
+    private final LanguageRepo languageRepo;
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), Map.of());
+
+    /**
+     * Constructor.
+     *
+     * @param userStatisticRepo {@link UserStatisticRepo}
+     * @param userRepo          {@link UserRepo}
+     * @param languageRepo      {@link LanguageRepo}
+     */
+    public UserStatistics(UserStatisticRepo userStatisticRepo, UserRepo userRepo, LanguageRepo languageRepo) {
+        this.userStatisticRepo = userStatisticRepo;
+        this.userRepo = userRepo;
+        this.languageRepo = languageRepo;
+    }
+
+    /**
+     * Returns the key a value of a user property is counted under.
+     *
+     * @param dimension {@link UserStatisticDimension} of the property.
+     * @param value     value of the property.
+     * @return key within the dimension, null if the value is not counted.
+     */
+    public static String key(UserStatisticDimension dimension, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (dimension) {
+            case STATUS, ROLE -> ((Enum<?>) value).name();
+            case LANGUAGE -> value instanceof Language language ? keyOf(language.getId()) : keyOf(value);
+            case REGISTRATION_MONTH -> YearMonth.from((LocalDateTime) value).toString();
+        };
+    }
+
+    /**
+     * Returns the amount of users with the key of the dimension.
+     *
+     * @param dimension {@link UserStatisticDimension}
+     * @param key       key within the dimension.
+     * @return amount of users.
+     */
+    public long getAmount(UserStatisticDimension dimension, String key) {
+        return snapshot.amounts().getOrDefault(new UserStatisticId(dimension, key), 0L);
+    }
+
+    /**
+     * Returns the amounts of users by the keys of the dimension, in the order of
+     * the keys. Languages are keyed by their code.
+     *
+     * @param dimension {@link UserStatisticDimension}
+     * @return map of keys to amounts of users.
+     */
+    public Map<String, Long> getAmounts(UserStatisticDimension dimension) {
+        Snapshot current = snapshot;
+        Map<String, Long> amounts = new TreeMap<>();
+        current.amounts().forEach((id, amount) -> {
+            if (id.getDimension() == dimension && amount != 0) {
+                String key = dimension == UserStatisticDimension.LANGUAGE
+                    ? current.languageCodes().getOrDefault(id.getDimensionKey(), id.getDimensionKey())
+                    : id.getDimensionKey();
+                amounts.merge(key, amount, Long::sum);
+            }
+        });
+        return amounts;
+    }
+
+    /**
+     * Adds committed changes to the snapshot.
+     *
+     * @param changes deltas of amounts by statistic.
+     */
+    public void apply(Map<UserStatisticId, Long> changes) {
+        Map<UserStatisticId, Long> amounts = snapshot.amounts();
+        changes.forEach((id, delta) -> amounts.merge(id, delta, Long::sum));
+    }
+
+    /**
+     * Records the status changes of users updated by a bulk query, which bypasses
+     * {@link UserStatisticsListener}. The changes are written in the current
+     * transaction and applied to the snapshot once it commits.
+     *
+     * @param oldStatuses statuses of the users before the update.
+     * @param newStatus   status of the users after the update.
+     */
+    public void statusesChanged(Collection<UserStatus> oldStatuses, UserStatus newStatus) {
+        Map<UserStatisticId, Long> changes = new HashMap<>();
+        for (UserStatus oldStatus : oldStatuses) {
+            if (oldStatus != newStatus) {
+                merge(changes, oldStatus, -1L);
+                merge(changes, newStatus, 1L);
+            }
+        }
+        changes.entrySet().stream()
+            .filter(change -> change.getValue() != 0)
+            .sorted(Map.Entry.comparingByKey(ORDER))
+            .forEach(change -> userStatisticRepo.increment(change.getKey().getDimension().name(),
+                change.getKey().getDimensionKey(), change.getValue()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(changes);
+                }
+            });
+        } else {
+            apply(changes);
+        }
+    }
+
+    /**
+     * Reloads the snapshot from the user_statistics table.
+     */
+    @Scheduled(fixedDelayString = "${greencity.user.statistics.refresh.interval}",
+        initialDelayString = "${greencity.user.statistics.refresh.interval}")
+    public void reload() {
+        snapshot = new Snapshot(new ConcurrentHashMap<>(findStored()), findLanguageCodes());
+    }
+
+    /**
+     * Recounts the users and corrects the statistics that drifted from the counts,
+     * then replaces the snapshot with the counts. Only one instance reconciles at a
+     * time, the others just reload. The users and the statistics are read from one
+     * snapshot of the database and corrections are added as deltas, so changes
+     * committed meanwhile are not lost. If such a change updated a corrected
+     * statistic, the reconciliation fails and is retried with the next run.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${greencity.user.statistics.reconciliation.interval}",
+        initialDelayString = "${greencity.user.statistics.reconciliation.interval}")
+    public void reconcile() {
+        if (!userStatisticRepo.tryLockReconciliation()) {
+            reload();
+            return;
+        }
+        Map<UserStatisticId, Long> counted = count();
+        Map<UserStatisticId, Long> stored = findStored();
+        Set<UserStatisticId> ids = new HashSet<>(counted.keySet());
+        ids.addAll(stored.keySet());
+        int corrected = 0;
+        for (UserStatisticId id : ids) {
+            long delta = counted.getOrDefault(id, 0L) - stored.getOrDefault(id, 0L);
+            if (delta != 0) {
+                userStatisticRepo.increment(id.getDimension().name(), id.getDimensionKey(), delta);
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Corrected {} user statistics that drifted from the users", corrected);
+        }
+        snapshot = new Snapshot(new ConcurrentHashMap<>(counted), findLanguageCodes());
+    }
+
+    private Map<UserStatisticId, Long> findStored() {
+        Map<UserStatisticId, Long> stored = new HashMap<>();
+        userStatisticRepo.findAll().forEach(statistic -> stored.put(statistic.getId(), statistic.getAmount()));
+        return stored;
+    }
+
+    private Map<String, String> findLanguageCodes() {
+        Map<String, String> languageCodes = new HashMap<>();
+        languageRepo.findAll().forEach(language -> languageCodes.put(keyOf(language.getId()), language.getCode()));
+        return languageCodes;
+    }
+
+    private Map<UserStatisticId, Long> count() {
+        Map<UserStatisticId, Long> counted = new HashMap<>();
+        put(counted, UserStatisticDimension.STATUS, userRepo.countGroupedByUserStatus(),
+            group -> key(UserStatisticDimension.STATUS, group));
+        put(counted, UserStatisticDimension.ROLE, userRepo.countGroupedByRole(),
+            group -> key(UserStatisticDimension.ROLE, group));
+        put(counted, UserStatisticDimension.LANGUAGE, userRepo.countGroupedByLanguage(),
+            group -> key(UserStatisticDimension.LANGUAGE, group));
+        put(counted, UserStatisticDimension.REGISTRATION_MONTH, userRepo.countGroupedByRegistrationMonth(),
+            group -> {
+                int month = ((Number) group).intValue();
+                return YearMonth.of(month / 100, month % 100).toString();
+            });
+        return counted;
+    }
+
+    private static void put(Map<UserStatisticId, Long> counted, UserStatisticDimension dimension,
+        List<UserGroupCountDto> groups, Function<Object, String> key) {
+        groups.stream()
+            .filter(group -> group.getGroup() != null)
+            .forEach(group -> counted.merge(new UserStatisticId(dimension, key.apply(group.getGroup())),
+                group.getAmount(), Long::sum));
+    }
+
+    private static void merge(Map<UserStatisticId, Long> changes, UserStatus status, long delta) {
+        String key = key(UserStatisticDimension.STATUS, status);
+        if (key != null) {
+            changes.merge(new UserStatisticId(UserStatisticDimension.STATUS, key), delta, Long::sum);
+        }
+    }
+
+    private static String keyOf(Object id) {
+        return id == null ? null : id.toString();
+    }
+
+    private record Snapshot(Map<UserStatisticId, Long> amounts, Map<String, String> languageCodes) {
+    }
+}
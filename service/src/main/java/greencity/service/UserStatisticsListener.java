@@ -0,0 +1,164 @@
+package greencity.service;
+
+import greencity.entity.User;
+import greencity.entity.UserStatisticId;
+import greencity.enums.UserStatisticDimension;
+import greencity.repository.UserStatisticRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the user_statistics table up to date with inserted, updated and deleted
+ * {@link User}s. The changes of a session are summed up while it is flushed and
+ * written right before its transaction commits, in that transaction, ordered by
+ * statistic so that concurrent transactions lock the rows in the same order.
+ * Once the transaction commits, they are applied to the {@link UserStatistics}
+ * snapshot.
+ */
+@Component
+public class UserStatisticsListener
+    implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final Map<String, UserStatisticDimension> DIMENSIONS = Map.of(
+        "userStatus", UserStatisticDimension.STATUS,
+        "role", UserStatisticDimension.ROLE,
+        "language", UserStatisticDimension.LANGUAGE,
+        "dateOfRegistration", UserStatisticDimension.REGISTRATION_MONTH);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserStatistics userStatistics;
+    private final Map<EventSource, Map<UserStatisticId, Long>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param entityManagerFactory {@link EntityManagerFactory}
+     * @param userStatistics       {@link UserStatistics}
+     */
+    public UserStatisticsListener(EntityManagerFactory entityManagerFactory, UserStatistics userStatistics) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.userStatistics = userStatistics;
+    }
+
+    /**
+     * Registers the listener with Hibernate.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof User) {
+            record(event.getSession(), event.getPersister(), null, event.getState());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof User && event.getOldState() != null) {
+            record(event.getSession(), event.getPersister(), event.getOldState(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof User) {
+            record(event.getSession(), event.getPersister(), event.getDeletedState(), null);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Returns the changes of the statistics caused by a change of a user.
+     *
+     * @param propertyNames names of the properties of {@link User}.
+     * @param oldState      property values before the change, null if the user is
+     *                      inserted.
+     * @param newState      property values after the change, null if the user is
+     *                      deleted.
+     * @return deltas of amounts by statistic.
+     */
+    static Map<UserStatisticId, Long> changes(String[] propertyNames, Object[] oldState, Object[] newState) {
+        Map<UserStatisticId, Long> changes = new HashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            UserStatisticDimension dimension = DIMENSIONS.get(propertyNames[i]);
+            if (dimension == null) {
+                continue;
+            }
+            String oldKey = oldState == null ? null : UserStatistics.key(dimension, oldState[i]);
+            String newKey = newState == null ? null : UserStatistics.key(dimension, newState[i]);
+            if (!Objects.equals(oldKey, newKey)) {
+                if (oldKey != null) {
+                    changes.merge(new UserStatisticId(dimension, oldKey), -1L, Long::sum);
+                }
+                if (newKey != null) {
+                    changes.merge(new UserStatisticId(dimension, newKey), 1L, Long::sum);
+                }
+            }
+        }
+        return changes;
+    }
+
+    private void record(EventSource session, EntityPersister persister, Object[] oldState, Object[] newState) {
+        Map<UserStatisticId, Long> changes = changes(persister.getPropertyNames(), oldState, newState);
+        if (!changes.isEmpty()) {
+            Map<UserStatisticId, Long> sessionChanges = pending.computeIfAbsent(session, this::registerProcesses);
+            changes.forEach((id, delta) -> sessionChanges.merge(id, delta, Long::sum));
+        }
+    }
+
+    private Map<UserStatisticId, Long> registerProcesses(EventSource session) {
+        Map<UserStatisticId, Long> sessionChanges = new HashMap<>();
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing -> {
+            pending.remove(session);
+            write(completing, sessionChanges);
+        });
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> {
+            pending.remove(session);
+            if (success) {
+                userStatistics.apply(sessionChanges);
+            }
+        });
+        return sessionChanges;
+    }
+
+    private static void write(SessionImplementor session, Map<UserStatisticId, Long> changes) {
+        changes.entrySet().stream()
+            .filter(change -> change.getValue() != 0)
+            .sorted(Map.Entry.comparingByKey(UserStatistics.ORDER))
+            .forEach(change -> session.createNativeMutationQuery(UserStatisticRepo.INCREMENT_QUERY)
+                .setParameter(1, change.getKey().getDimension().name())
+                .setParameter(2, change.getKey().getDimensionKey())
+                .setParameter(3, change.getValue())
+                .executeUpdate());
+    }
+}
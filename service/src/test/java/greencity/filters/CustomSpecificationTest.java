@@ -1,16 +1,15 @@
 package greencity.filters;
 
-import greencity.dto.user.UserManagementViewDto;
 import greencity.entity.User;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import jakarta.persistence.criteria.*;
-import java.util.ArrayList;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
@@ -18,91 +17,92 @@ class CustomSpecificationTest {
     @Mock
     private Root<User> root;
     @Mock
-    private CriteriaQuery<User> criteriaQuery;
-    @Mock
     private CriteriaBuilder criteriaBuilder;
     @Mock
     private Predicate expected;
     @Mock
     private Path<Object> objectPathExpected;
     @Mock
-    private Expression<Integer> as;
-    List<SearchCriteria> searchCriteriaList;
+    private Path<String> stringPathExpected;
+    @Mock
+    private Expression<String> lower;
     UserSpecification userSpecification;
 
     @BeforeEach
     void init() {
         MockitoAnnotations.initMocks(this);
-        searchCriteriaList = new ArrayList<>();
-        UserManagementViewDto userViewDto = UserManagementViewDto.builder()
-            .id("1")
-            .name("test")
-            .email("test@ukr.net")
-            .userCredo("test")
-            .role("1")
-            .userStatus("2")
-            .build();
-        searchCriteriaList.add(SearchCriteria.builder()
-            .key("id")
-            .type("id")
-            .value(userViewDto.getId())
-            .build());
-        searchCriteriaList.add(SearchCriteria.builder()
-            .key("name")
-            .type("name")
-            .value(userViewDto.getName())
-            .build());
-        searchCriteriaList.add(SearchCriteria.builder()
-            .key("email")
-            .type("email")
-            .value(userViewDto.getEmail())
-            .build());
-        searchCriteriaList.add(SearchCriteria.builder()
-            .key("userCredo")
-            .type("userCredo")
-            .value(userViewDto.getUserCredo())
-            .build());
-        searchCriteriaList.add(SearchCriteria.builder()
-            .key("role")
-            .type("role")
-            .value(userViewDto.getRole())
-            .build());
-        searchCriteriaList.add(SearchCriteria.builder()
-            .key("userStatus")
-            .type("userStatus")
-            .value(userViewDto.getUserStatus())
-            .build());
-        userSpecification = new UserSpecification(searchCriteriaList);
+        userSpecification = new UserSpecification(List.of());
     }
 
     @Test
     void getIdPredicate() {
-        when(root.get(searchCriteriaList.get(0).getKey())).thenReturn(objectPathExpected);
-        when(criteriaBuilder.equal(objectPathExpected, searchCriteriaList.get(0).getValue()))
-            .thenThrow(NumberFormatException.class);
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
+        when(root.get("id")).thenReturn(objectPathExpected);
+        when(criteriaBuilder.equal(objectPathExpected, 1L)).thenReturn(expected);
+        Predicate actual = userSpecification.getIdPredicate(root, criteriaBuilder, criteria("id", " 1 "));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getIdPredicateNotNumber() {
         when(criteriaBuilder.disjunction()).thenReturn(expected);
-        Predicate actual = userSpecification.getIdPredicate(root, criteriaBuilder, searchCriteriaList.get(0));
+        Predicate actual = userSpecification.getIdPredicate(root, criteriaBuilder, criteria("id", "1a"));
         assertEquals(expected, actual);
     }
 
     @Test
     void getStringPredicate() {
+        when(root.<String>get("name")).thenReturn(stringPathExpected);
+        when(criteriaBuilder.lower(stringPathExpected)).thenReturn(lower);
+        when(criteriaBuilder.like(lower, "%te\\_st\\%%", '\\')).thenReturn(expected);
+        Predicate actual = userSpecification.getStringPredicate(root, criteriaBuilder, criteria("name", "Te_st%"));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getStringPredicateEmpty() {
         when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(1).getKey())).thenReturn(objectPathExpected);
-        when(criteriaBuilder.like(any(), eq("%" + searchCriteriaList.get(1).getValue() + "%"))).thenReturn(expected);
-        Predicate actual = userSpecification.getStringPredicate(root, criteriaBuilder, searchCriteriaList.get(1));
+        Predicate actual = userSpecification.getStringPredicate(root, criteriaBuilder, criteria("name", " "));
 
         assertEquals(expected, actual);
     }
 
     @Test
     void getEnumPredicate() {
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(5).getKey())).thenReturn(objectPathExpected);
-        when(objectPathExpected.as(Integer.class)).thenReturn(as);
-        when(criteriaBuilder.equal(as, searchCriteriaList.get(5).getValue())).thenReturn(expected);
-        Predicate actual = userSpecification.getEnumPredicate(root, criteriaBuilder, searchCriteriaList.get(5));
+        when(root.get("role")).thenReturn(objectPathExpected);
+        when(criteriaBuilder.equal(eq(objectPathExpected), eq(Role.ROLE_ADMIN))).thenReturn(expected);
+        Predicate actual = userSpecification.getEnumPredicate(root, criteriaBuilder, criteria("role", "role_admin"),
+            Role.class);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void compileTextMatchesAnywhereWhateverTheLength() {
+        assertEquals(new CompiledCriterion("name", CompiledCriterion.Strategy.CONTAINS, "an"),
+            CustomSpecification.compileText(criteria("name", "An")));
+        assertEquals(new CompiledCriterion("name", CompiledCriterion.Strategy.CONTAINS, "tar"),
+            CustomSpecification.compileText(criteria("name", " TAR ")));
+        assertEquals(CompiledCriterion.Strategy.ANY,
+            CustomSpecification.compileText(criteria("email", " ")).getStrategy());
+    }
+
+    @Test
+    void compileEnumByNameOrOrdinal() {
+        assertEquals(new CompiledCriterion("userStatus", CompiledCriterion.Strategy.EQUALITY, UserStatus.ACTIVATED),
+            CustomSpecification.compileEnum(criteria("userStatus", "2"), UserStatus.class));
+        assertEquals(new CompiledCriterion("userStatus", CompiledCriterion.Strategy.EQUALITY, UserStatus.BLOCKED),
+            CustomSpecification.compileEnum(criteria("userStatus", "blocked"), UserStatus.class));
+        assertEquals(CompiledCriterion.Strategy.NONE,
+            CustomSpecification.compileEnum(criteria("userStatus", "9"), UserStatus.class).getStrategy());
+        assertEquals(CompiledCriterion.Strategy.ANY,
+            CustomSpecification.compileEnum(criteria("userStatus", ""), UserStatus.class).getStrategy());
+    }
+
+    private static SearchCriteria criteria(String key, String value) {
+        return SearchCriteria.builder()
+            .key(key)
+            .type(key)
+            .value(value)
+            .build();
+    }
+}
@@ -0,0 +1,98 @@
+package greencity.filters;
+
+import greencity.entity.User;
+import greencity.exception.exceptions.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserKeysetTest {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Test
+    void ofWithoutCursorSortsByIdTest() {
+        UserKeyset keyset = UserKeyset.of(null, FIRST_PAGE);
+
+        assertEquals(0, keyset.getPage());
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), keyset.getSort());
+    }
+
+    @Test
+    void ofWithoutCursorAddsIdToSortTest() {
+        UserKeyset keyset = UserKeyset.of("", PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "name")));
+
+        assertEquals(0, keyset.getPage());
+        assertEquals(Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id")),
+            keyset.getSort());
+    }
+
+    @Test
+    void nextCursorKeepsSortTest() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "dateOfRegistration"));
+        User last = User.builder().id(7L).dateOfRegistration(LocalDateTime.of(2024, 1, 10, 12, 0, 5)).build();
+
+        String cursor = UserKeyset.of(null, pageable).next(last);
+        UserKeyset next = UserKeyset.of(cursor, FIRST_PAGE);
+
+        assertEquals(1, next.getPage());
+        assertEquals(Sort.by(Sort.Direction.ASC, "dateOfRegistration").and(Sort.by(Sort.Direction.ASC, "id")),
+            next.getSort());
+        assertEquals(2, UserKeyset.of(next.next(last), FIRST_PAGE).getPage());
+    }
+
+    @Test
+    void ofWithUnsupportedSortTest() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("userCredo"));
+
+        assertThrows(BadRequestException.class, () -> UserKeyset.of(null, pageable));
+    }
+
+    @Test
+    void ofWithMalformedCursorTest() {
+        String notNumericId = Base64.getUrlEncoder()
+            .encodeToString("1\nid\nASC\nseven\n7".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> UserKeyset.of("not a cursor", FIRST_PAGE));
+        assertThrows(BadRequestException.class, () -> UserKeyset.of("YWJj", FIRST_PAGE));
+        assertThrows(BadRequestException.class, () -> UserKeyset.of(notNumericId, FIRST_PAGE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void toSpecificationBoundsSortKeyForIndexSeekTest() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "name"));
+        User last = User.builder().id(7L).name("Taras").build();
+        UserKeyset next = UserKeyset.of(UserKeyset.of(null, pageable).next(last), FIRST_PAGE);
+        Root<User> root = mock(Root.class);
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class);
+        Path<String> name = mock(Path.class);
+        Path<Long> id = mock(Path.class);
+        Predicate fromName = mock(Predicate.class);
+        Predicate afterName = mock(Predicate.class);
+        Predicate afterId = mock(Predicate.class);
+        Predicate afterNameOrId = mock(Predicate.class);
+        Predicate expected = mock(Predicate.class);
+        when(root.<String>get("name")).thenReturn(name);
+        when(root.<Long>get("id")).thenReturn(id);
+        when(criteriaBuilder.greaterThanOrEqualTo(name, "Taras")).thenReturn(fromName);
+        when(criteriaBuilder.greaterThan(name, "Taras")).thenReturn(afterName);
+        when(criteriaBuilder.greaterThan(id, 7L)).thenReturn(afterId);
+        when(criteriaBuilder.or(afterName, afterId)).thenReturn(afterNameOrId);
+        when(criteriaBuilder.and(fromName, afterNameOrId)).thenReturn(expected);
+
+        assertEquals(expected, next.toSpecification().toPredicate(root, null, criteriaBuilder));
+    }
+}
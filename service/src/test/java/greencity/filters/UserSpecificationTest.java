@@ -2,6 +2,8 @@ package greencity.filters;
 
 import greencity.dto.user.UserManagementViewDto;
 import greencity.entity.User;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,7 +31,7 @@ class UserSpecificationTest {
     @Mock
     private Path<Object> objectPathExpected;
     @Mock
-    private Expression<Integer> as;
+    private Expression<String> lower;
     List<SearchCriteria> searchCriteriaList;
     UserSpecification userSpecification;
 
@@ -78,37 +80,37 @@ class UserSpecificationTest {
         userSpecification = new UserSpecification(searchCriteriaList);
     }
 
+    @Test
+    void compilesCriteria() {
+        assertEquals(List.of(
+            new CompiledCriterion("id", CompiledCriterion.Strategy.EQUALITY, 1L),
+            new CompiledCriterion("name", CompiledCriterion.Strategy.CONTAINS, "test"),
+            new CompiledCriterion("email", CompiledCriterion.Strategy.CONTAINS, "test@ukr.net"),
+            new CompiledCriterion("userCredo", CompiledCriterion.Strategy.CONTAINS, "test"),
+            new CompiledCriterion("role", CompiledCriterion.Strategy.EQUALITY, Role.ROLE_ADMIN),
+            new CompiledCriterion("userStatus", CompiledCriterion.Strategy.EQUALITY, UserStatus.ACTIVATED)),
+            userSpecification.getCriteria());
+    }
+
+    @Test
+    void ignoresUnknownCriteria() {
+        UserSpecification specification = new UserSpecification(List.of(SearchCriteria.builder()
+            .key("city")
+            .type("city")
+            .value("Lviv")
+            .build()));
+
+        assertTrue(specification.getCriteria().isEmpty());
+    }
+
     @Test
     void toPredicate() {
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(0).getKey())).thenReturn(objectPathExpected);
-        when(criteriaBuilder.equal(objectPathExpected, searchCriteriaList.get(0).getValue()))
-            .thenThrow(NumberFormatException.class);
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(criteriaBuilder.disjunction()).thenReturn(expected);
-        when(criteriaBuilder.and(expected, expected)).thenReturn(expected);
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(1).getKey())).thenReturn(objectPathExpected);
-        when(criteriaBuilder.and(expected, expected)).thenReturn(expected);
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(2).getKey())).thenReturn(objectPathExpected);
-        when(criteriaBuilder.like(any(), eq("%" + searchCriteriaList.get(2).getValue() + "%"))).thenReturn(expected);
-        when(criteriaBuilder.and(expected, expected)).thenReturn(expected);
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(3).getKey())).thenReturn(objectPathExpected);
-        when(criteriaBuilder.like(any(), eq("%" + searchCriteriaList.get(3).getValue() + "%"))).thenReturn(expected);
-        when(criteriaBuilder.and(expected, expected)).thenReturn(expected);
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(4).getKey())).thenReturn(objectPathExpected);
-        when(objectPathExpected.as(Integer.class)).thenReturn(as);
-        when(criteriaBuilder.equal(as, searchCriteriaList.get(4).getValue())).thenReturn(expected);
-        when(criteriaBuilder.and(expected, expected)).thenReturn(expected);
-        when(criteriaBuilder.conjunction()).thenReturn(expected);
-        when(root.get(searchCriteriaList.get(5).getKey())).thenReturn(objectPathExpected);
-        when(objectPathExpected.as(Integer.class)).thenReturn(as);
-        when(criteriaBuilder.equal(as, searchCriteriaList.get(5).getValue())).thenReturn(expected);
-        when(criteriaBuilder.and(expected, expected)).thenReturn(expected);
+        when(root.get(any(String.class))).thenReturn(objectPathExpected);
+        when(criteriaBuilder.lower(any())).thenReturn(lower);
+        when(criteriaBuilder.equal(eq(objectPathExpected), any(Object.class))).thenReturn(expected);
+        when(criteriaBuilder.like(eq(lower), any(String.class), eq('\\'))).thenReturn(expected);
+        when(criteriaBuilder.and(expected, expected, expected, expected, expected, expected)).thenReturn(expected);
         Predicate actual = userSpecification.toPredicate(root, criteriaQuery, criteriaBuilder);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package greencity.mapping;
+
+import greencity.ModelUtils;
+import greencity.dto.user.UserForListDto;
+import greencity.entity.User;
+import greencity.enums.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserForListDtoMapperTest {
+    @InjectMocks
+    UserForListDtoMapper mapper;
+
+    @Test
+    void convert() {
+        User user = ModelUtils.getUser();
+        user.setUserCredo("credo");
+        user.setUserStatus(UserStatus.ACTIVATED);
+        user.setDateOfRegistration(LocalDateTime.of(2020, 6, 6, 13, 47));
+
+        UserForListDto expected = UserForListDto.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .dateOfRegistration(LocalDateTime.of(2020, 6, 6, 13, 47))
+            .email(user.getEmail())
+            .userStatus(UserStatus.ACTIVATED)
+            .role(user.getRole())
+            .userCredo("credo")
+            .build();
+
+        assertEquals(expected, mapper.convert(user));
+    }
+}
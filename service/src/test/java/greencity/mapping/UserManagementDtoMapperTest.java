@@ -0,0 +1,36 @@
+package greencity.mapping;
+
+import greencity.ModelUtils;
+import greencity.dto.user.UserManagementDto;
+import greencity.entity.User;
+import greencity.enums.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserManagementDtoMapperTest {
+    @InjectMocks
+    UserManagementDtoMapper mapper;
+
+    @Test
+    void convert() {
+        User user = ModelUtils.getUser();
+        user.setUserCredo("credo");
+        user.setUserStatus(UserStatus.ACTIVATED);
+
+        UserManagementDto expected = UserManagementDto.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .email(user.getEmail())
+            .userCredo("credo")
+            .role(user.getRole())
+            .userStatus(UserStatus.ACTIVATED)
+            .build();
+
+        assertEquals(expected, mapper.convert(user));
+    }
+}
@@ -0,0 +1,36 @@
+package greencity.mapping;
+
+import greencity.ModelUtils;
+import greencity.dto.user.UserManagementVO;
+import greencity.entity.User;
+import greencity.enums.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserManagementVOMapperTest {
+    @InjectMocks
+    UserManagementVOMapper mapper;
+
+    @Test
+    void convert() {
+        User user = ModelUtils.getUser();
+        user.setUserCredo("credo");
+        user.setUserStatus(UserStatus.BLOCKED);
+
+        UserManagementVO expected = UserManagementVO.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .email(user.getEmail())
+            .userCredo("credo")
+            .role(user.getRole())
+            .userStatus(UserStatus.BLOCKED)
+            .build();
+
+        assertEquals(expected, mapper.convert(user));
+    }
+}
@@ -0,0 +1,50 @@
+package greencity.mapping;
+
+import greencity.ModelUtils;
+import greencity.dto.user.UserProfileDtoResponse;
+import greencity.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProfileDtoResponseMapperTest {
+    @InjectMocks
+    UserProfileDtoResponseMapper mapper;
+
+    @Test
+    void convert() {
+        User user = ModelUtils.getUser();
+        user.setProfilePicturePath("picture");
+        user.setCity("Lviv");
+        user.setUserCredo("credo");
+        user.setShowLocation(true);
+        user.setShowEcoPlace(false);
+        user.setShowShoppingList(true);
+        user.setRating(13.5);
+
+        UserProfileDtoResponse expected = UserProfileDtoResponse.builder()
+            .profilePicturePath("picture")
+            .name(user.getName())
+            .city("Lviv")
+            .userCredo("credo")
+            .showLocation(true)
+            .showEcoPlace(false)
+            .showShoppingList(true)
+            .rating(13.5f)
+            .role(user.getRole())
+            .build();
+
+        assertEquals(expected, mapper.convert(user));
+    }
+
+    @Test
+    void convertWithoutRating() {
+        User user = ModelUtils.getUser();
+
+        assertNull(mapper.convert(user).getRating());
+    }
+}
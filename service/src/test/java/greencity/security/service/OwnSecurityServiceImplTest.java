@@ -3,6 +3,7 @@ package greencity.security.service;
 import greencity.TestConst;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -10,6 +11,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,7 +21,9 @@ import greencity.ModelUtils;
 import greencity.constant.ErrorMessage;
 import greencity.dto.ownsecurity.OwnSecurityVO;
 import greencity.dto.user.UserAdminRegistrationDto;
+import greencity.dto.user.UserCredentialsDto;
 import greencity.dto.user.UserManagementDto;
+import greencity.dto.user.UserRefreshTokenDto;
 import greencity.dto.user.UserVO;
 import greencity.dto.verifyemail.VerifyEmailVO;
 import greencity.entity.Language;
@@ -38,6 +42,7 @@ import greencity.exception.exceptions.UserDeactivatedException;
 import greencity.exception.exceptions.WrongEmailException;
 import greencity.exception.exceptions.WrongPasswordException;
 import greencity.repository.UserRepo;
+import greencity.security.dto.SuccessSignInDto;
 import greencity.security.dto.ownsecurity.EmployeeSignUpDto;
 import greencity.security.dto.ownsecurity.OwnSignInDto;
 import greencity.security.dto.ownsecurity.OwnSignUpDto;
@@ -47,11 +52,21 @@ import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
 import greencity.service.EmailService;
+import greencity.service.UserPrefixIndex;
 import greencity.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -62,7 +77,6 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -75,7 +89,7 @@ class OwnSecurityServiceImplTest {
     UserService userService;
 
     @Mock
-    PasswordEncoder passwordEncoder;
+    PasswordHashingService passwordHashingService;
 
     @Mock
     JwtTool jwtTool;
@@ -92,20 +106,23 @@ class OwnSecurityServiceImplTest {
     @Mock
     EmailService emailService;
 
+    @Mock
+    UserPrefixIndex userPrefixIndex;
+
     private OwnSecurityService ownSecurityService;
 
     private UserVO verifiedUser;
     private OwnSignInDto ownSignInDto;
-    private UserVO notVerifiedUser;
     private UpdatePasswordDto updatePasswordDto;
     private UserManagementDto userManagementDto;
+    private UserRefreshTokenDto refreshTokenOwner;
 
     @BeforeEach
     public void init() {
         initMocks(this);
-        ownSecurityService = new OwnSecurityServiceImpl(ownSecurityRepo, userService, passwordEncoder,
+        ownSecurityService = new OwnSecurityServiceImpl(ownSecurityRepo, userService, passwordHashingService,
             jwtTool, 1, restorePasswordEmailRepo, modelMapper,
-            userRepo, emailService);
+            userRepo, emailService, userPrefixIndex);
 
         verifiedUser = UserVO.builder()
             .email("test@gmail.com")
@@ -118,18 +135,12 @@ class OwnSecurityServiceImplTest {
             .email("test@gmail.com")
             .password("password")
             .build();
-        notVerifiedUser = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.ACTIVATED)
-            .verifyEmail(new VerifyEmailVO())
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
         updatePasswordDto = UpdatePasswordDto.builder()
             .password("newPassword")
             .confirmPassword("newPassword")
             .build();
+        refreshTokenOwner =
+            new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER, UserStatus.ACTIVATED, "old-key");
         userManagementDto = UserManagementDto.builder()
             .name(TestConst.NAME)
             .email(TestConst.EMAIL)
@@ -169,99 +180,95 @@ class OwnSecurityServiceImplTest {
 
     @Test
     void signIn() {
-        when(userService.findByEmail(anyString())).thenReturn(verifiedUser);
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(userRepo.findCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(credentials(UserStatus.ACTIVATED, "password", false)));
+        when(passwordHashingService.matches(anyString(), anyString())).thenReturn(true);
         when(jwtTool.createAccessToken(anyString(), any(Role.class))).thenReturn("new-access-token");
         when(jwtTool.createRefreshToken(any(UserVO.class))).thenReturn("new-refresh-token");
 
-        ownSecurityService.signIn(ownSignInDto);
+        SuccessSignInDto result = ownSecurityService.signIn(ownSignInDto);
 
-        verify(userService, times(1)).findByEmail(anyString());
-        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
-        verify(jwtTool, times(1)).createAccessToken(anyString(), any(Role.class));
-        verify(jwtTool, times(1)).createRefreshToken(any(UserVO.class));
+        assertEquals(new SuccessSignInDto(1L, "new-access-token", "new-refresh-token", "Name", true), result);
+        verify(passwordHashingService, times(1)).matches("password", "password");
+        verify(jwtTool, times(1)).createAccessToken("test@gmail.com", Role.ROLE_USER);
+        verify(jwtTool, times(1)).createRefreshToken(UserVO.builder()
+            .id(1L)
+            .email("test@gmail.com")
+            .role(Role.ROLE_USER)
+            .refreshTokenKey("refresh-key")
+            .build());
+        verify(userService, never()).findByEmail(anyString());
     }
 
     @Test
     void signInNotVerifiedUser() {
-        when(userService.findByEmail(anyString())).thenReturn(notVerifiedUser);
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtTool.createAccessToken(anyString(), any(Role.class))).thenReturn("new-access-token");
-        when(jwtTool.createRefreshToken(any(UserVO.class))).thenReturn("new-refresh-token");
+        when(userRepo.findCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(credentials(UserStatus.ACTIVATED, "password", true)));
+        when(passwordHashingService.matches(anyString(), anyString())).thenReturn(true);
         assertThrows(EmailNotVerified.class,
             () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInNullUserTest() {
-        when(userService.findByEmail("test@gmail.com")).thenReturn(null);
+        when(userRepo.findCredentialsByEmail("test@gmail.com")).thenReturn(Optional.empty());
         assertThrows(WrongEmailException.class, () -> ownSecurityService.signIn(ownSignInDto));
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
     }
 
     @Test
     void signInWrongPasswordTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.ACTIVATED)
-            .ownSecurity(null)
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        when(userRepo.findCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(credentials(UserStatus.ACTIVATED, null, false)));
         assertThrows(WrongPasswordException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInDeactivatedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.DEACTIVATED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
-        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(userRepo.findCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(credentials(UserStatus.DEACTIVATED, "password", false)));
+        when(passwordHashingService.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInBlockedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.BLOCKED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
-        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(userRepo.findCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(credentials(UserStatus.BLOCKED, "password", false)));
+        when(passwordHashingService.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInCreatedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.CREATED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
-        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(userRepo.findCredentialsByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(credentials(UserStatus.CREATED, "password", false)));
+        when(passwordHashingService.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
+    private static UserCredentialsDto credentials(UserStatus userStatus, String password,
+        boolean emailVerificationPending) {
+        return new UserCredentialsDto(1L, "test@gmail.com", "Name", Role.ROLE_USER, userStatus, "refresh-key",
+            password, emailVerificationPending);
+    }
+
     @Test
     void updateAccessTokensTest() {
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findRefreshTokenOwnerByEmail("test@gmail.com")).thenReturn(Optional.of(refreshTokenOwner));
+        when(jwtTool.isTokenValid("12345", "old-key")).thenReturn(true);
         when(jwtTool.generateTokenKey()).thenReturn("token-key");
-        when(jwtTool.isTokenValid("12345", verifiedUser.getRefreshTokenKey())).thenReturn(true);
+        when(userRepo.rotateRefreshTokenKey(1L, "old-key", "token-key")).thenReturn(1);
         ownSecurityService.updateAccessTokens("12345");
         verify(jwtTool).createAccessToken(verifiedUser.getEmail(), verifiedUser.getRole());
-        verify(jwtTool).createRefreshToken(verifiedUser);
+        verify(jwtTool).createRefreshToken(UserVO.builder()
+            .id(1L)
+            .email(verifiedUser.getEmail())
+            .role(verifiedUser.getRole())
+            .refreshTokenKey("token-key")
+            .build());
+        verify(userService, never()).findByEmail(anyString());
     }
 
     @Test
@@ -274,33 +281,93 @@ class OwnSecurityServiceImplTest {
     @Test
     void updateAccessTokensBadRefreshTokenTest() {
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
-        when(jwtTool.isTokenValid("12345", verifiedUser.getRefreshTokenKey())).thenReturn(false);
+        when(userRepo.findRefreshTokenOwnerByEmail("test@gmail.com")).thenReturn(Optional.of(refreshTokenOwner));
+        when(jwtTool.isTokenValid("12345", "old-key")).thenReturn(false);
         assertThrows(BadRefreshTokenException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
+        verify(userRepo, never()).rotateRefreshTokenKey(any(), any(), any());
+        verify(userRepo, never()).updateUserRefreshToken(any(), any());
+    }
+
+    @Test
+    void updateAccessTokensUnknownUserTest() {
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findRefreshTokenOwnerByEmail("test@gmail.com")).thenReturn(Optional.empty());
+        assertThrows(BadRefreshTokenException.class,
+            () -> ownSecurityService.updateAccessTokens("12345"));
+    }
+
+    @Test
+    void updateAccessTokensAlreadyRotatedTest() {
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findRefreshTokenOwnerByEmail("test@gmail.com")).thenReturn(Optional.of(refreshTokenOwner));
+        when(jwtTool.isTokenValid("12345", "old-key")).thenReturn(true);
+        when(jwtTool.generateTokenKey()).thenReturn("token-key");
+        when(userRepo.rotateRefreshTokenKey(1L, "old-key", "token-key")).thenReturn(0);
+        assertThrows(BadRefreshTokenException.class,
+            () -> ownSecurityService.updateAccessTokens("12345"));
+        verify(jwtTool, never()).createRefreshToken(any());
+    }
+
+    @Test
+    void updateAccessTokensConcurrentlyTest() throws Exception {
+        int threads = 8;
+        AtomicReference<String> storedKey = new AtomicReference<>("old-key");
+        AtomicInteger generatedKeys = new AtomicInteger();
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findRefreshTokenOwnerByEmail("test@gmail.com")).thenReturn(Optional.of(refreshTokenOwner));
+        when(jwtTool.isTokenValid("12345", "old-key")).thenReturn(true);
+        when(jwtTool.generateTokenKey()).thenAnswer(invocation -> "key-" + generatedKeys.incrementAndGet());
+        when(userRepo.rotateRefreshTokenKey(eq(1L), anyString(), anyString())).thenAnswer(
+            invocation -> storedKey.compareAndSet(invocation.getArgument(1), invocation.getArgument(2)) ? 1 : 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    ownSecurityService.updateAccessTokens("12345");
+                    return true;
+                } catch (BadRefreshTokenException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            succeeded += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, succeeded);
+        assertNotEquals("old-key", storedKey.get());
+        verify(jwtTool, times(1)).createRefreshToken(any());
     }
 
     @Test
     void updateAccessTokensBlockedUserTest() {
-        verifiedUser.setUserStatus(UserStatus.BLOCKED);
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findRefreshTokenOwnerByEmail("test@gmail.com")).thenReturn(Optional.of(
+            new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER, UserStatus.BLOCKED, "old-key")));
         assertThrows(UserBlockedException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
 
     @Test
     void updateAccessTokensDeactivatedUserTest() {
-        verifiedUser.setUserStatus(UserStatus.DEACTIVATED);
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findRefreshTokenOwnerByEmail("test@gmail.com")).thenReturn(Optional.of(
+            new UserRefreshTokenDto(1L, "test@gmail.com", Role.ROLE_USER, UserStatus.DEACTIVATED, "old-key")));
         assertThrows(UserDeactivatedException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
 
     @Test
     void updatePasswordTest() {
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
+        when(passwordHashingService.encode("password")).thenReturn("encodedPassword");
         ownSecurityService.updatePassword("password", 1L);
         verify(ownSecurityRepo).updatePassword("encodedPassword", 1L);
     }
@@ -308,7 +375,8 @@ class OwnSecurityServiceImplTest {
     @Test
     void updateCurrentPasswordTest() {
         when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
-        when(passwordEncoder.encode(updatePasswordDto.getPassword())).thenReturn(updatePasswordDto.getPassword());
+        when(passwordHashingService.encode(updatePasswordDto.getPassword()))
+            .thenReturn(updatePasswordDto.getPassword());
         ownSecurityService.updateCurrentPassword(updatePasswordDto, "test@gmail.com");
         verify(ownSecurityRepo).updatePassword(updatePasswordDto.getPassword(), 1L);
     }
@@ -0,0 +1,105 @@
+package greencity.security.service;
+
+import greencity.exception.exceptions.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashingServiceImplTest {
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void encodeTest() {
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder, 1, 1, 1, meterRegistry);
+        when(passwordEncoder.encode("password")).thenReturn("encoded");
+
+        assertEquals("encoded", passwordHashingService.encode("password"));
+        assertEquals(1, meterRegistry.get("greencity.security.password.hashing.queue.time").timer().count());
+    }
+
+    @Test
+    void matchesTest() {
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder, 1, 1, 1, meterRegistry);
+        when(passwordEncoder.matches("password", "encoded")).thenReturn(true);
+
+        assertTrue(passwordHashingService.matches("password", "encoded"));
+    }
+
+    @Test
+    void encodeRethrowsEncoderExceptionTest() {
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder, 1, 1, 1, meterRegistry);
+        when(passwordEncoder.encode("password")).thenThrow(new IllegalArgumentException("bad password"));
+
+        assertThrows(IllegalArgumentException.class, () -> passwordHashingService.encode("password"));
+    }
+
+    @Test
+    void encodeRejectsWhenQueueIsFullTest() throws Exception {
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder, 1, 1, 3, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode("password")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "encoded";
+        });
+
+        CompletableFuture<String> running =
+            CompletableFuture.supplyAsync(() -> passwordHashingService.encode("password"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued =
+            CompletableFuture.supplyAsync(() -> passwordHashingService.encode("password"));
+        awaitQueueSize(1);
+
+        PasswordHashingOverloadedException exception = assertThrows(PasswordHashingOverloadedException.class,
+            () -> passwordHashingService.encode("password"));
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("greencity.security.password.hashing.rejections").counter().count());
+
+        release.countDown();
+        assertEquals("encoded", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void queueCapacityKeepsMostRequestThreadsFreeTest() {
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder, 2, 200, 25, 1, meterRegistry);
+        when(passwordEncoder.encode("password")).thenReturn("encoded");
+
+        assertEquals("encoded", passwordHashingService.encode("password"));
+        assertEquals(42, PasswordHashingServiceImpl.queueCapacity(8, 200, 25));
+        assertEquals(1, PasswordHashingServiceImpl.queueCapacity(64, 200, 25));
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("greencity.security.password.hashing.queue.size").gauge().value() < size
+            && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
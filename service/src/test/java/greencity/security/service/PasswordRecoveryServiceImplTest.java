@@ -18,7 +18,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
@@ -46,7 +45,7 @@ class PasswordRecoveryServiceImplTest {
     @Mock
     private OwnSecurityRepo ownSecurityRepo;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     @InjectMocks
     private PasswordRecoveryServiceImpl passwordRecoveryService;
 
@@ -111,7 +110,7 @@ class PasswordRecoveryServiceImplTest {
 
         when(restorePasswordEmailRepo.findByToken(TEST_OWN_RESTORE_DTO.getToken()))
             .thenReturn(ofNullable(TEST_RESTORE_PASSWORD_EMAIL));
-        when(passwordEncoder.encode(TEST_OWN_RESTORE_DTO.getPassword())).thenReturn("test23");
+        when(passwordHashingService.encode(TEST_OWN_RESTORE_DTO.getPassword())).thenReturn("test23");
         when(ownSecurityRepo.findByUserId(2L)).thenReturn(ofNullable(TEST_OWN_SECURITY));
         when(ownSecurityRepo.save(TEST_OWN_SECURITY)).thenReturn(TEST_OWN_SECURITY);
         doNothing().when(emailService).sendSuccessRestorePasswordByEmail(user.getEmail(),
@@ -124,7 +123,7 @@ class PasswordRecoveryServiceImplTest {
         verify(emailService).sendSuccessRestorePasswordByEmail(user.getEmail(), user.getLanguage().getCode(),
             user.getName(), true);
         verify(restorePasswordEmailRepo).findByToken(TEST_OWN_RESTORE_DTO.getToken());
-        verify(passwordEncoder).encode(TEST_OWN_RESTORE_DTO.getPassword());
+        verify(passwordHashingService).encode(TEST_OWN_RESTORE_DTO.getPassword());
         verify(ownSecurityRepo).findByUserId(2L);
         verify(ownSecurityRepo).save(TEST_OWN_SECURITY);
         verify(applicationEventPublisher).publishEvent(any());
@@ -139,7 +138,7 @@ class PasswordRecoveryServiceImplTest {
 
         when(restorePasswordEmailRepo.findByToken(TEST_OWN_RESTORE_DTO.getToken()))
             .thenReturn(ofNullable(TEST_RESTORE_PASSWORD_EMAIL));
-        when(passwordEncoder.encode(TEST_OWN_RESTORE_DTO.getPassword())).thenReturn("test23");
+        when(passwordHashingService.encode(TEST_OWN_RESTORE_DTO.getPassword())).thenReturn("test23");
         when(ownSecurityRepo.findByUserId(2L)).thenReturn(empty());
         when(userRepo.findById(2L)).thenReturn(ofNullable(TEST_USER));
         doNothing().when(emailService).sendSuccessRestorePasswordByEmail(user.getEmail(),
@@ -152,7 +151,7 @@ class PasswordRecoveryServiceImplTest {
         verify(emailService).sendSuccessRestorePasswordByEmail(user.getEmail(), user.getLanguage().getCode(),
             user.getName(), false);
         verify(restorePasswordEmailRepo).findByToken(TEST_OWN_RESTORE_DTO.getToken());
-        verify(passwordEncoder).encode(TEST_OWN_RESTORE_DTO.getPassword());
+        verify(passwordHashingService).encode(TEST_OWN_RESTORE_DTO.getPassword());
         verify(ownSecurityRepo).findByUserId(2L);
         verify(userRepo).findById(2L);
         verify(applicationEventPublisher).publishEvent(any());
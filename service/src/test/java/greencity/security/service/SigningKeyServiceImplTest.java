@@ -0,0 +1,215 @@
+package greencity.security.service;
+
+import greencity.entity.JwtSigningKey;
+import greencity.repository.JwtSigningKeyRepo;
+import greencity.security.dto.JwkDto;
+import greencity.security.dto.JwkSetDto;
+import greencity.security.jwt.SigningKey;
+import greencity.security.jwt.SigningKeyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SigningKeyServiceImplTest {
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 10, 12, 0);
+    private static final Duration ROTATION_INTERVAL = Duration.ofDays(7);
+    private static final Duration PUBLISH_DELAY = Duration.ofHours(1);
+    private static final Duration ACCESS_TOKEN_LIFETIME = Duration.ofMinutes(15);
+    private static final SecretKeySpec ENCRYPTION_KEY = new SecretKeySpec(new byte[32], "AES");
+
+    @Mock
+    private JwtSigningKeyRepo jwtSigningKeyRepo;
+
+    private SigningKeyStore signingKeyStore;
+
+    @BeforeEach
+    void setUp() {
+        signingKeyStore = new SigningKeyStore();
+    }
+
+    @Test
+    void refreshKeysCreatesFirstKeyTest() {
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW)).thenReturn(List.of());
+        when(jwtSigningKeyRepo.saveAndFlush(any(JwtSigningKey.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        createService(true).refreshKeys();
+
+        ArgumentCaptor<JwtSigningKey> captor = ArgumentCaptor.forClass(JwtSigningKey.class);
+        verify(jwtSigningKeyRepo).deleteAllExpired(NOW);
+        verify(jwtSigningKeyRepo).saveAndFlush(captor.capture());
+        JwtSigningKey created = captor.getValue();
+        assertEquals(NOW, created.getCreatedAt());
+        assertEquals("", created.getPreviousKid());
+        assertEquals(NOW.plus(ROTATION_INTERVAL).plus(PUBLISH_DELAY).plus(ACCESS_TOKEN_LIFETIME),
+            created.getExpiresAt());
+        assertFalse(signingKeyStore.getSigningKey().isPresent());
+        assertTrue(signingKeyStore.getVerificationKey(created.getKid()).isPresent());
+    }
+
+    @Test
+    void refreshKeysSignsWithPublishedKeyTest() throws Exception {
+        JwtSigningKey published = generateKey("published", NOW.minus(PUBLISH_DELAY));
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW)).thenReturn(List.of(published));
+
+        createService(true).refreshKeys();
+
+        verify(jwtSigningKeyRepo, never()).saveAndFlush(any());
+        assertEquals("published", signingKeyStore.getSigningKey().map(SigningKey::getKid).orElse(null));
+    }
+
+    @Test
+    void refreshKeysRotatesKeyTest() throws Exception {
+        JwtSigningKey current = generateKey("current", NOW.minus(ROTATION_INTERVAL));
+        JwtSigningKey previous = generateKey("previous", NOW.minus(ROTATION_INTERVAL).minusDays(7));
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW))
+            .thenReturn(List.of(current, previous));
+        when(jwtSigningKeyRepo.saveAndFlush(any(JwtSigningKey.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        createService(true).refreshKeys();
+
+        ArgumentCaptor<JwtSigningKey> captor = ArgumentCaptor.forClass(JwtSigningKey.class);
+        verify(jwtSigningKeyRepo).saveAndFlush(captor.capture());
+        assertEquals("current", captor.getValue().getPreviousKid());
+        assertEquals("current", signingKeyStore.getSigningKey().map(SigningKey::getKid).orElse(null));
+        assertEquals(3, signingKeyStore.getVerificationKeys().size());
+        assertTrue(signingKeyStore.getVerificationKey("previous").isPresent());
+    }
+
+    @Test
+    void refreshKeysLoadsKeyCreatedByAnotherInstanceTest() throws Exception {
+        JwtSigningKey current = generateKey("current", NOW.minus(ROTATION_INTERVAL));
+        JwtSigningKey rotated = generateKey("rotated", NOW.minusMinutes(1));
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW))
+            .thenReturn(List.of(current), List.of(rotated, current));
+        when(jwtSigningKeyRepo.saveAndFlush(any(JwtSigningKey.class)))
+            .thenThrow(new DataIntegrityViolationException("uk_jwt_signing_keys_previous_kid"));
+
+        createService(true).refreshKeys();
+
+        assertEquals("current", signingKeyStore.getSigningKey().map(SigningKey::getKid).orElse(null));
+        assertEquals(2, signingKeyStore.getVerificationKeys().size());
+        assertTrue(signingKeyStore.getVerificationKey("rotated").isPresent());
+    }
+
+    @Test
+    void refreshKeysStoresEncryptedPrivateKeyTest() {
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW)).thenReturn(List.of());
+        when(jwtSigningKeyRepo.saveAndFlush(any(JwtSigningKey.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        createService(true).refreshKeys();
+
+        ArgumentCaptor<JwtSigningKey> captor = ArgumentCaptor.forClass(JwtSigningKey.class);
+        verify(jwtSigningKeyRepo).saveAndFlush(captor.capture());
+        JwtSigningKey created = captor.getValue();
+        SigningKey loaded = signingKeyStore.getVerificationKeys().iterator().next();
+        assertNotEquals(Base64.getEncoder().encodeToString(loaded.getPrivateKey().getEncoded()),
+            created.getPrivateKey());
+
+        created.setKid("moved");
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW)).thenReturn(List.of(created));
+        SigningKeyServiceImpl service = createService(true);
+        assertThrows(IllegalStateException.class, service::refreshKeys);
+    }
+
+    @Test
+    void refreshKeysWithHmacSigningTest() throws Exception {
+        JwtSigningKey published = generateKey("published", NOW.minus(ROTATION_INTERVAL));
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW)).thenReturn(List.of(published));
+
+        createService(false).refreshKeys();
+
+        verify(jwtSigningKeyRepo, never()).saveAndFlush(any());
+        assertFalse(signingKeyStore.getSigningKey().isPresent());
+        assertTrue(signingKeyStore.getVerificationKey("published").isPresent());
+    }
+
+    @Test
+    void refreshKeysWithHmacSigningWithoutEncryptionKeyTest() throws Exception {
+        JwtSigningKey published = generateKey("published", NOW.minus(ROTATION_INTERVAL));
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(any())).thenReturn(List.of(published));
+
+        new SigningKeyServiceImpl(jwtSigningKeyRepo, signingKeyStore, "HS256", ROTATION_INTERVAL.toMillis(),
+            PUBLISH_DELAY.toMillis(), (int) ACCESS_TOKEN_LIFETIME.toMinutes(), "").refreshKeys();
+
+        assertFalse(signingKeyStore.getSigningKey().isPresent());
+        assertTrue(signingKeyStore.getVerificationKey("published").isPresent());
+    }
+
+    @Test
+    void constructorRequiresEncryptionKeyForEs256Test() {
+        long rotationInterval = ROTATION_INTERVAL.toMillis();
+        long publishDelay = PUBLISH_DELAY.toMillis();
+        int accessTokenLifetime = (int) ACCESS_TOKEN_LIFETIME.toMinutes();
+
+        assertThrows(IllegalStateException.class, () -> new SigningKeyServiceImpl(jwtSigningKeyRepo,
+            signingKeyStore, "ES256", rotationInterval, publishDelay, accessTokenLifetime, ""));
+    }
+
+    @Test
+    void getPublicKeysTest() throws Exception {
+        when(jwtSigningKeyRepo.findAllByExpiresAtAfterOrderByCreatedAtDesc(NOW))
+            .thenReturn(List.of(generateKey("published", NOW.minus(PUBLISH_DELAY))));
+        SigningKeyServiceImpl signingKeyService = createService(true);
+        signingKeyService.refreshKeys();
+
+        JwkSetDto jwkSet = signingKeyService.getPublicKeys();
+
+        assertEquals(1, jwkSet.getKeys().size());
+        JwkDto jwk = jwkSet.getKeys().getFirst();
+        assertEquals("EC", jwk.getKty());
+        assertEquals("P-256", jwk.getCrv());
+        assertEquals("published", jwk.getKid());
+        assertEquals("sig", jwk.getUse());
+        assertEquals("ES256", jwk.getAlg());
+        assertEquals(32, Base64.getUrlDecoder().decode(jwk.getPointX()).length);
+        assertEquals(32, Base64.getUrlDecoder().decode(jwk.getPointY()).length);
+    }
+
+    private SigningKeyServiceImpl createService(boolean signingEnabled) {
+        return new SigningKeyServiceImpl(jwtSigningKeyRepo, signingKeyStore, signingEnabled, ROTATION_INTERVAL,
+            PUBLISH_DELAY, ACCESS_TOKEN_LIFETIME, ENCRYPTION_KEY, Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE));
+    }
+
+    private JwtSigningKey generateKey(String kid, LocalDateTime createdAt) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        return JwtSigningKey.builder()
+            .kid(kid)
+            .privateKey(createService(false).encrypt(kid, keyPair.getPrivate().getEncoded()))
+            .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+            .createdAt(createdAt)
+            .expiresAt(createdAt.plusDays(30))
+            .build();
+    }
+}
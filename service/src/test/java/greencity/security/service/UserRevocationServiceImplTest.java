@@ -0,0 +1,82 @@
+package greencity.security.service;
+
+import greencity.dto.user.UserStatusChangeDto;
+import greencity.enums.UserStatus;
+import greencity.repository.UserRepo;
+import greencity.security.cache.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRevocationServiceImplTest {
+    private static final LocalDateTime LAST_UPDATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private UserRepo userRepo;
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private UserRevocationServiceImpl userRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        userRevocationService = new UserRevocationServiceImpl(userRepo, verifiedTokenCache, 60000);
+    }
+
+    @Test
+    void loadRevokedUsersTest() {
+        when(userRepo.findLastStatusUpdateTime()).thenReturn(Optional.of(LAST_UPDATE));
+        when(userRepo.findAllIdsByUserStatusIn(any())).thenReturn(List.of(7L, 3L));
+
+        userRevocationService.loadRevokedUsers();
+
+        assertTrue(userRevocationService.isRevoked(3L));
+        assertTrue(userRevocationService.isRevoked(7L));
+        assertFalse(userRevocationService.isRevoked(5L));
+        assertFalse(userRevocationService.isRevoked(null));
+    }
+
+    @Test
+    void statusChangedTest() {
+        userRevocationService.statusChanged(List.of(1L, 2L), UserStatus.DEACTIVATED);
+        userRevocationService.statusChanged(List.of(3L), UserStatus.BLOCKED);
+        userRevocationService.statusChanged(List.of(2L), UserStatus.ACTIVATED);
+
+        assertTrue(userRevocationService.isRevoked(1L));
+        assertFalse(userRevocationService.isRevoked(2L));
+        assertTrue(userRevocationService.isRevoked(3L));
+    }
+
+    @Test
+    void synchronizeRevokedUsersTest() {
+        when(userRepo.findLastStatusUpdateTime()).thenReturn(Optional.of(LAST_UPDATE));
+        when(userRepo.findAllIdsByUserStatusIn(any())).thenReturn(List.of(1L));
+        userRevocationService.loadRevokedUsers();
+        when(userRepo.findAllStatusChangesSince(LAST_UPDATE.minusMinutes(1))).thenReturn(List.of(
+            new UserStatusChangeDto(1L, UserStatus.ACTIVATED, LAST_UPDATE.plusSeconds(5)),
+            new UserStatusChangeDto(2L, UserStatus.DEACTIVATED, LAST_UPDATE.plusSeconds(10))));
+
+        userRevocationService.synchronizeRevokedUsers();
+
+        assertFalse(userRevocationService.isRevoked(1L));
+        assertTrue(userRevocationService.isRevoked(2L));
+        verify(verifiedTokenCache).evictUsers(List.of(2L));
+
+        when(userRepo.findAllStatusChangesSince(LAST_UPDATE.plusSeconds(10).minusMinutes(1))).thenReturn(List.of());
+        userRevocationService.synchronizeRevokedUsers();
+
+        assertTrue(userRevocationService.isRevoked(2L));
+    }
+}
@@ -0,0 +1,100 @@
+package greencity.service;
+
+import greencity.dto.PageableDto;
+import greencity.dto.user.CityDto;
+import greencity.dto.user.UserGroupCountDto;
+import greencity.repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CityDirectoryTest {
+    @Mock
+    private UserRepo userRepo;
+
+    private CityDirectory cityDirectory;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-10T12:00:00Z"), ZoneOffset.UTC);
+        cityDirectory = new CityDirectory(userRepo, 60_000, clock);
+        lenient().when(userRepo.countGroupedByCity()).thenReturn(List.of(
+            new UserGroupCountDto("Lviv", 3L),
+            new UserGroupCountDto(" lviv ", 1L),
+            new UserGroupCountDto("Kyiv", 2L),
+            new UserGroupCountDto("Ivano  Frankivsk", 1L),
+            new UserGroupCountDto("Lutsk", 1L)));
+    }
+
+    @Test
+    void normalizeTest() {
+        assertEquals("ivano frankivsk", CityDirectory.normalize("  Ivano \t Frankivsk "));
+        assertEquals("", CityDirectory.normalize(null));
+    }
+
+    @Test
+    void findAllMergesSpellingsTest() {
+        assertEquals(List.of(
+            new CityDto("ivano frankivsk", "Ivano Frankivsk", 1L),
+            new CityDto("kyiv", "Kyiv", 2L),
+            new CityDto("lutsk", "Lutsk", 1L),
+            new CityDto("lviv", "Lviv", 4L)),
+            cityDirectory.findAll());
+    }
+
+    @Test
+    void findByPrefixPagesMatchingCitiesTest() {
+        PageableDto<CityDto> page = cityDirectory.findByPrefix(" L", PageRequest.of(1, 1));
+
+        assertEquals(List.of(new CityDto("lviv", "Lviv", 4L)), page.getPage());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1, page.getCurrentPage());
+        assertEquals(2, page.getTotalPages());
+    }
+
+    @Test
+    void invalidateReloadsDirectoryTest() {
+        cityDirectory.findAll();
+        cityDirectory.findByPrefix("k", PageRequest.of(0, 10));
+        cityDirectory.invalidate();
+        cityDirectory.findAll();
+
+        verify(userRepo, times(2)).countGroupedByCity();
+    }
+
+    @Test
+    void findAllServesPreviousDirectoryWhileReloadingTest() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-10T12:00:00Z"), ZoneOffset.UTC);
+        CityDirectory expiring = new CityDirectory(userRepo, 0, clock);
+        AtomicReference<List<CityDto>> duringReload = new AtomicReference<>();
+        when(userRepo.countGroupedByCity())
+            .thenReturn(List.of(new UserGroupCountDto("Lviv", 1L)))
+            .thenAnswer(invocation -> {
+                Thread reader = new Thread(() -> duringReload.set(expiring.findAll()));
+                reader.start();
+                reader.join(5_000);
+                return List.of(new UserGroupCountDto("Kyiv", 1L));
+            });
+
+        expiring.findAll();
+
+        assertEquals(List.of(new CityDto("kyiv", "Kyiv", 1L)), expiring.findAll());
+        assertEquals(List.of(new CityDto("lviv", "Lviv", 1L)), duringReload.get());
+    }
+}
@@ -0,0 +1,113 @@
+package greencity.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LastActivityWriteBehindTest {
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 10, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LastActivityWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind = new LastActivityWriteBehind(jdbcTemplate, taskScheduler, 100, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesLatestTimePerUserTest() {
+        writeBehind.record(1L, TIME);
+        writeBehind.record(1L, TIME.plusSeconds(30));
+        writeBehind.record(1L, TIME.plusSeconds(10));
+        writeBehind.record(2L, TIME);
+
+        writeBehind.flush();
+
+        ArgumentCaptor<Collection<Map.Entry<Long, LocalDateTime>>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(Map.of(1L, TIME.plusSeconds(30), 2L, TIME),
+            Map.ofEntries(batch.getValue().toArray(Map.Entry[]::new)));
+        assertEquals(2.0, writeBehind.getCoalescingRatio());
+        assertEquals(0.0, meterRegistry.get("greencity.user.last.activity.pending").gauge().value());
+    }
+
+    @Test
+    void flushWithoutRecordsWritesNothingTest() {
+        writeBehind.flush();
+        writeBehind.shutdown();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void recordSchedulesFlushOfFullBufferTest() {
+        writeBehind = new LastActivityWriteBehind(jdbcTemplate, taskScheduler, 2, meterRegistry);
+
+        writeBehind.record(1L, TIME);
+        writeBehind.record(2L, TIME);
+        writeBehind.record(3L, TIME);
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(flush.capture(), any(Instant.class));
+
+        flush.getValue().run();
+        writeBehind.record(4L, TIME);
+        writeBehind.record(5L, TIME);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void failedFlushKeepsTimesForNextFlushTest() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[][] {{1}});
+        writeBehind.record(1L, TIME);
+
+        writeBehind.flush();
+        writeBehind.shutdown();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1.0, meterRegistry.get("greencity.user.last.activity.written").counter().count());
+    }
+}
@@ -0,0 +1,145 @@
+package greencity.service;
+
+import greencity.dto.user.UserLastActivityDto;
+import greencity.dto.user.UserWithOnlineStatusDto;
+import greencity.repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceTrackerTest {
+    private static final long TIME_AFTER_LAST_ACTIVITY = 300_000;
+    private static final Instant NOW = Instant.parse("2024-01-10T12:00:00Z");
+    private static final LocalDateTime NOW_LOCAL = LocalDateTime.ofInstant(NOW, ZoneId.systemDefault());
+
+    @Mock
+    private UserRepo userRepo;
+
+    private PresenceTracker presenceTracker;
+
+    @BeforeEach
+    void setUp() {
+        presenceTracker = new PresenceTracker(userRepo, TIME_AFTER_LAST_ACTIVITY,
+            Clock.fixed(NOW, ZoneId.systemDefault()));
+    }
+
+    @Test
+    void findStatusOfSeenUserFromMemoryTest() {
+        presenceTracker.seen(1L, NOW_LOCAL.minusMinutes(1));
+
+        assertEquals(Optional.of(new UserWithOnlineStatusDto(1L, true, NOW_LOCAL.minusMinutes(1))),
+            presenceTracker.findStatus(1L));
+        verify(userRepo, never()).findLastActivityById(anyLong());
+    }
+
+    @Test
+    void findStatusOfUnseenUserFromDatabaseTest() {
+        when(userRepo.findLastActivityById(1L))
+            .thenReturn(Optional.of(new UserLastActivityDto(1L, NOW_LOCAL.minusMinutes(2))));
+
+        assertEquals(Optional.of(new UserWithOnlineStatusDto(1L, true, NOW_LOCAL.minusMinutes(2))),
+            presenceTracker.findStatus(1L));
+        presenceTracker.findStatus(1L);
+
+        verify(userRepo, times(1)).findLastActivityById(1L);
+    }
+
+    @Test
+    void findStatusOfInactiveUserTest() {
+        when(userRepo.findLastActivityById(1L))
+            .thenReturn(Optional.of(new UserLastActivityDto(1L, NOW_LOCAL.minusHours(1))));
+        when(userRepo.findLastActivityById(2L)).thenReturn(Optional.of(new UserLastActivityDto(2L, null)));
+
+        assertEquals(Optional.of(new UserWithOnlineStatusDto(1L, false, NOW_LOCAL.minusHours(1))),
+            presenceTracker.findStatus(1L));
+        assertEquals(Optional.of(new UserWithOnlineStatusDto(2L, false, null)), presenceTracker.findStatus(2L));
+    }
+
+    @Test
+    void findStatusOfMissingUserTest() {
+        when(userRepo.findLastActivityById(1L)).thenReturn(Optional.empty());
+
+        assertTrue(presenceTracker.findStatus(1L).isEmpty());
+        assertTrue(presenceTracker.findStatus(null).isEmpty());
+    }
+
+    @Test
+    void findStatusesQueriesUnseenUsersOnceTest() {
+        presenceTracker.seen(1L, NOW_LOCAL.minusMinutes(1));
+        when(userRepo.findLastActivityByIds(List.of(3L, 2L, 4L))).thenReturn(List.of(
+            new UserLastActivityDto(2L, NOW_LOCAL.minusHours(1)),
+            new UserLastActivityDto(3L, NOW_LOCAL.minusMinutes(3))));
+
+        assertEquals(List.of(
+            new UserWithOnlineStatusDto(3L, true, NOW_LOCAL.minusMinutes(3)),
+            new UserWithOnlineStatusDto(1L, true, NOW_LOCAL.minusMinutes(1)),
+            new UserWithOnlineStatusDto(2L, false, NOW_LOCAL.minusHours(1))),
+            presenceTracker.findStatuses(Arrays.asList(3L, 1L, 2L, 3L, null, 4L)));
+        verify(userRepo, never()).findLastActivityById(anyLong());
+    }
+
+    @Test
+    void sweepForgetsExpiredUsersTest() {
+        MutableClock clock = new MutableClock(NOW);
+        PresenceTracker tracker = new PresenceTracker(userRepo, TIME_AFTER_LAST_ACTIVITY, clock);
+        tracker.seen(1L, NOW_LOCAL.minusSeconds(1));
+        tracker.seen(2L, NOW_LOCAL.plusSeconds(1));
+        when(userRepo.findLastActivityById(1L))
+            .thenReturn(Optional.of(new UserLastActivityDto(1L, NOW_LOCAL.minusSeconds(1))));
+
+        clock.advance(Duration.ofMillis(TIME_AFTER_LAST_ACTIVITY));
+        tracker.sweep();
+
+        assertEquals(Optional.of(new UserWithOnlineStatusDto(1L, false, NOW_LOCAL.minusSeconds(1))),
+            tracker.findStatus(1L));
+        assertTrue(tracker.findStatus(2L).orElseThrow().isOnlineStatus());
+        verify(userRepo, never()).findLastActivityById(2L);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
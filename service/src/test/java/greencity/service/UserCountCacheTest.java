@@ -0,0 +1,85 @@
+package greencity.service;
+
+import greencity.repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCountCacheTest {
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    @Mock
+    private UserRepo userRepo;
+
+    private MutableClock clock;
+    private UserCountCache userCountCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-10T12:00:00Z"));
+        userCountCache = new UserCountCache(userRepo, TIME_TO_LIVE.toMillis(), clock);
+    }
+
+    @Test
+    void getCountReusesCountTest() {
+        when(userRepo.count()).thenReturn(10L);
+
+        assertEquals(10, userCountCache.getCount());
+        clock.advance(TIME_TO_LIVE.minusMillis(1));
+        assertEquals(10, userCountCache.getCount());
+
+        verify(userRepo, times(1)).count();
+    }
+
+    @Test
+    void getCountReloadsExpiredCountTest() {
+        when(userRepo.count()).thenReturn(10L, 12L);
+
+        assertEquals(10, userCountCache.getCount());
+        clock.advance(TIME_TO_LIVE);
+        assertEquals(12, userCountCache.getCount());
+
+        verify(userRepo, times(2)).count();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package greencity.service;
+
+import greencity.enums.UserExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserExportServiceImplTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private UserExportServiceImpl userExportService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        userExportService = new UserExportServiceImpl(jdbcTemplate);
+        when(resultSet.getLong("id")).thenReturn(1L, 2L);
+        when(resultSet.getString("name")).thenReturn("Taras", "Olena \"O\", Jr");
+        when(resultSet.getString("email")).thenReturn("taras@gmail.com", "olena@ukr.net");
+        when(resultSet.getString("role")).thenReturn("ROLE_USER", "ROLE_ADMIN");
+        when(resultSet.getInt("user_status")).thenReturn(2, 0);
+        when(resultSet.getInt("email_notification")).thenReturn(0, 1);
+        when(resultSet.wasNull()).thenReturn(false);
+        when(resultSet.getObject("date_of_registration", LocalDateTime.class))
+            .thenReturn(LocalDateTime.of(2024, 1, 10, 12, 0), LocalDateTime.of(2024, 2, 1, 8, 30));
+        when(resultSet.getObject("last_activity_time", LocalDateTime.class))
+            .thenReturn(null, LocalDateTime.of(2024, 3, 1, 9, 0));
+        when(resultSet.getString("city")).thenReturn("Lviv", (String) null);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void exportNdjsonTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        userExportService.export(UserExportFormat.NDJSON, outputStream);
+
+        assertEquals("{\"id\":1,\"name\":\"Taras\",\"email\":\"taras@gmail.com\",\"role\":\"ROLE_USER\","
+            + "\"userStatus\":\"ACTIVATED\",\"emailNotification\":\"DISABLED\","
+            + "\"dateOfRegistration\":\"2024-01-10T12:00\",\"lastActivityTime\":null,\"city\":\"Lviv\"}\n"
+            + "{\"id\":2,\"name\":\"Olena \\\"O\\\", Jr\",\"email\":\"olena@ukr.net\",\"role\":\"ROLE_ADMIN\","
+            + "\"userStatus\":\"BLOCKED\",\"emailNotification\":\"IMMEDIATELY\","
+            + "\"dateOfRegistration\":\"2024-02-01T08:30\",\"lastActivityTime\":\"2024-03-01T09:00\","
+            + "\"city\":null}\n",
+            outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportCsvTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        userExportService.export(UserExportFormat.CSV, outputStream);
+
+        assertEquals("id,name,email,role,userStatus,emailNotification,dateOfRegistration,lastActivityTime,city\r\n"
+            + "1,Taras,taras@gmail.com,ROLE_USER,ACTIVATED,DISABLED,2024-01-10T12:00,,Lviv\r\n"
+            + "2,\"Olena \"\"O\"\", Jr\",olena@ukr.net,ROLE_ADMIN,BLOCKED,IMMEDIATELY,2024-02-01T08:30,"
+            + "2024-03-01T09:00,\r\n",
+            outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportCsvNeutralizesFormulasTest() throws SQLException {
+        when(resultSet.getString("name")).thenReturn("=HYPERLINK(\"http://evil\")", "@SUM(A1)");
+        when(resultSet.getString("city")).thenReturn("+Lviv", "-1");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        userExportService.export(UserExportFormat.CSV, outputStream);
+
+        assertEquals("id,name,email,role,userStatus,emailNotification,dateOfRegistration,lastActivityTime,city\r\n"
+            + "1,\"'=HYPERLINK(\"\"http://evil\"\")\",taras@gmail.com,ROLE_USER,ACTIVATED,DISABLED,"
+            + "2024-01-10T12:00,,'+Lviv\r\n"
+            + "2,'@SUM(A1),olena@ukr.net,ROLE_ADMIN,BLOCKED,IMMEDIATELY,2024-02-01T08:30,2024-03-01T09:00,'-1\r\n",
+            outputStream.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package greencity.service;
+
+import greencity.dto.user.UserNameEmailDto;
+import greencity.dto.user.UserSuggestionDto;
+import greencity.repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrefixIndexTest {
+    private static final int MAX_RESULTS = 3;
+
+    @Mock
+    private UserRepo userRepo;
+
+    private UserPrefixIndex userPrefixIndex;
+
+    @BeforeEach
+    void setUp() {
+        userPrefixIndex = new UserPrefixIndex(userRepo, MAX_RESULTS);
+        when(userRepo.findAllNamesAndEmails()).thenReturn(List.of(
+            new UserNameEmailDto(1L, "Taras", "taras@gmail.com"),
+            new UserNameEmailDto(2L, "Tamara", "tamara@gmail.com"),
+            new UserNameEmailDto(3L, "Ivan", "tarasenko@gmail.com"),
+            new UserNameEmailDto(4L, "Olena", "olena@gmail.com")));
+        userPrefixIndex.reload();
+    }
+
+    @Test
+    void suggestMatchesNameAndEmailIgnoringCaseTest() {
+        assertEquals(List.of(
+            new UserSuggestionDto(1L, "Taras", "taras@gmail.com"),
+            new UserSuggestionDto(3L, "Ivan", "tarasenko@gmail.com")),
+            userPrefixIndex.suggest(" TAR", 10, true));
+    }
+
+    @Test
+    void suggestReturnsUserOnceTest() {
+        assertEquals(List.of(new UserSuggestionDto(4L, "Olena", "olena@gmail.com")),
+            userPrefixIndex.suggest("ol", 10, true));
+    }
+
+    @Test
+    void suggestIsLimitedTest() {
+        assertEquals(1, userPrefixIndex.suggest("ta", 1, true).size());
+        assertTrue(userPrefixIndex.suggest(" ", 10, true).isEmpty());
+        assertEquals(MAX_RESULTS, userPrefixIndex.suggest("t", 10, true).size());
+    }
+
+    @Test
+    void putReplacesUserTest() {
+        userPrefixIndex.put(4L, "Tetiana", "tetiana@gmail.com");
+
+        assertTrue(userPrefixIndex.suggest("ol", 10, true).isEmpty());
+        assertEquals(List.of(new UserSuggestionDto(4L, "Tetiana", "tetiana@gmail.com")),
+            userPrefixIndex.suggest("te", 10, true));
+    }
+
+    @Test
+    void removeTest() {
+        userPrefixIndex.remove(1L);
+
+        assertEquals(List.of(new UserSuggestionDto(3L, "Ivan", "tarasenko@gmail.com")),
+            userPrefixIndex.suggest("taras", 10, true));
+    }
+
+    @Test
+    void suggestMatchesNamesOnlyWithoutEmailsTest() {
+        assertEquals(List.of(new UserSuggestionDto(1L, "Taras", null)),
+            userPrefixIndex.suggest("tar", 10, false));
+    }
+
+    @Test
+    void reloadKeepsChangesMadeWhileLoadingTest() {
+        when(userRepo.findAllNamesAndEmails()).thenAnswer(invocation -> {
+            userPrefixIndex.put(5L, "Taisa", "taisa@gmail.com");
+            userPrefixIndex.remove(1L);
+            return List.of(
+                new UserNameEmailDto(1L, "Taras", "taras@gmail.com"),
+                new UserNameEmailDto(2L, "Tamara", "tamara@gmail.com"));
+        });
+
+        userPrefixIndex.reload();
+
+        assertEquals(List.of(
+            new UserSuggestionDto(5L, "Taisa", "taisa@gmail.com"),
+            new UserSuggestionDto(2L, "Tamara", "tamara@gmail.com")),
+            userPrefixIndex.suggest("ta", 10, true));
+    }
+}
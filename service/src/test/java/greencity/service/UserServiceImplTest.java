@@ -5,6 +5,7 @@ import greencity.TestConst;
 import greencity.client.RestClient;
 import greencity.constant.ErrorMessage;
 import greencity.constant.UpdateConstants;
+import greencity.dto.CursorPageableDto;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.PageableDto;
 import greencity.dto.UbsCustomerDto;
@@ -15,12 +16,19 @@ import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
 import greencity.entity.*;
 import greencity.enums.EmailNotification;
+import greencity.enums.PagingMode;
 import greencity.enums.Role;
+import greencity.enums.UserStatisticDimension;
 import greencity.exception.exceptions.*;
+import greencity.filters.UserKeyset;
+import greencity.filters.UserQuerySpecification;
 import greencity.filters.UserSpecification;
 import greencity.repository.LanguageRepo;
 import greencity.repository.UserDeactivationRepo;
 import greencity.repository.UserRepo;
+import greencity.security.cache.VerifiedTokenCache;
+import greencity.security.context.RequestPrincipalContext;
+import greencity.security.service.UserRevocationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.provider.Arguments;
@@ -35,12 +43,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.time.Month;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,6 +56,7 @@ import java.util.stream.Stream;
 import static greencity.ModelUtils.*;
 import static greencity.enums.Role.ROLE_USER;
 import static greencity.enums.UserStatus.ACTIVATED;
+import static greencity.enums.UserStatus.BLOCKED;
 import static greencity.enums.UserStatus.DEACTIVATED;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -69,6 +78,33 @@ class UserServiceImplTest {
     @Mock
     LanguageRepo languageRepo;
 
+    @Mock
+    VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    UserRevocationService userRevocationService;
+
+    @Mock
+    RequestPrincipalContext requestPrincipalContext;
+
+    @Mock
+    UserCountCache userCountCache;
+
+    @Mock
+    UserPrefixIndex userPrefixIndex;
+
+    @Mock
+    UserStatistics userStatistics;
+
+    @Mock
+    CityDirectory cityDirectory;
+
+    @Mock
+    PresenceTracker presenceTracker;
+
+    @Mock
+    LastActivityWriteBehind lastActivityWriteBehind;
+
     private User user = User.builder()
         .id(1L)
         .name("Taras")
@@ -148,6 +184,35 @@ class UserServiceImplTest {
             userService.findAllByEmailNotification(EmailNotification.IMMEDIATELY));
     }
 
+    @Test
+    void findSubscribersTest() {
+        ReflectionTestUtils.setField(userService, "maxSubscribersPageSize", 2);
+        when(userRepo.findSubscribers(eq(EmailNotification.WEEKLY), eq(10L), argThat(limit -> limit.max() == 3)))
+            .thenReturn(List.of(
+                new UserSubscriberDto(11L, "Taras", "taras@gmail.com", "ua"),
+                new UserSubscriberDto(12L, "Olena", "olena@gmail.com", "en"),
+                new UserSubscriberDto(15L, "Ivan", "ivan@gmail.com", "ua")));
+
+        SubscriberPageDto page = userService.findSubscribers(EmailNotification.WEEKLY, 10L, 5);
+
+        assertEquals(List.of(new SubscriberDto(11L, "Taras", "taras@gmail.com", "ua"),
+            new SubscriberDto(12L, "Olena", "olena@gmail.com", "en")), page.getSubscribers());
+        assertEquals(12L, page.getNextCursor());
+    }
+
+    @Test
+    void findSubscribersLastChunkTest() {
+        ReflectionTestUtils.setField(userService, "maxSubscribersPageSize", 1000);
+        when(userRepo.findSubscribers(eq(EmailNotification.DAILY), eq(0L), argThat(limit -> limit.max() == 101)))
+            .thenReturn(List.of(
+                new UserSubscriberDto(1L, "Taras", "taras@gmail.com", "ua")));
+
+        SubscriberPageDto page = userService.findSubscribers(EmailNotification.DAILY, null, 100);
+
+        assertEquals(1, page.getSubscribers().size());
+        assertNull(page.getNextCursor());
+    }
+
     @Test
     void scheduleDeleteDeactivatedUsers() {
         when(userRepo.scheduleDeleteDeactivatedUsers()).thenReturn(1);
@@ -156,9 +221,17 @@ class UserServiceImplTest {
 
     @Test
     void findAllUsersCities() {
-        List<String> expected = Collections.singletonList("city");
-        when(userRepo.findAllUsersCities()).thenReturn(expected);
-        assertEquals(expected, userService.findAllUsersCities());
+        when(cityDirectory.findAll()).thenReturn(List.of(new CityDto("kyiv", "Kyiv", 3L),
+            new CityDto("lviv", "Lviv", 1L)));
+        assertEquals(List.of("Kyiv", "Lviv"), userService.findAllUsersCities());
+    }
+
+    @Test
+    void findCities() {
+        Pageable pageable = PageRequest.of(0, 10);
+        PageableDto<CityDto> expected = new PageableDto<>(List.of(new CityDto("lviv", "Lviv", 1L)), 1, 0, 1);
+        when(cityDirectory.findByPrefix("Lv", pageable)).thenReturn(expected);
+        assertEquals(expected, userService.findCities("Lv", pageable));
     }
 
     @Test
@@ -169,6 +242,15 @@ class UserServiceImplTest {
         when(userRepo.save(user)).thenReturn(user);
         when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
         assertEquals(userVO, userService.save(userVO));
+        verify(userPrefixIndex).put(user.getId(), user.getName(), user.getEmail());
+    }
+
+    @Test
+    void suggestTest() {
+        List<UserSuggestionDto> expected = List.of(new UserSuggestionDto(1L, "Taras", "test@gmail.com"));
+        when(userPrefixIndex.suggest("ta", 5, true)).thenReturn(expected);
+
+        assertEquals(expected, userService.suggest("ta", 5, true));
     }
 
     @Test
@@ -179,13 +261,32 @@ class UserServiceImplTest {
         when(modelMapper.map(Optional.of(user2), UserVO.class)).thenReturn(userVO2);
         when(userRepo.findById(userId)).thenReturn(Optional.of(user));
         when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
-        when(modelMapper.map(userVO, User.class)).thenReturn(user);
         when(userRepo.save(any())).thenReturn(user);
 
         UserStatusDto value = new UserStatusDto();
         value.setUserStatus(DEACTIVATED);
         when(modelMapper.map(user, UserStatusDto.class)).thenReturn(value);
         assertEquals(DEACTIVATED, userService.updateStatus(userId, DEACTIVATED, user2.getEmail()).getUserStatus());
+        assertEquals(DEACTIVATED, user.getUserStatus());
+        verify(userRepo).save(user);
+    }
+
+    @Test
+    void updateUserStatusWithPrincipalOfCurrentRequestTest() {
+        when(requestPrincipalContext.getPrincipal(user2.getEmail())).thenReturn(Optional.of(UserPrincipalVO.builder()
+            .id(userId2)
+            .email(user2.getEmail())
+            .role(Role.ROLE_ADMIN)
+            .build()));
+        when(userRepo.findById(userId)).thenReturn(Optional.of(user));
+        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+        when(userRepo.save(any())).thenReturn(user);
+        UserStatusDto value = new UserStatusDto();
+        value.setUserStatus(DEACTIVATED);
+        when(modelMapper.map(user, UserStatusDto.class)).thenReturn(value);
+
+        assertEquals(DEACTIVATED, userService.updateStatus(userId, DEACTIVATED, user2.getEmail()).getUserStatus());
+        verify(userRepo, never()).findByEmail(any());
     }
 
     @Test
@@ -214,6 +315,7 @@ class UserServiceImplTest {
         assertEquals(
             Role.ROLE_MODERATOR,
             userService.updateRole(userId, Role.ROLE_MODERATOR, user2.getEmail()).getRole());
+        verify(verifiedTokenCache).evictUsers(List.of(userId));
     }
 
     @Test
@@ -261,10 +363,9 @@ class UserServiceImplTest {
     @Test
     void deleteByExistentIdTest() {
         when(userRepo.findById(userId)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
-        when(modelMapper.map(userVO, User.class)).thenReturn(user);
         userService.deleteById(userId);
         verify(userRepo).delete(user);
+        verify(modelMapper, never()).map(any(UserVO.class), eq(User.class));
     }
 
     @Test
@@ -347,12 +448,16 @@ class UserServiceImplTest {
 
     @Test
     void updateLastVisit() {
-        when(modelMapper.map(userVO, User.class)).thenReturn(user);
         when(userRepo.findById(userId)).thenReturn(Optional.of(user));
         when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
-        when(userRepo.save(any())).thenReturn(user);
         LocalDateTime localDateTime = user.getLastActivityTime().minusHours(1);
-        assertNotEquals(localDateTime, userService.updateLastVisit(userVO).getLastActivityTime());
+        user.setLastActivityTime(localDateTime);
+
+        assertEquals(userVO, userService.updateLastVisit(userVO));
+        assertTrue(user.getLastActivityTime().isAfter(localDateTime));
+        verify(lastActivityWriteBehind).record(userId, user.getLastActivityTime());
+        verify(userRepo, never()).save(any());
+        verify(modelMapper, never()).map(any(UserVO.class), eq(User.class));
     }
 
     @Test
@@ -413,11 +518,26 @@ class UserServiceImplTest {
 
     @Test
     void getActivatedUsersAmountTest() {
-        when(userRepo.countAllByUserStatus(ACTIVATED)).thenReturn(1L);
+        when(userStatistics.getAmount(UserStatisticDimension.STATUS, "ACTIVATED")).thenReturn(1L);
         long activatedUsersAmount = userService.getActivatedUsersAmount();
         assertEquals(1L, activatedUsersAmount);
     }
 
+    @Test
+    void getUserStatisticsTest() {
+        when(userStatistics.getAmounts(UserStatisticDimension.STATUS)).thenReturn(Map.of("ACTIVATED", 2L));
+        when(userStatistics.getAmounts(UserStatisticDimension.ROLE)).thenReturn(Map.of("ROLE_USER", 2L));
+        when(userStatistics.getAmounts(UserStatisticDimension.LANGUAGE)).thenReturn(Map.of("ua", 2L));
+        when(userStatistics.getAmounts(UserStatisticDimension.REGISTRATION_MONTH)).thenReturn(Map.of("2024-03", 2L));
+
+        assertEquals(UserStatisticsDto.builder()
+            .byStatus(Map.of("ACTIVATED", 2L))
+            .byRole(Map.of("ROLE_USER", 2L))
+            .byLanguage(Map.of("ua", 2L))
+            .byRegistrationMonth(Map.of("2024-03", 2L))
+            .build(), userService.getUserStatistics());
+    }
+
     @Test
     void getProfilePicturePathByUserIdNotFoundExceptionTest() {
         assertThrows(NotFoundException.class, () -> userService.getProfilePicturePathByUserId(1L));
@@ -430,6 +550,20 @@ class UserServiceImplTest {
         verify(userRepo).getProfilePicturePathByUserId(1L);
     }
 
+    @Test
+    void findLanguageCodeByIdTest() {
+        when(userRepo.findLanguageCodeById(1L)).thenReturn(Optional.of("ua"));
+
+        assertEquals("ua", userService.findLanguageCodeById(1L));
+    }
+
+    @Test
+    void findLanguageCodeByIdNotFoundExceptionTest() {
+        when(userRepo.findLanguageCodeById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userService.findLanguageCodeById(1L));
+    }
+
     @Test
     void updateUserProfilePictureNotUpdatedExceptionTest() {
         UserProfilePictureDto userProfilePictureDto = ModelUtils.getUserProfilePictureDto();
@@ -479,6 +613,153 @@ class UserServiceImplTest {
         assertEquals(pageableAdvancedDto, userService.searchBy(pageable, "query"));
     }
 
+    @Test
+    void searchBySimilarityTest() {
+        ReflectionTestUtils.setField(userService, "trigramSearchEnabled", true);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("name"));
+        User second = User.builder().id(2L).build();
+        when(userRepo.searchIdsBySimilarity(0L, "taras", "%taras%", PageRequest.of(0, 2)))
+            .thenReturn(new PageImpl<>(List.of(2L, 1L), PageRequest.of(0, 2), 5));
+        when(userRepo.findAllByIdIn(List.of(2L, 1L))).thenReturn(List.of(user, second));
+        when(modelMapper.map(user, UserManagementDto.class)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+        when(modelMapper.map(second, UserManagementDto.class)).thenReturn(new UserManagementDto());
+
+        PageableAdvancedDto<UserManagementDto> page = userService.searchBy(pageable, " Taras ");
+
+        assertEquals(List.of(new UserManagementDto(), ModelUtils.CREATE_USER_MANAGER_DTO), page.getPage());
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        verify(userRepo, never()).searchBy(any(), any());
+    }
+
+    @Test
+    void searchBySimilarityWithIdTest() {
+        ReflectionTestUtils.setField(userService, "trigramSearchEnabled", true);
+        Pageable pageable = PageRequest.of(0, 2);
+        User second = User.builder().id(12L).build();
+        when(userRepo.searchIdsBySimilarity(1L, "1", "%1%", pageable))
+            .thenReturn(new PageImpl<>(List.of(1L, 12L), pageable, 3));
+        when(userRepo.findAllByIdIn(List.of(1L, 12L))).thenReturn(List.of(second, user));
+        when(modelMapper.map(user, UserManagementDto.class)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+        when(modelMapper.map(second, UserManagementDto.class)).thenReturn(new UserManagementDto());
+
+        PageableAdvancedDto<UserManagementDto> page = userService.searchBy(pageable, "1");
+
+        assertEquals(List.of(ModelUtils.CREATE_USER_MANAGER_DTO, new UserManagementDto()), page.getPage());
+        assertEquals(3, page.getTotalElements());
+        verify(userRepo, never()).findById(any());
+    }
+
+    @Test
+    void searchBySimilaritySliceTest() {
+        ReflectionTestUtils.setField(userService, "trigramSearchEnabled", true);
+        Pageable pageable = PageRequest.of(1, 2, Sort.by("name"));
+        User second = User.builder().id(2L).build();
+        when(userRepo.searchIdSliceBySimilarity(0L, "taras", "%taras%", PageRequest.of(1, 2)))
+            .thenReturn(new SliceImpl<>(List.of(2L, 1L), PageRequest.of(1, 2), true));
+        when(userRepo.findAllByIdIn(List.of(2L, 1L))).thenReturn(List.of(user, second));
+        when(modelMapper.map(user, UserManagementDto.class)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+        when(modelMapper.map(second, UserManagementDto.class)).thenReturn(new UserManagementDto());
+
+        PageableAdvancedDto<UserManagementDto> page = userService.searchBy(pageable, " Taras ", PagingMode.SLICE);
+
+        assertEquals(List.of(new UserManagementDto(), ModelUtils.CREATE_USER_MANAGER_DTO), page.getPage());
+        assertEquals(PageableAdvancedDto.NOT_COUNTED, page.getTotalElements());
+        assertEquals(1, page.getCurrentPage());
+        assertTrue(page.isHasNext());
+        verify(userRepo, never()).findSlice(any(), any());
+        verify(userRepo, never()).searchIdsBySimilarity(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void searchBySliceTest() {
+        Pageable pageable = PageRequest.of(1, 2);
+        when(userRepo.findSlice(any(UserQuerySpecification.class), eq(pageable)))
+            .thenReturn(new SliceImpl<>(List.of(user, user), pageable, true));
+        when(modelMapper.map(user, UserManagementDto.class)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+
+        PageableAdvancedDto<UserManagementDto> page = userService.searchBy(pageable, "query", PagingMode.ESTIMATED);
+
+        assertEquals(2, page.getPage().size());
+        assertEquals(PageableAdvancedDto.NOT_COUNTED, page.getTotalElements());
+        assertEquals(PageableAdvancedDto.NOT_COUNTED, page.getTotalPages());
+        assertEquals(1, page.getCurrentPage());
+        assertTrue(page.isHasNext());
+        verify(userRepo, never()).searchBy(any(), any());
+        verify(userCountCache, never()).getCount();
+    }
+
+    @Test
+    void findUserForManagementByPageEstimatedTest() {
+        Pageable pageable = PageRequest.of(1, 2);
+        when(userRepo.findSlice(any(), eq(pageable)))
+            .thenReturn(new SliceImpl<>(List.of(user, user), pageable, true));
+        when(modelMapper.map(user, UserManagementDto.class)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+        when(userCountCache.getCount()).thenReturn(9L);
+
+        PageableAdvancedDto<UserManagementDto> page =
+            userService.findUserForManagementByPage(pageable, PagingMode.ESTIMATED);
+
+        assertEquals(9, page.getTotalElements());
+        assertEquals(5, page.getTotalPages());
+        assertTrue(page.isHasPrevious());
+        assertTrue(page.isHasNext());
+    }
+
+    @Test
+    void findUserForManagementByPageEstimatedLastPageTest() {
+        Pageable pageable = PageRequest.of(3, 2);
+        when(userRepo.findSlice(any(), eq(pageable)))
+            .thenReturn(new SliceImpl<>(List.of(user), pageable, false));
+        when(modelMapper.map(user, UserManagementDto.class)).thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+
+        PageableAdvancedDto<UserManagementDto> page =
+            userService.findUserForManagementByPage(pageable, PagingMode.ESTIMATED);
+
+        assertEquals(7, page.getTotalElements());
+        assertEquals(4, page.getTotalPages());
+        assertTrue(page.isLast());
+        verify(userCountCache, never()).getCount();
+    }
+
+    @Test
+    void searchByCursorTest() {
+        Pageable pageable = PageRequest.of(0, 2);
+        User first = User.builder().id(1L).build();
+        User second = User.builder().id(2L).build();
+        when(userRepo.findAllLimited(any(), eq(Sort.by(Sort.Direction.ASC, "id")), eq(3)))
+            .thenReturn(List.of(first, second, User.builder().id(3L).build()));
+        when(modelMapper.map(any(User.class), eq(UserManagementDto.class)))
+            .thenReturn(ModelUtils.CREATE_USER_MANAGER_DTO);
+
+        CursorPageableDto<UserManagementDto> page = userService.searchByCursor(pageable, "query", null);
+
+        assertEquals(2, page.getPage().size());
+        assertEquals(0, page.getCurrentPage());
+        assertEquals(CursorPageableDto.NOT_COUNTED, page.getTotalElements());
+        assertTrue(page.isHasNext());
+        assertTrue(page.isFirst());
+        assertEquals(UserKeyset.of(null, pageable).next(second), page.getNextCursor());
+    }
+
+    @Test
+    void findByCursorLastPageTest() {
+        Pageable pageable = PageRequest.of(0, 2);
+        User last = User.builder().id(4L).build();
+        String cursor = UserKeyset.of(null, pageable).next(User.builder().id(3L).build());
+        when(userRepo.findAllLimited(any(), eq(Sort.by(Sort.Direction.ASC, "id")), eq(3)))
+            .thenReturn(List.of(last));
+        when(modelMapper.map(last, UserForListDto.class)).thenReturn(new UserForListDto());
+
+        CursorPageableDto<UserForListDto> page = userService.findByCursor(pageable, cursor);
+
+        assertEquals(1, page.getPage().size());
+        assertEquals(1, page.getCurrentPage());
+        assertTrue(page.isHasPrevious());
+        assertTrue(page.isLast());
+        assertNull(page.getNextCursor());
+    }
+
     @Test
     void saveUserProfileTest() {
         var request = ModelUtils.getUserProfileDtoRequest();
@@ -488,6 +769,7 @@ class UserServiceImplTest {
         assertEquals(UpdateConstants.SUCCESS_EN, userService.saveUserProfile(request, "test@gmail.com"));
         verify(userRepo).findByEmail("test@gmail.com");
         verify(userRepo).save(user);
+        verify(cityDirectory).invalidate();
     }
 
     @Test
@@ -517,7 +799,9 @@ class UserServiceImplTest {
     void updateUserLastActivityTimeTest() {
         LocalDateTime currentTime = LocalDateTime.now();
         userService.updateUserLastActivityTime(userId, currentTime);
-        verify(userRepo).updateUserLastActivityTime(userId, currentTime);
+        verify(lastActivityWriteBehind).record(userId, currentTime);
+        verify(presenceTracker).seen(userId, currentTime);
+        verify(userRepo, never()).updateUserLastActivityTime(anyLong(), any());
     }
 
     @Test
@@ -527,26 +811,33 @@ class UserServiceImplTest {
 
     @Test
     void checkIfTheUserIsOnlineEqualsTrueTest() {
-        ReflectionTestUtils.setField(userService, "timeAfterLastActivity", 300000);
-        Timestamp userLastActivityTime = Timestamp.valueOf(LocalDateTime.now());
-        User user = ModelUtils.getUser();
-
-        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
-        when(userRepo.findLastActivityTimeById(anyLong())).thenReturn(Optional.of(userLastActivityTime));
+        when(presenceTracker.findStatus(1L))
+            .thenReturn(Optional.of(new UserWithOnlineStatusDto(1L, true, LocalDateTime.now())));
 
         assertTrue(userService.checkIfTheUserIsOnline(1L));
     }
 
     @Test
-    void checkIfTheUserIsOnlineEqualsFalseTest() {
-        ReflectionTestUtils.setField(userService, "timeAfterLastActivity", 300000);
-        LocalDateTime localDateTime = LocalDateTime.of(
-            2015, Month.JULY, 29, 19, 30, 40);
-        Timestamp userLastActivityTime = Timestamp.valueOf(localDateTime);
-        User user = ModelUtils.getUser();
+    void findOnlineStatusesTest() {
+        ReflectionTestUtils.setField(userService, "maxOnlineStatusIds", 2);
+        List<UserWithOnlineStatusDto> expected = List.of(new UserWithOnlineStatusDto(1L, true, LocalDateTime.now()));
+        when(presenceTracker.findStatuses(List.of(1L, 2L))).thenReturn(expected);
+
+        assertEquals(expected, userService.findOnlineStatuses(List.of(1L, 2L)));
+    }
+
+    @Test
+    void findOnlineStatusesTooManyIdsTest() {
+        ReflectionTestUtils.setField(userService, "maxOnlineStatusIds", 2);
+        List<Long> userIds = List.of(1L, 2L, 3L);
 
-        when(userRepo.findById(anyLong())).thenReturn(Optional.of(user));
-        when(userRepo.findLastActivityTimeById(anyLong())).thenReturn(Optional.empty());
+        assertThrows(BadRequestException.class, () -> userService.findOnlineStatuses(userIds));
+        verify(presenceTracker, never()).findStatuses(anyCollection());
+    }
+
+    @Test
+    void checkIfTheUserIsOnlineEqualsFalseTest() {
+        when(presenceTracker.findStatus(1L)).thenReturn(Optional.of(new UserWithOnlineStatusDto(1L, false, null)));
 
         assertFalse(userService.checkIfTheUserIsOnline(1L));
     }
@@ -610,6 +901,25 @@ class UserServiceImplTest {
         assertEquals(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, thrown.getMessage());
     }
 
+    @Test
+    void findNotDeactivatedPrincipalByEmail() {
+        String email = "test@gmail.com";
+        when(userRepo.findNotDeactivatedPrincipalByEmail(email))
+            .thenReturn(Optional.of(new UserPrincipalDto(1L, email, ROLE_USER, ACTIVATED)));
+
+        assertEquals(Optional.of(new UserPrincipalVO(1L, email, ROLE_USER, ACTIVATED)),
+            userService.findNotDeactivatedPrincipalByEmail(email));
+        verify(userRepo, never()).findNotDeactivatedByEmail(anyString());
+        verifyNoInteractions(modelMapper);
+    }
+
+    @Test
+    void findNotDeactivatedPrincipalByEmailWhenUserIsNotFound() {
+        when(userRepo.findNotDeactivatedPrincipalByEmail(anyString())).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), userService.findNotDeactivatedPrincipalByEmail("test@gmail.com"));
+    }
+
     @Test
     void deactivateUser() {
         List<String> test = List.of();
@@ -634,6 +944,9 @@ class UserServiceImplTest {
             .deactivationReasons(test)
             .lang(user.getLanguage().getCode())
             .build(), userService.deactivateUser(1L, test));
+        verify(userRevocationService).statusChanged(List.of(1L), DEACTIVATED);
+        verify(verifiedTokenCache).evictUsers(List.of(1L));
+        assertNotNull(user.getStatusUpdatedAt());
     }
 
     @Test
@@ -658,7 +971,12 @@ class UserServiceImplTest {
     @Test
     void deactivateAllUsers() {
         List<Long> longList = List.of(1L, 2L);
+        when(userRepo.findUserStatusesByIdsForUpdate(longList)).thenReturn(List.of(ACTIVATED, BLOCKED));
         assertEquals(longList, userService.deactivateAllUsers(longList));
+        verify(userRepo).deactivateSelectedUsers(longList);
+        verify(userStatistics).statusesChanged(List.of(ACTIVATED, BLOCKED), DEACTIVATED);
+        verify(userRevocationService).statusChanged(longList, DEACTIVATED);
+        verify(verifiedTokenCache).evictUsers(longList);
     }
 
     @Test
@@ -676,6 +994,7 @@ class UserServiceImplTest {
             .name(user.getName())
             .lang(user.getLanguage().getCode())
             .build(), userService.setActivatedStatus(userId));
+        verify(userRevocationService).statusChanged(List.of(userId), ACTIVATED);
     }
 
     @Test
@@ -722,8 +1041,6 @@ class UserServiceImplTest {
         user2.setVerifyEmail(verifyEmail);
 
         when(userRepo.findById(userId2)).thenReturn(Optional.of(user2));
-        when(modelMapper.map(Optional.of(user2), UserVO.class)).thenReturn(userVO2);
-        when(modelMapper.map(userVO2, User.class)).thenReturn(user2);
         when(modelMapper.map(user2, UserVO.class)).thenReturn(userVO2);
 
         assertEquals(Optional.of(userVO2), userService.findByIdAndToken(userId2, "test"));
@@ -732,9 +1049,6 @@ class UserServiceImplTest {
     @Test
     void findByIdAndToken2() {
         when(userRepo.findById(userId2)).thenReturn(Optional.of(user2));
-        when(modelMapper.map(Optional.of(user2), UserVO.class)).thenReturn(userVO2);
-        when(modelMapper.map(userVO2, User.class)).thenReturn(user2);
-        when(modelMapper.map(user2, UserVO.class)).thenReturn(userVO2);
         assertEquals(Optional.empty(), userService.findByIdAndToken(userId2, "test"));
     }
 
@@ -0,0 +1,54 @@
+package greencity.service;
+
+import greencity.entity.Language;
+import greencity.entity.UserStatisticId;
+import greencity.enums.Role;
+import greencity.enums.UserStatisticDimension;
+import greencity.enums.UserStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserStatisticsListenerTest {
+    private static final String[] PROPERTY_NAMES = {"name", "userStatus", "role", "language", "dateOfRegistration"};
+    private static final LocalDateTime REGISTERED = LocalDateTime.of(2024, 3, 15, 10, 0);
+
+    @Test
+    void insertCountsEveryDimensionTest() {
+        Object[] state = {"Taras", UserStatus.CREATED, Role.ROLE_USER, new Language(1L, "ua", null), REGISTERED};
+
+        assertEquals(Map.of(
+            new UserStatisticId(UserStatisticDimension.STATUS, "CREATED"), 1L,
+            new UserStatisticId(UserStatisticDimension.ROLE, "ROLE_USER"), 1L,
+            new UserStatisticId(UserStatisticDimension.LANGUAGE, "1"), 1L,
+            new UserStatisticId(UserStatisticDimension.REGISTRATION_MONTH, "2024-03"), 1L),
+            UserStatisticsListener.changes(PROPERTY_NAMES, null, state));
+    }
+
+    @Test
+    void updateCountsOnlyChangedDimensionsTest() {
+        Language language = new Language(1L, "ua", null);
+        Object[] oldState = {"Taras", UserStatus.CREATED, Role.ROLE_USER, language, REGISTERED};
+        Object[] newState = {"Taras B", UserStatus.ACTIVATED, Role.ROLE_USER, language, REGISTERED};
+
+        assertEquals(Map.of(
+            new UserStatisticId(UserStatisticDimension.STATUS, "CREATED"), -1L,
+            new UserStatisticId(UserStatisticDimension.STATUS, "ACTIVATED"), 1L),
+            UserStatisticsListener.changes(PROPERTY_NAMES, oldState, newState));
+    }
+
+    @Test
+    void deleteSkipsMissingValuesTest() {
+        Object[] state = {"Taras", UserStatus.DEACTIVATED, Role.ROLE_USER, null, REGISTERED};
+
+        Map<UserStatisticId, Long> changes = UserStatisticsListener.changes(PROPERTY_NAMES, state, null);
+
+        assertEquals(-1L, changes.get(new UserStatisticId(UserStatisticDimension.STATUS, "DEACTIVATED")));
+        assertTrue(changes.keySet().stream().noneMatch(id -> id.getDimension() == UserStatisticDimension.LANGUAGE));
+        assertEquals(3, changes.size());
+    }
+}
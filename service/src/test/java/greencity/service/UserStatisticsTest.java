@@ -0,0 +1,120 @@
+package greencity.service;
+
+import greencity.dto.user.UserGroupCountDto;
+import greencity.entity.Language;
+import greencity.entity.UserStatistic;
+import greencity.entity.UserStatisticId;
+import greencity.enums.Role;
+import greencity.enums.UserStatisticDimension;
+import greencity.enums.UserStatus;
+import greencity.repository.LanguageRepo;
+import greencity.repository.UserRepo;
+import greencity.repository.UserStatisticRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserStatisticsTest {
+    @Mock
+    private UserStatisticRepo userStatisticRepo;
+
+    @Mock
+    private UserRepo userRepo;
+
+    @Mock
+    private LanguageRepo languageRepo;
+
+    private UserStatistics userStatistics;
+
+    @BeforeEach
+    void setUp() {
+        userStatistics = new UserStatistics(userStatisticRepo, userRepo, languageRepo);
+        when(languageRepo.findAll()).thenReturn(List.of(new Language(1L, "ua", null), new Language(2L, "en", null)));
+        when(userStatisticRepo.findAll()).thenReturn(List.of(
+            statistic(UserStatisticDimension.STATUS, "ACTIVATED", 5),
+            statistic(UserStatisticDimension.STATUS, "BLOCKED", 1),
+            statistic(UserStatisticDimension.LANGUAGE, "1", 4),
+            statistic(UserStatisticDimension.LANGUAGE, "2", 2)));
+    }
+
+    @Test
+    void reloadAndApplyTest() {
+        userStatistics.reload();
+        userStatistics.apply(Map.of(
+            new UserStatisticId(UserStatisticDimension.STATUS, "ACTIVATED"), -1L,
+            new UserStatisticId(UserStatisticDimension.STATUS, "DEACTIVATED"), 1L));
+
+        assertEquals(4L, userStatistics.getAmount(UserStatisticDimension.STATUS, "ACTIVATED"));
+        assertEquals(Map.of("ACTIVATED", 4L, "BLOCKED", 1L, "DEACTIVATED", 1L),
+            userStatistics.getAmounts(UserStatisticDimension.STATUS));
+        assertEquals(Map.of("ua", 4L, "en", 2L), userStatistics.getAmounts(UserStatisticDimension.LANGUAGE));
+        assertEquals(0L, userStatistics.getAmount(UserStatisticDimension.ROLE, "ROLE_USER"));
+    }
+
+    @Test
+    void reconcileCorrectsDriftTest() {
+        when(userStatisticRepo.tryLockReconciliation()).thenReturn(true);
+        when(userRepo.countGroupedByUserStatus()).thenReturn(List.of(
+            new UserGroupCountDto(UserStatus.ACTIVATED, 6L),
+            new UserGroupCountDto(UserStatus.BLOCKED, 1L)));
+        when(userRepo.countGroupedByRole()).thenReturn(List.of(new UserGroupCountDto(Role.ROLE_USER, 7L)));
+        when(userRepo.countGroupedByLanguage()).thenReturn(List.of(
+            new UserGroupCountDto(1L, 4L),
+            new UserGroupCountDto(2L, 3L)));
+        when(userRepo.countGroupedByRegistrationMonth()).thenReturn(List.of(new UserGroupCountDto(202403, 7L)));
+
+        userStatistics.reconcile();
+
+        verify(userStatisticRepo).increment("STATUS", "ACTIVATED", 1L);
+        verify(userStatisticRepo).increment("ROLE", "ROLE_USER", 7L);
+        verify(userStatisticRepo).increment("LANGUAGE", "2", 1L);
+        verify(userStatisticRepo).increment("REGISTRATION_MONTH", "2024-03", 7L);
+        verify(userStatisticRepo, never()).increment("STATUS", "BLOCKED", 0L);
+        assertEquals(Map.of("2024-03", 7L), userStatistics.getAmounts(UserStatisticDimension.REGISTRATION_MONTH));
+        assertEquals(6L, userStatistics.getAmount(UserStatisticDimension.STATUS, "ACTIVATED"));
+    }
+
+    @Test
+    void reconcileLockedByAnotherInstanceReloadsTest() {
+        when(userStatisticRepo.tryLockReconciliation()).thenReturn(false);
+
+        userStatistics.reconcile();
+
+        verify(userStatisticRepo, never()).increment(anyString(), anyString(), anyLong());
+        assertEquals(5L, userStatistics.getAmount(UserStatisticDimension.STATUS, "ACTIVATED"));
+    }
+
+    @Test
+    void statusesChangedWritesAndAppliesDeltasTest() {
+        userStatistics.reload();
+
+        userStatistics.statusesChanged(List.of(UserStatus.ACTIVATED, UserStatus.ACTIVATED, UserStatus.BLOCKED,
+            UserStatus.DEACTIVATED), UserStatus.DEACTIVATED);
+
+        verify(userStatisticRepo).increment("STATUS", "ACTIVATED", -2L);
+        verify(userStatisticRepo).increment("STATUS", "BLOCKED", -1L);
+        verify(userStatisticRepo).increment("STATUS", "DEACTIVATED", 3L);
+        assertEquals(Map.of("ACTIVATED", 3L, "DEACTIVATED", 3L),
+            userStatistics.getAmounts(UserStatisticDimension.STATUS));
+    }
+
+    private static UserStatistic statistic(UserStatisticDimension dimension, String key, long amount) {
+        return new UserStatistic(new UserStatisticId(dimension, key), amount);
+    }
+}